@@ -0,0 +1,213 @@
+package cn.edu.ctgu;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZonedDateTime;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 批量计费引擎，一次为大量通话记录计算费用.
+ * 每条记录的计算结果与 {@link BillingCalculator#calculateAdjustedDuration} 加
+ * {@link BillingCalculator#calculateCharge} 完全一致，但不再逐条输出日志，
+ * 而是每批输出一条汇总日志（记录数、总费用与耗时）；结果写入 {@code double[]}，不为每条记录装箱。
+ * 并行路径把数组按区间拆分到 {@link ForkJoinPool} 中计算，区间小于 {@link #PARALLEL_THRESHOLD} 条时不再拆分。
+ *
+ * <p>本类不保存可变状态，可被多个线程同时使用。
+ */
+public class BatchBillingEngine {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchBillingEngine.class);
+
+    /**
+     * 并行计算时每个子任务处理的最大记录数.
+     */
+    public static final int PARALLEL_THRESHOLD = 4096;
+
+    private final BillingCalculator calculator;
+    private final ForkJoinPool pool;
+
+    /**
+     * 使用默认计费规则与公共 ForkJoinPool 创建批量计费引擎.
+     */
+    public BatchBillingEngine() {
+        this(new BillingCalculator(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 使用指定的计费器与线程池创建批量计费引擎.
+     *
+     * @param calculator 计费器
+     * @param pool       并行路径使用的线程池
+     * @throws NullPointerException 如果任一参数为null
+     */
+    public BatchBillingEngine(BillingCalculator calculator, ForkJoinPool pool) {
+        this.calculator = Objects.requireNonNull(calculator, "calculator");
+        this.pool = Objects.requireNonNull(pool, "pool");
+    }
+
+    /**
+     * 顺序计算一批通话的费用.
+     *
+     * @param starts 各通话的开始时间
+     * @param ends   各通话的结束时间，与 starts 一一对应
+     * @return 各通话的费用（美元），顺序与输入一致
+     * @throws IllegalArgumentException 如果两个数组长度不同
+     */
+    public double[] chargeAll(ZonedDateTime[] starts, ZonedDateTime[] ends) {
+        checkLengths(starts.length, ends.length);
+        long begin = System.nanoTime();
+        double[] charges = new double[starts.length];
+        priceRange(starts, ends, charges, 0, starts.length);
+        logBatch(charges, begin);
+        return charges;
+    }
+
+    /**
+     * 在线程池中并行计算一批通话的费用.
+     * 结果与 {@link #chargeAll(ZonedDateTime[], ZonedDateTime[])} 完全相同。
+     *
+     * @param starts 各通话的开始时间
+     * @param ends   各通话的结束时间，与 starts 一一对应
+     * @return 各通话的费用（美元），顺序与输入一致
+     * @throws IllegalArgumentException 如果两个数组长度不同
+     */
+    public double[] chargeAllParallel(ZonedDateTime[] starts, ZonedDateTime[] ends) {
+        checkLengths(starts.length, ends.length);
+        long begin = System.nanoTime();
+        double[] charges = new double[starts.length];
+        pool.invoke(new PriceTask(starts, ends, charges, 0, starts.length));
+        logBatch(charges, begin);
+        return charges;
+    }
+
+    /**
+     * 根据纪元秒顺序计算一批通话的费用，每条记录不分配对象.
+     * 结果与对相应的 {@link ZonedDateTime} 调用
+     * {@link #chargeAll(ZonedDateTime[], ZonedDateTime[])} 完全相同。
+     *
+     * @param startEpochSecs 各通话的开始时间（纪元秒）
+     * @param endEpochSecs   各通话的结束时间（纪元秒），与 startEpochSecs 一一对应
+     * @return 各通话的费用（美元），顺序与输入一致
+     * @throws IllegalArgumentException 如果两个数组长度不同
+     */
+    public double[] chargeAll(long[] startEpochSecs, long[] endEpochSecs) {
+        checkLengths(startEpochSecs.length, endEpochSecs.length);
+        long begin = System.nanoTime();
+        double[] charges = new double[startEpochSecs.length];
+        for (int i = 0; i < charges.length; i++) {
+            charges[i] = calculator.charge(startEpochSecs[i], endEpochSecs[i]);
+        }
+        logBatch(charges, begin);
+        return charges;
+    }
+
+    /**
+     * 根据纪元秒顺序计算一批通话的费用（美分），每条记录不分配对象.
+     * 汇总金额可用 {@link Money#sum(long[])} 精确求得。
+     *
+     * @param startEpochSecs 各通话的开始时间（纪元秒）
+     * @param endEpochSecs   各通话的结束时间（纪元秒），与 startEpochSecs 一一对应
+     * @return 各通话的费用（美分），顺序与输入一致
+     * @throws IllegalArgumentException 如果两个数组长度不同
+     */
+    public long[] chargeAllCents(long[] startEpochSecs, long[] endEpochSecs) {
+        checkLengths(startEpochSecs.length, endEpochSecs.length);
+        long begin = System.nanoTime();
+        long[] cents = new long[startEpochSecs.length];
+        for (int i = 0; i < cents.length; i++) {
+            cents[i] = calculator.chargeCents(startEpochSecs[i], endEpochSecs[i]);
+        }
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("批量计费: {} 条记录, 总费用 {}, 耗时 {} 毫秒", cents.length,
+                    Money.sum(cents), elapsedMillis(begin));
+        }
+        return cents;
+    }
+
+    /**
+     * 计算通话记录流中每条记录的费用.
+     * 并行流在 ForkJoinPool 公共池中计算，结果顺序仍与流的遭遇顺序一致。
+     *
+     * @param records 通话记录流
+     * @return 各通话的费用（美元）
+     */
+    public double[] chargeAll(Stream<CallRecord> records) {
+        long begin = System.nanoTime();
+        double[] charges = records
+                .mapToDouble(r -> calculator.priceCall(r.getStart(), r.getEnd()))
+                .toArray();
+        logBatch(charges, begin);
+        return charges;
+    }
+
+    /**
+     * 顺序计算区间 [from, to) 内通话的费用.
+     */
+    private void priceRange(ZonedDateTime[] starts, ZonedDateTime[] ends,
+                            double[] charges, int from, int to) {
+        for (int i = from; i < to; i++) {
+            charges[i] = calculator.priceCall(starts[i], ends[i]);
+        }
+    }
+
+    private static void checkLengths(int starts, int ends) {
+        if (starts != ends) {
+            throw new IllegalArgumentException("开始时间与结束时间数量不一致: " + starts + " != " + ends);
+        }
+    }
+
+    /**
+     * 输出一批计费的汇总日志.
+     */
+    private static void logBatch(double[] charges, long begin) {
+        if (LOGGER.isInfoEnabled()) {
+            double total = 0;
+            for (double charge : charges) {
+                total += charge;
+            }
+            LOGGER.info("批量计费: {} 条记录, 总费用 {}$, 耗时 {} 毫秒", charges.length, total,
+                    elapsedMillis(begin));
+        }
+    }
+
+    private static long elapsedMillis(long begin) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+    }
+
+    /**
+     * 按区间二分拆分的并行计费任务.
+     */
+    private final class PriceTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ZonedDateTime[] starts;
+        private final ZonedDateTime[] ends;
+        private final double[] charges;
+        private final int from;
+        private final int to;
+
+        PriceTask(ZonedDateTime[] starts, ZonedDateTime[] ends,
+                  double[] charges, int from, int to) {
+            this.starts = starts;
+            this.ends = ends;
+            this.charges = charges;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                priceRange(starts, ends, charges, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new PriceTask(starts, ends, charges, from, mid),
+                    new PriceTask(starts, ends, charges, mid, to));
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package cn.edu.ctgu;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 计费审计记录：取代逐次调用的日志，把每次计费的结果写入预分配的环形缓冲区，
+ * 由后台线程成批写出为紧凑的列式二进制文件.
+ *
+ * <p>每条记录只有三个基本类型字段：通话秒数（未知时为 {@link #UNKNOWN_SECONDS}）、
+ * 计费分钟数与费用（美分）。缓冲区按列保存在三个数组中，记录时不分配对象、不格式化字符串。
+ * 多个线程可以同时记录；缓冲区写满时记录线程等待后台线程腾出空间，不会丢弃记录。
+ * 等待时先短暂让出处理器，随后以逐步加长（最长1毫秒）的间隔休眠，不会持续占用处理器。
+ *
+ * <p>输出由连续的批次组成，每批的格式（大端字节序）为：
+ * <pre>
+ * int  记录数 n
+ * long 通话秒数 × n
+ * int  计费分钟数 × n
+ * long 费用（美分） × n
+ * </pre>
+ *
+ * <p>{@link #close()} 之后的记录会被拒绝；在此之前已开始的记录都会写出，
+ * 关闭时等待这些记录写入缓冲区，再写出剩余的记录并关闭输出通道。
+ * 写出失败后，任何记录（包括正在等待空间的记录）都会抛出异常而不是继续等待。
+ */
+public final class BillingAuditTrail implements Closeable {
+    /**
+     * 通话秒数未知时记录的值（例如只调用了 {@link BillingCalculator#calculateCharge(int)}）.
+     */
+    public static final long UNKNOWN_SECONDS = -1;
+
+    /**
+     * 缓冲区的最大容量（记录数）.
+     */
+    public static final int MAX_CAPACITY = 1 << 20;
+
+    private static final int RECORD_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+    private static final long DEFAULT_FLUSH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long CLOSED_BIT = Long.MIN_VALUE;
+    private static final int WAIT_YIELDS = 16;
+    private static final long MIN_WAIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long MAX_WAIT_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int capacity;
+    private final int mask;
+    private final long[] seconds;
+    private final int[] minutes;
+    private final long[] cents;
+
+    /**
+     * 每个槽位最近一次写入完成的序号加一，供后台线程判断记录是否已可读.
+     */
+    private final AtomicLongArray published;
+
+    /**
+     * 已分配的序号数；关闭后最高位被置位，此后分配到的序号为负数，记录被拒绝.
+     */
+    private final AtomicLong claimed = new AtomicLong();
+
+    /**
+     * 关闭时已分配的序号数，即需要写出的记录总数。在 {@link #closed} 置位前写入.
+     */
+    private long end;
+
+    /**
+     * 已写出的记录数；序号小于该值的槽位可以复用。只由后台线程修改.
+     */
+    private volatile long flushed;
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer;
+    private final long flushIntervalNanos;
+    private final Thread flusher;
+
+    /**
+     * 创建写入指定通道的审计记录，并启动后台写出线程.
+     *
+     * @param channel  输出通道，关闭审计记录时一并关闭
+     * @param capacity 缓冲区容量（记录数），向上取整为2的幂
+     * @throws IllegalArgumentException 如果容量不在 1 到 {@link #MAX_CAPACITY} 之间
+     * @throws NullPointerException     如果channel为null
+     */
+    public BillingAuditTrail(WritableByteChannel channel, int capacity) {
+        this(channel, capacity, DEFAULT_FLUSH_INTERVAL_NANOS);
+    }
+
+    BillingAuditTrail(WritableByteChannel channel, int capacity, long flushIntervalNanos) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("缓冲区容量应在1到" + MAX_CAPACITY + "之间: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.channel = Objects.requireNonNull(channel, "channel");
+        this.capacity = size;
+        this.mask = size - 1;
+        this.seconds = new long[size];
+        this.minutes = new int[size];
+        this.cents = new long[size];
+        this.published = new AtomicLongArray(size);
+        this.buffer = ByteBuffer.allocateDirect(Integer.BYTES + size * RECORD_BYTES)
+                .order(ByteOrder.BIG_ENDIAN);
+        this.flushIntervalNanos = flushIntervalNanos;
+        this.flusher = new Thread(this::runFlusher, "billing-audit-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * 创建写入指定文件的审计记录，文件已存在时覆盖.
+     *
+     * @param file     输出文件
+     * @param capacity 缓冲区容量（记录数），向上取整为2的幂
+     * @return 审计记录
+     * @throws IOException 如果无法打开文件
+     */
+    public static BillingAuditTrail open(Path file, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return new BillingAuditTrail(channel, capacity);
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 记录一次计费.
+     *
+     * @param callSeconds   通话秒数，未知时为 {@link #UNKNOWN_SECONDS}
+     * @param billedMinutes 计费分钟数
+     * @param chargeCents   费用（美分）
+     * @throws IllegalStateException 如果审计记录已关闭或写出失败
+     */
+    public void record(long callSeconds, int billedMinutes, long chargeCents) {
+        checkFailure();
+        long seq = claimed.getAndIncrement();
+        if (seq < 0) {
+            throw new IllegalStateException("审计记录已关闭");
+        }
+        if (seq - flushed >= capacity) {
+            awaitSpace(seq);
+        }
+        int i = (int) seq & mask;
+        seconds[i] = callSeconds;
+        minutes[i] = billedMinutes;
+        cents[i] = chargeCents;
+        published.lazySet(i, seq + 1);
+    }
+
+    /**
+     * 等待后台线程写出足够的记录，使序号为seq的槽位可以复用.
+     */
+    private void awaitSpace(long seq) {
+        int yields = 0;
+        long parkNanos = MIN_WAIT_PARK_NANOS;
+        while (seq - flushed >= capacity) {
+            checkFailure();
+            LockSupport.unpark(flusher);
+            if (yields < WAIT_YIELDS) {
+                yields++;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(this, parkNanos);
+                parkNanos = Math.min(parkNanos << 1, MAX_WAIT_PARK_NANOS);
+            }
+        }
+    }
+
+    private void checkFailure() {
+        IOException e = failure;
+        if (e != null) {
+            throw new IllegalStateException("审计记录写出失败", e);
+        }
+    }
+
+    /**
+     * 返回已写出到输出通道的记录数.
+     *
+     * @return 已写出的记录数
+     */
+    public long flushedCount() {
+        return flushed;
+    }
+
+    /**
+     * 拒绝之后的记录，写出已开始的全部记录，停止后台线程并关闭输出通道.
+     * 调用线程被中断时仍等待写出完成，返回前恢复其中断状态。
+     *
+     * @throws IOException 如果写出或关闭失败
+     */
+    @Override
+    public void close() throws IOException {
+        long n;
+        do {
+            n = claimed.get();
+            if (n < 0) {
+                return;
+            }
+        } while (!claimed.compareAndSet(n, n | CLOSED_BIT));
+        end = n;
+        closed = true;
+        LockSupport.unpark(flusher);
+        boolean interrupted = false;
+        while (true) {
+            try {
+                flusher.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        channel.close();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void runFlusher() {
+        try {
+            while (!closed) {
+                if (!drain()) {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+            }
+            while (flushed < end) {
+                if (!drain()) {
+                    Thread.yield();
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * 把已发布的连续记录作为一批写出.
+     *
+     * @return 是否写出了记录
+     */
+    private boolean drain() throws IOException {
+        long from = flushed;
+        long to = from;
+        while (to - from < capacity && published.get((int) to & mask) == to + 1) {
+            to++;
+        }
+        int n = (int) (to - from);
+        if (n == 0) {
+            return false;
+        }
+        buffer.clear();
+        buffer.putInt(n);
+        for (long seq = from; seq < to; seq++) {
+            buffer.putLong(seconds[(int) seq & mask]);
+        }
+        for (long seq = from; seq < to; seq++) {
+            buffer.putInt(minutes[(int) seq & mask]);
+        }
+        for (long seq = from; seq < to; seq++) {
+            buffer.putLong(cents[(int) seq & mask]);
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        flushed = to;
+        return true;
+    }
+}
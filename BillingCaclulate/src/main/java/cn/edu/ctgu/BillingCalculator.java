@@ -5,29 +5,79 @@ import org.slf4j.LoggerFactory;
 
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Objects;
 
 /**
  * 处理通话计费逻辑，包含时长计算和费用计算功能.
  * 该类提供基于调整后通话时长（考虑夏令时和取整规则）的费用计算功能，
- * 支持基础费率和分段费率两种计费模式。
+ * 取整规则与分段费率由资费方案决定，默认使用 {@link TariffPlan#STANDARD}。
+ *
+ * <p>指定了 {@link BillingAuditTrail} 的计费器处于审计模式：每次计费的结果写入审计记录，
+ * {@link #calculateAdjustedDuration(ZonedDateTime, ZonedDateTime)} 与 {@link #calculateCharge(int)}
+ * 不再逐次输出日志。只计算时长的方法不写入审计记录；按分钟数计费的方法不知道通话秒数，
+ * 记录的秒数为 {@link BillingAuditTrail#UNKNOWN_SECONDS}。
  */
 public class BillingCalculator {
     private static final Logger LOGGER = LoggerFactory.getLogger(BillingCalculator.class);
 
-    private static final int CEILING_ADJUSTMENT = 59;
-    private static final int SECONDS_PER_MINUTE = 60;
-    private static final int BASE_MINUTES_LIMIT = 20;
-    private static final double BASE_RATE = 0.05;
-    private static final double EXTRA_RATE = 0.10;
-    private static final double BASE_FEE = 1.00;
-    private static final int MINIMUM_BILLABLE_MINUTES = 1;
+    private static final CompiledTariff STANDARD_TARIFF = TariffPlan.STANDARD.compile();
+    private static final double CENTS_PER_DOLLAR = 100.0;
+
+    private final CompiledTariff tariff;
+    private final BillingAuditTrail audit;
+
+    /**
+     * 创建使用默认资费方案的计费器.
+     */
+    public BillingCalculator() {
+        this(STANDARD_TARIFF);
+    }
+
+    /**
+     * 创建使用指定资费的计费器.
+     *
+     * @param tariff 编译后的资费，通常由 {@link TariffEngine} 提供
+     * @throws NullPointerException 如果tariff为null
+     */
+    public BillingCalculator(CompiledTariff tariff) {
+        this(tariff, null);
+    }
+
+    /**
+     * 创建审计模式的计费器.
+     * 每次计费写入一条审计记录，但只有由通话起止时间计费的方法
+     * （{@link #charge(long, long)}、{@link #chargeCents(long, long)} 以及
+     * {@link BatchBillingEngine} 的批量计费）记录通话秒数；
+     * {@link #calculateCharge(int)} 与 {@link #calculateChargeAmount(int)} 只收到分钟数，
+     * 记录的秒数为 {@link BillingAuditTrail#UNKNOWN_SECONDS}；
+     * {@link #calculateAdjustedDuration(ZonedDateTime, ZonedDateTime)} 与
+     * {@link #calculateAdjustedDuration(long, long)} 不计费，不写入审计记录。
+     * 需要完整审计记录的调用方应使用上述由起止时间计费的方法。
+     *
+     * @param tariff 编译后的资费，通常由 {@link TariffEngine} 提供
+     * @param audit  审计记录，为null时不记录审计并照常输出日志
+     * @throws NullPointerException 如果tariff为null
+     */
+    public BillingCalculator(CompiledTariff tariff, BillingAuditTrail audit) {
+        this.tariff = Objects.requireNonNull(tariff, "tariff");
+        this.audit = audit;
+    }
+
+    /**
+     * 返回本计费器使用的资费.
+     *
+     * @return 编译后的资费
+     */
+    public CompiledTariff getTariff() {
+        return tariff;
+    }
 
     /**
      * 计算调整后的通话时长（分钟），考虑夏令时和向上取整规则.
      * 实际计算时会进行以下处理：
      * 1. 计算精确到秒的时间差
-     * 2. 向上取整到分钟（例如30秒→1分钟，61秒→2分钟）
-     * 3. 保证至少计费1分钟
+     * 2. 按资费的取整规则换算为分钟（默认向上取整，例如30秒→1分钟，61秒→2分钟）
+     * 3. 保证不低于资费的最低计费分钟数（默认1分钟）
      *
      * @param start 通话开始时间（带时区）
      * @param end   通话结束时间（带时区）
@@ -35,39 +85,148 @@ public class BillingCalculator {
      */
     public int calculateAdjustedDuration(ZonedDateTime start, ZonedDateTime end) {
         long seconds = ChronoUnit.SECONDS.between(start, end);
+        if (audit != null) {
+            return adjustMinutes(seconds);
+        }
         LOGGER.debug("时间差计算: [{}] 到 [{}] -> {} 秒", start, end, seconds);
 
-        long totalMinutes = (seconds + CEILING_ADJUSTMENT) / SECONDS_PER_MINUTE;
-        LOGGER.debug("向上取整后分钟数: {} 分钟", totalMinutes);
+        long totalMinutes = tariff.roundedMinutes(seconds);
+        LOGGER.debug("取整后分钟数: {} 分钟", totalMinutes);
 
-        int adjustedMinutes = (int) Math.max(totalMinutes, MINIMUM_BILLABLE_MINUTES);
+        int adjustedMinutes = adjustMinutes(seconds);
         LOGGER.info("最终计费时长: {} 分钟", adjustedMinutes);
         return adjustedMinutes;
     }
 
+    /**
+     * 根据纪元秒（Unix时间戳）计算调整后的通话时长（分钟），不输出日志也不分配对象.
+     * 纪元秒表示的是时间线上的瞬时点，与时区无关，因此结果与对相应的
+     * {@link ZonedDateTime} 调用 {@link #calculateAdjustedDuration(ZonedDateTime, ZonedDateTime)}
+     * 完全一致，跨夏令时切换的通话同样按实际经过的物理时间计费。
+     *
+     * @param startEpochSec 通话开始时间（纪元秒）
+     * @param endEpochSec   通话结束时间（纪元秒）
+     * @return 调整后的计费分钟数（至少1分钟）
+     */
+    public int calculateAdjustedDuration(long startEpochSec, long endEpochSec) {
+        return adjustMinutes(endEpochSec - startEpochSec);
+    }
+
+    /**
+     * 根据纪元秒直接计算一次通话的费用（时长计算与费用计算合并），不输出日志也不分配对象.
+     * 结果与依次调用 {@link #calculateAdjustedDuration(long, long)} 和
+     * {@link #calculateCharge(int)} 一致。
+     *
+     * @param startEpochSec 通话开始时间（纪元秒）
+     * @param endEpochSec   通话结束时间（纪元秒）
+     * @return 计算出的费用（美元）
+     */
+    public double charge(long startEpochSec, long endEpochSec) {
+        return bill(endEpochSec - startEpochSec) / CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * 计算调整后的计费分钟数（按资费取整且不低于最低计费分钟数），不输出日志.
+     * 与 {@link #calculateAdjustedDuration(ZonedDateTime, ZonedDateTime)} 的结果一致，供批量路径使用。
+     *
+     * @param seconds 通话秒数
+     * @return 调整后的计费分钟数
+     */
+    int adjustMinutes(long seconds) {
+        return tariff.billableMinutes(seconds);
+    }
+
     /**
      * 根据调整后的通话时长计算费用.
-     * 使用分段计费策略：
+     * 使用资费的分段计费策略，默认资费为：
      * 1. 20分钟及以下：0.05美元/分钟
      * 2. 超过20分钟：1美元基础费 + 超时部分0.10美元/分钟
      *
      * @param adjustedMinutes 调整后的通话分钟数
      * @return 计算出的费用（美元）
+     * @throws IllegalArgumentException 如果adjustedMinutes为负数
      */
     public double calculateCharge(int adjustedMinutes) {
+        if (audit != null) {
+            return billMinutes(adjustedMinutes) / CENTS_PER_DOLLAR;
+        }
         LOGGER.debug("计算费用，时长: {} 分钟", adjustedMinutes);
 
-        double charge;
-        if (adjustedMinutes <= BASE_MINUTES_LIMIT) {
-            charge = BASE_RATE * adjustedMinutes;
-            LOGGER.trace("基础费率: {}$", charge);
-        } else {
-            double extraCharge = EXTRA_RATE * (adjustedMinutes - BASE_MINUTES_LIMIT);
-            charge = BASE_FEE + extraCharge;
-            LOGGER.trace("分段费率: 基础1$ + 超时部分{}$ = {}$", extraCharge, charge);
+        double charge = chargeOf(adjustedMinutes);
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("资费 {} 第{}档: {}$", tariff.getPlanId(),
+                    tariff.tierOf(adjustedMinutes) + 1, charge);
         }
 
         LOGGER.info("最终费用: {}$", charge);
         return charge;
     }
+
+    /**
+     * 根据调整后的通话时长计算精确金额，不输出日志.
+     * 数值与 {@link #calculateCharge(int)} 相同，但以整数美分表示，可精确累加。
+     *
+     * @param adjustedMinutes 调整后的通话分钟数
+     * @return 计算出的金额
+     * @throws IllegalArgumentException 如果adjustedMinutes为负数
+     */
+    public Money calculateChargeAmount(int adjustedMinutes) {
+        return Money.ofCents(billMinutes(adjustedMinutes));
+    }
+
+    /**
+     * 根据纪元秒直接计算一次通话的费用（美分），不输出日志也不分配对象.
+     *
+     * @param startEpochSec 通话开始时间（纪元秒）
+     * @param endEpochSec   通话结束时间（纪元秒）
+     * @return 计算出的费用（美分）
+     */
+    public long chargeCents(long startEpochSec, long endEpochSec) {
+        return bill(endEpochSec - startEpochSec);
+    }
+
+    /**
+     * 按通话秒数计费（美分），审计模式下写入审计记录.
+     */
+    private long bill(long seconds) {
+        int adjustedMinutes = adjustMinutes(seconds);
+        long cents = tariff.centsFor(adjustedMinutes);
+        if (audit != null) {
+            audit.record(seconds, adjustedMinutes, cents);
+        }
+        return cents;
+    }
+
+    /**
+     * 按计费分钟数计费（美分），审计模式下写入审计记录（通话秒数未知）.
+     */
+    private long billMinutes(int adjustedMinutes) {
+        long cents = tariff.centsFor(adjustedMinutes);
+        if (audit != null) {
+            audit.record(BillingAuditTrail.UNKNOWN_SECONDS, adjustedMinutes, cents);
+        }
+        return cents;
+    }
+
+    /**
+     * 根据调整后的通话时长计算费用，不输出日志.
+     * 与 {@link #calculateCharge(int)} 的结果一致，供批量路径使用。
+     *
+     * @param adjustedMinutes 调整后的通话分钟数
+     * @return 计算出的费用（美元）
+     */
+    double chargeOf(int adjustedMinutes) {
+        return tariff.centsFor(adjustedMinutes) / CENTS_PER_DOLLAR;
+    }
+
+    /**
+     * 计算一次通话的费用（时长计算与费用计算合并），不输出日志.
+     *
+     * @param start 通话开始时间（带时区）
+     * @param end   通话结束时间（带时区）
+     * @return 计算出的费用（美元）
+     */
+    double priceCall(ZonedDateTime start, ZonedDateTime end) {
+        return bill(ChronoUnit.SECONDS.between(start, end)) / CENTS_PER_DOLLAR;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package cn.edu.ctgu;
+
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * 一条通话记录（开始时间与结束时间），作为批量计费的输入.
+ */
+public final class CallRecord {
+    private final ZonedDateTime start;
+    private final ZonedDateTime end;
+
+    /**
+     * 创建通话记录.
+     *
+     * @param start 通话开始时间（带时区）
+     * @param end   通话结束时间（带时区）
+     * @throws NullPointerException 如果任一时间为null
+     */
+    public CallRecord(ZonedDateTime start, ZonedDateTime end) {
+        this.start = Objects.requireNonNull(start, "start");
+        this.end = Objects.requireNonNull(end, "end");
+    }
+
+    /**
+     * 返回通话开始时间.
+     *
+     * @return 通话开始时间
+     */
+    public ZonedDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * 返回通话结束时间.
+     *
+     * @return 通话结束时间
+     */
+    public ZonedDateTime getEnd() {
+        return end;
+    }
+
+    @Override
+    public String toString() {
+        return "CallRecord[" + start + " -> " + end + "]";
+    }
+}
@@ -0,0 +1,410 @@
+package cn.edu.ctgu;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Year;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流式通话详单（CDR）导入：从通道读取CSV详单，成批计费，并把费用写入输出通道.
+ *
+ * <p>输入每行一条记录，格式为 {@code 开始时间,结束时间}，时间可以是纪元秒（如 {@code 1741761000}），
+ * 也可以是带偏移量的ISO-8601时间（如 {@code 2025-03-12T01:30:00-05:00} 或
+ * {@code 2025-03-12T06:30:00Z}），纪元秒可以带负号，时间前后可以有空格或制表符。
+ * 空行与以 {@code #} 开头的行被忽略；输入开头的UTF-8字节顺序标记被忽略。
+ * 只有创建导入器时声明了表头，第一个非空、非注释行才作为表头跳过；其余每一行都必须是记录，
+ * 格式错误时抛出异常而不会被静默丢弃。行尾可以是 {@code \n} 或 {@code \r\n}。
+ *
+ * <p>输出按输入顺序为每条记录写一个大端 {@code long}，即以美分计的费用。
+ *
+ * <p>输入按块读入复用的缓冲区，时间直接在字节上解析为纪元秒，不创建 {@code String}
+ * 或日期对象；每解析满一批便计费并写出，内存占用与文件大小无关。
+ * 带时区偏移的时间先换算为时间线上的瞬时点，因此结果与对相应的
+ * {@link java.time.ZonedDateTime} 逐条计算时长再计费一致。
+ *
+ * <p>本类不保存可变状态，可被多个线程同时用于不同的输入。
+ */
+public class CdrIngestor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CdrIngestor.class);
+
+    /**
+     * 默认每批计费的记录数.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 8192;
+
+    private static final int DEFAULT_READ_BUFFER_BYTES = 1 << 20;
+
+    private static final int YEAR_DIGITS = 4;
+    private static final int MONTH_AT = 5;
+    private static final int DAY_AT = 8;
+    private static final int HOUR_AT = 11;
+    private static final int MINUTE_AT = 14;
+    private static final int SECOND_AT = 17;
+    private static final int ZONE_AT = 19;
+    private static final int OFFSET_HOUR_AT = 20;
+    private static final int OFFSET_COLON_AT = 22;
+    private static final int OFFSET_MINUTE_AT = 23;
+    private static final int UTC_LENGTH = 20;
+    private static final int OFFSET_LENGTH = 25;
+
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int HOURS_PER_DAY = 24;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int SECONDS_PER_HOUR = 3600;
+    private static final int SECONDS_PER_DAY = 86_400;
+    private static final int MAX_OFFSET_HOURS = 18;
+    private static final int DAYS_PER_YEAR = 365;
+    private static final int EPOCH_YEAR = 1970;
+    private static final int LEAP_CYCLE = 4;
+    private static final int CENTURY = 100;
+    private static final int LEAP_CENTURY_CYCLE = 400;
+    private static final int FEBRUARY = 2;
+    private static final int MAX_EPOCH_DIGITS = 18;
+    private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    private static final int DECIMAL = 10;
+    private static final int[] DAYS_BEFORE_MONTH =
+        {0, 0, 31, 59, 90, 120, 151, 181, 212, 243, 273, 304, 334};
+    private static final int[] DAYS_IN_MONTH = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private final BillingCalculator calculator;
+    private final int batchSize;
+    private final int readBufferBytes;
+    private final boolean header;
+
+    /**
+     * 使用指定计费器与默认批大小创建导入器，输入没有表头.
+     *
+     * @param calculator 计费器
+     * @throws NullPointerException 如果calculator为null
+     */
+    public CdrIngestor(BillingCalculator calculator) {
+        this(calculator, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * 使用指定计费器与批大小创建导入器，输入没有表头.
+     *
+     * @param calculator 计费器
+     * @param batchSize  每批计费的记录数
+     * @throws IllegalArgumentException 如果batchSize不是正数
+     * @throws NullPointerException     如果calculator为null
+     */
+    public CdrIngestor(BillingCalculator calculator, int batchSize) {
+        this(calculator, batchSize, false);
+    }
+
+    /**
+     * 使用指定计费器与批大小创建导入器.
+     *
+     * @param calculator 计费器
+     * @param batchSize  每批计费的记录数
+     * @param header     输入的第一个非空、非注释行是否为表头
+     * @throws IllegalArgumentException 如果batchSize不是正数
+     * @throws NullPointerException     如果calculator为null
+     */
+    public CdrIngestor(BillingCalculator calculator, int batchSize, boolean header) {
+        this(calculator, batchSize, header, DEFAULT_READ_BUFFER_BYTES);
+    }
+
+    CdrIngestor(BillingCalculator calculator, int batchSize, boolean header, int readBufferBytes) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("批大小必须为正数: " + batchSize);
+        }
+        this.calculator = Objects.requireNonNull(calculator, "calculator");
+        this.batchSize = batchSize;
+        this.header = header;
+        this.readBufferBytes = readBufferBytes;
+    }
+
+    /**
+     * 导入详单文件.
+     *
+     * @param input  详单文件
+     * @param output 费用输出通道，导入结束后不关闭
+     * @return 导入的记录数
+     * @throws IOException              如果读写失败
+     * @throws IllegalArgumentException 如果某行格式错误，消息中包含行号
+     */
+    public long ingest(Path input, WritableByteChannel output) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            return ingest(channel, output);
+        }
+    }
+
+    /**
+     * 导入详单输入通道中的全部记录.
+     *
+     * @param input  详单输入通道，导入结束后不关闭
+     * @param output 费用输出通道，导入结束后不关闭
+     * @return 导入的记录数
+     * @throws IOException              如果读写失败
+     * @throws IllegalArgumentException 如果某行格式错误或超过读缓冲区大小，消息中包含行号
+     */
+    public long ingest(ReadableByteChannel input, WritableByteChannel output) throws IOException {
+        long begin = System.nanoTime();
+        ByteBuffer in = ByteBuffer.allocate(readBufferBytes);
+        ByteBuffer out = ByteBuffer.allocate(batchSize * Long.BYTES).order(ByteOrder.BIG_ENDIAN);
+        long[] starts = new long[batchSize];
+        long[] ends = new long[batchSize];
+        byte[] a = in.array();
+        int n = 0;
+        long records = 0;
+        long totalCents = 0;
+        long line = 0;
+        boolean skipHeader = header;
+        boolean eof = false;
+        while (!eof) {
+            eof = input.read(in) < 0;
+            int limit = in.position();
+            int pos = 0;
+            while (pos < limit) {
+                int eol = indexOfNewline(a, pos, limit);
+                if (eol < 0) {
+                    if (!eof) {
+                        break;
+                    }
+                    eol = limit;
+                }
+                line++;
+                int from = pos;
+                if (line == 1 && startsWithBom(a, from, eol)) {
+                    from += BOM.length;
+                }
+                int end = eol;
+                if (end > from && a[end - 1] == '\r') {
+                    end--;
+                }
+                from = skipBlanks(a, from, end);
+                if (from < end && a[from] != '#') {
+                    if (skipHeader) {
+                        skipHeader = false;
+                    } else {
+                        int comma = indexOf(a, from, end, (byte) ',');
+                        if (comma < 0) {
+                            throw new IllegalArgumentException(at(line) + "缺少逗号分隔的结束时间");
+                        }
+                        starts[n] = parseTimestamp(a, from, trimBlanks(a, from, comma), line);
+                        ends[n] = parseTimestamp(a, skipBlanks(a, comma + 1, end),
+                                trimBlanks(a, comma + 1, end), line);
+                        n++;
+                    }
+                    if (n == batchSize) {
+                        totalCents = Math.addExact(totalCents, price(starts, ends, n, out, output));
+                        records += n;
+                        n = 0;
+                    }
+                }
+                pos = eol + 1;
+            }
+            if (pos >= limit) {
+                in.clear();
+            } else if (pos == 0 && limit == in.capacity()) {
+                throw new IllegalArgumentException(at(line + 1) + "超过读缓冲区大小 " + in.capacity());
+            } else {
+                in.position(pos).limit(limit);
+                in.compact();
+            }
+        }
+        if (n > 0) {
+            totalCents = Math.addExact(totalCents, price(starts, ends, n, out, output));
+            records += n;
+        }
+        if (LOGGER.isInfoEnabled()) {
+            LOGGER.info("CDR导入: {} 条记录, 总费用 {}, 耗时 {} 毫秒", records, Money.ofCents(totalCents),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        }
+        return records;
+    }
+
+    /**
+     * 为一批记录计费并写出.
+     *
+     * @return 这批记录的费用合计（美分）
+     * @throws ArithmeticException 如果合计超出 long 范围
+     */
+    private long price(long[] starts, long[] ends, int n, ByteBuffer out,
+                       WritableByteChannel output) throws IOException {
+        long total = 0;
+        out.clear();
+        for (int i = 0; i < n; i++) {
+            long cents = calculator.chargeCents(starts[i], ends[i]);
+            out.putLong(cents);
+            total = Math.addExact(total, cents);
+        }
+        out.flip();
+        while (out.hasRemaining()) {
+            output.write(out);
+        }
+        return total;
+    }
+
+    /**
+     * 把 [from, to) 中的时间解析为纪元秒.
+     */
+    static long parseTimestamp(byte[] a, int from, int to, long line) {
+        if (to - from == UTC_LENGTH || to - from == OFFSET_LENGTH) {
+            return parseIsoOffsetDateTime(a, from, to, line);
+        }
+        boolean negative = to > from && a[from] == '-';
+        int first = from;
+        if (negative) {
+            first++;
+        }
+        if (to <= first || to - first > MAX_EPOCH_DIGITS) {
+            throw new IllegalArgumentException(at(line) + "无法识别的时间");
+        }
+        long seconds = digits(a, first, to - first, line);
+        if (negative) {
+            return -seconds;
+        }
+        return seconds;
+    }
+
+    private static long parseIsoOffsetDateTime(byte[] a, int from, int to, long line) {
+        int year = (int) digits(a, from, YEAR_DIGITS, line);
+        int month = twoDigits(a, from + MONTH_AT, line);
+        int day = twoDigits(a, from + DAY_AT, line);
+        int hour = twoDigits(a, from + HOUR_AT, line);
+        int minute = twoDigits(a, from + MINUTE_AT, line);
+        int second = twoDigits(a, from + SECOND_AT, line);
+        boolean separators = a[from + MONTH_AT - 1] == '-' && a[from + DAY_AT - 1] == '-'
+                && a[from + HOUR_AT - 1] == 'T' && a[from + MINUTE_AT - 1] == ':'
+                && a[from + SECOND_AT - 1] == ':';
+        if (!separators || month < 1 || month > MONTHS_PER_YEAR || day < 1
+                || day > lengthOfMonth(year, month) || hour >= HOURS_PER_DAY
+                || minute >= MINUTES_PER_HOUR || second >= SECONDS_PER_MINUTE) {
+            throw new IllegalArgumentException(at(line) + "时间格式错误");
+        }
+        long offsetSeconds = 0;
+        byte zone = a[from + ZONE_AT];
+        if (to - from == UTC_LENGTH) {
+            if (zone != 'Z') {
+                throw new IllegalArgumentException(at(line) + "时区偏移格式错误");
+            }
+        } else {
+            int offsetHours = twoDigits(a, from + OFFSET_HOUR_AT, line);
+            int offsetMinutes = twoDigits(a, from + OFFSET_MINUTE_AT, line);
+            if (zone != '+' && zone != '-' || a[from + OFFSET_COLON_AT] != ':'
+                    || offsetHours > MAX_OFFSET_HOURS || offsetMinutes >= MINUTES_PER_HOUR) {
+                throw new IllegalArgumentException(at(line) + "时区偏移格式错误");
+            }
+            offsetSeconds = offsetHours * SECONDS_PER_HOUR + offsetMinutes * SECONDS_PER_MINUTE;
+            if (zone == '-') {
+                offsetSeconds = -offsetSeconds;
+            }
+        }
+        long secondOfDay = hour * SECONDS_PER_HOUR + minute * SECONDS_PER_MINUTE + second;
+        return epochDay(year, month, day) * SECONDS_PER_DAY + secondOfDay - offsetSeconds;
+    }
+
+    /**
+     * 返回公历日期距1970-01-01的天数.
+     */
+    static long epochDay(int year, int month, int day) {
+        long days = (long) (year - EPOCH_YEAR) * DAYS_PER_YEAR
+                + leapYearsBefore(year) - leapYearsBefore(EPOCH_YEAR)
+                + DAYS_BEFORE_MONTH[month] + day - 1;
+        if (month > FEBRUARY && Year.isLeap(year)) {
+            days++;
+        }
+        return days;
+    }
+
+    private static long leapYearsBefore(int year) {
+        long y = year - 1L;
+        return Math.floorDiv(y, LEAP_CYCLE) - Math.floorDiv(y, CENTURY)
+                + Math.floorDiv(y, LEAP_CENTURY_CYCLE);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == FEBRUARY && Year.isLeap(year)) {
+            return DAYS_IN_MONTH[month] + 1;
+        }
+        return DAYS_IN_MONTH[month];
+    }
+
+    private static int twoDigits(byte[] a, int at, long line) {
+        return (int) digits(a, at, 2, line);
+    }
+
+    private static long digits(byte[] a, int at, int count, long line) {
+        long value = 0;
+        for (int i = at; i < at + count; i++) {
+            if (!isDigit(a[i])) {
+                throw new IllegalArgumentException(at(line) + "应为数字");
+            }
+            value = value * DECIMAL + (a[i] - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    /**
+     * 返回 [from, to) 中第一个不是空格或制表符的位置，全为空白时返回to.
+     */
+    private static int skipBlanks(byte[] a, int from, int to) {
+        int i = from;
+        while (i < to && isBlank(a[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * 返回去掉 [from, to) 末尾空格与制表符后的结束位置.
+     */
+    private static int trimBlanks(byte[] a, int from, int to) {
+        int i = to;
+        while (i > from && isBlank(a[i - 1])) {
+            i--;
+        }
+        return i;
+    }
+
+    private static boolean startsWithBom(byte[] a, int from, int to) {
+        if (to - from < BOM.length) {
+            return false;
+        }
+        for (int i = 0; i < BOM.length; i++) {
+            if (a[from + i] != BOM[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOfNewline(byte[] a, int from, int to) {
+        return indexOf(a, from, to, (byte) '\n');
+    }
+
+    private static int indexOf(byte[] a, int from, int to, byte b) {
+        for (int i = from; i < to; i++) {
+            if (a[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String at(long line) {
+        return "第" + line + "行: ";
+    }
+}
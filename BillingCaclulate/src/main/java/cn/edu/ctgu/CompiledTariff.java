@@ -0,0 +1,157 @@
+package cn.edu.ctgu;
+
+import java.util.List;
+
+/**
+ * 编译后的资费方案，可在不分配对象的情况下为任意时长计价.
+ * 档位的起算分钟数、固定费用与每分钟费率展开为三个平行的 {@code long[]}，
+ * 按时长查找档位时对起算分钟数做二分查找，耗时为 O(log 档位数)。
+ * 0 到 {@link #TABLE_MINUTES} − 1 分钟的费用在首次计价时一次算出并存入查找表，
+ * 此后这些时长的计价只是一次数组读取；更长的时长仍按档位计算。
+ *
+ * <p>本类不可变，可被多个线程同时使用。
+ */
+public final class CompiledTariff {
+    /**
+     * 查找表覆盖的分钟数.
+     */
+    public static final int TABLE_MINUTES = 512;
+
+    private final String planId;
+    private final TariffPlan.Rounding rounding;
+    private final int minimumMinutes;
+    private final long[] aboveMinutes;
+    private final long[] flatFeeCents;
+    private final long[] centsPerMinute;
+
+    /**
+     * 按分钟数索引的费用（美分），首次计价时创建；并发创建的结果相同，任一份均可使用.
+     */
+    private volatile long[] table;
+
+    CompiledTariff(TariffPlan plan) {
+        List<TariffPlan.Tier> tiers = plan.getTiers();
+        this.planId = plan.getId();
+        this.rounding = plan.getRounding();
+        this.minimumMinutes = plan.getMinimumMinutes();
+        this.aboveMinutes = new long[tiers.size()];
+        this.flatFeeCents = new long[tiers.size()];
+        this.centsPerMinute = new long[tiers.size()];
+        for (int i = 0; i < tiers.size(); i++) {
+            TariffPlan.Tier tier = tiers.get(i);
+            aboveMinutes[i] = tier.getAboveMinutes();
+            flatFeeCents[i] = tier.getFlatFeeCents();
+            centsPerMinute[i] = tier.getCentsPerMinute();
+        }
+    }
+
+    /**
+     * 返回来源方案的编号.
+     *
+     * @return 方案编号
+     */
+    public String getPlanId() {
+        return planId;
+    }
+
+    /**
+     * 按方案的取整规则与最低计费分钟数将通话秒数换算为计费分钟数.
+     *
+     * @param seconds 通话秒数
+     * @return 计费分钟数
+     */
+    public int billableMinutes(long seconds) {
+        return (int) Math.max(rounding.minutes(seconds), minimumMinutes);
+    }
+
+    /**
+     * 按方案的取整规则将通话秒数换算为分钟数，不应用最低计费分钟数.
+     *
+     * @param seconds 通话秒数
+     * @return 取整后的分钟数
+     */
+    public long roundedMinutes(long seconds) {
+        return rounding.minutes(seconds);
+    }
+
+    /**
+     * 计算给定计费分钟数的费用.
+     *
+     * @param minutes 计费分钟数
+     * @return 费用（美分）
+     * @throws IllegalArgumentException 如果minutes为负数
+     */
+    public long centsFor(long minutes) {
+        if (minutes < 0) {
+            throw new IllegalArgumentException("计费分钟数不能为负: " + minutes);
+        }
+        long[] t = table;
+        if (t == null) {
+            t = buildTable();
+        }
+        if (minutes < t.length) {
+            return t[(int) minutes];
+        }
+        return computeCents(minutes);
+    }
+
+    /**
+     * 不经查找表，按档位计算给定计费分钟数的费用.
+     *
+     * @param minutes 计费分钟数
+     * @return 费用（美分）
+     * @throws IllegalArgumentException 如果minutes为负数
+     */
+    long computeCents(long minutes) {
+        if (minutes < 0) {
+            throw new IllegalArgumentException("计费分钟数不能为负: " + minutes);
+        }
+        int tier = tierOf(minutes);
+        long extraMinutes = Math.max(minutes - aboveMinutes[tier], 0);
+        return flatFeeCents[tier] + centsPerMinute[tier] * extraMinutes;
+    }
+
+    private long[] buildTable() {
+        long[] t = new long[TABLE_MINUTES];
+        for (int minutes = 0; minutes < t.length; minutes++) {
+            t[minutes] = computeCents(minutes);
+        }
+        table = t;
+        return t;
+    }
+
+    /**
+     * 返回给定计费分钟数适用的档位下标，即起算分钟数小于该时长的最后一个档位；
+     * 不超过第一个档位起算分钟数的时长也归入第一个档位.
+     *
+     * @param minutes 计费分钟数
+     * @return 档位下标
+     */
+    public int tierOf(long minutes) {
+        int low = 1;
+        int high = aboveMinutes.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (aboveMinutes[mid] < minutes) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low - 1;
+    }
+
+    /**
+     * 返回档位数.
+     *
+     * @return 档位数
+     */
+    public int tierCount() {
+        return aboveMinutes.length;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledTariff[" + planId + ", " + aboveMinutes.length + " tiers]";
+    }
+}
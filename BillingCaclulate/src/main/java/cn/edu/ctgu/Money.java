@@ -0,0 +1,113 @@
+package cn.edu.ctgu;
+
+import java.math.BigDecimal;
+
+/**
+ * 以美分为单位的精确金额.
+ * 内部只保存一个 {@code long}，加法与求和都是精确的整数运算，溢出时抛出 {@link ArithmeticException}，
+ * 不会像 {@code double} 那样累积二进制舍入误差。大批量汇总时可直接对 {@code long[]} 调用
+ * {@link #sum(long[])}，不必为每条记录创建对象。
+ *
+ * <p>本类不可变。
+ */
+public final class Money implements Comparable<Money> {
+    private static final int SCALE = 2;
+    private static final double CENTS_PER_DOLLAR = 100.0;
+
+    /**
+     * 零金额.
+     */
+    public static final Money ZERO = new Money(0);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    /**
+     * 返回给定美分数的金额.
+     *
+     * @param cents 美分数
+     * @return 金额
+     */
+    public static Money ofCents(long cents) {
+        if (cents == 0) {
+            return ZERO;
+        }
+        return new Money(cents);
+    }
+
+    /**
+     * 精确求和一批以美分表示的金额.
+     *
+     * @param cents 各笔金额（美分）
+     * @return 总金额
+     * @throws ArithmeticException 如果总额超出 long 范围
+     */
+    public static Money sum(long[] cents) {
+        long total = 0;
+        for (long c : cents) {
+            total = Math.addExact(total, c);
+        }
+        return ofCents(total);
+    }
+
+    /**
+     * 返回美分数.
+     *
+     * @return 美分数
+     */
+    public long getCents() {
+        return cents;
+    }
+
+    /**
+     * 返回两笔金额之和.
+     *
+     * @param other 另一笔金额
+     * @return 金额之和
+     * @throws ArithmeticException 如果结果超出 long 范围
+     */
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    /**
+     * 转换为以美元计、保留两位小数的 {@link BigDecimal}.
+     *
+     * @return 美元金额
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    /**
+     * 转换为以美元计的 {@code double}，与 {@link BillingCalculator#calculateCharge(int)} 的返回值一致.
+     *
+     * @return 美元金额
+     */
+    public double toDollars() {
+        return cents / CENTS_PER_DOLLAR;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money && ((Money) o).cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + "$";
+    }
+}
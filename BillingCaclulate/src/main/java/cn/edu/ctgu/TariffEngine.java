@@ -0,0 +1,75 @@
+package cn.edu.ctgu;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 资费引擎：按方案编号登记资费方案并缓存其编译结果.
+ * 方案在登记时编译一次，此后按编号查找只是一次哈希表读取。
+ * 新建的引擎已登记 {@link TariffPlan#STANDARD}。
+ *
+ * <p>本类可被多个线程同时使用。
+ */
+public class TariffEngine {
+    private final ConcurrentMap<String, CompiledTariff> tariffs = new ConcurrentHashMap<>();
+
+    /**
+     * 创建已登记默认资费方案的引擎.
+     */
+    public TariffEngine() {
+        register(TariffPlan.STANDARD);
+    }
+
+    /**
+     * 编译并登记资费方案，替换同一编号下已有的方案.
+     *
+     * @param plan 资费方案
+     * @return 编译后的资费
+     * @throws NullPointerException 如果plan为null
+     */
+    public CompiledTariff register(TariffPlan plan) {
+        CompiledTariff tariff = plan.compile();
+        tariffs.put(plan.getId(), tariff);
+        return tariff;
+    }
+
+    /**
+     * 返回编号对应的编译后资费.
+     *
+     * @param planId 方案编号
+     * @return 编译后的资费
+     * @throws IllegalArgumentException 如果该编号未登记
+     */
+    public CompiledTariff tariff(String planId) {
+        CompiledTariff tariff = tariffs.get(Objects.requireNonNull(planId, "planId"));
+        if (tariff == null) {
+            throw new IllegalArgumentException("未登记的资费方案: " + planId);
+        }
+        return tariff;
+    }
+
+    /**
+     * 创建按编号对应资费计费的计算器.
+     *
+     * @param planId 方案编号
+     * @return 计费器
+     * @throws IllegalArgumentException 如果该编号未登记
+     */
+    public BillingCalculator calculator(String planId) {
+        return new BillingCalculator(tariff(planId));
+    }
+
+    /**
+     * 按编号对应的资费计算一次通话的费用.
+     *
+     * @param planId  方案编号
+     * @param seconds 通话秒数
+     * @return 费用（美分）
+     * @throws IllegalArgumentException 如果该编号未登记
+     */
+    public long priceCents(String planId, long seconds) {
+        CompiledTariff tariff = tariff(planId);
+        return tariff.centsFor(tariff.billableMinutes(seconds));
+    }
+}
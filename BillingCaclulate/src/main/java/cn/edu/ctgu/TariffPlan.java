@@ -0,0 +1,273 @@
+package cn.edu.ctgu;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 资费方案：分钟取整规则、最低计费分钟数与若干计费档位.
+ * 每个档位由起算分钟数、固定费用与每分钟费率组成（金额以美分计）；
+ * 通话时长落在起算分钟数最大且小于该时长的档位上，费用为
+ * 固定费用 + 每分钟费率 × (时长 − 起算分钟数)。第一个档位的起算分钟数必须为0。
+ * 方案创建后不可修改，使用前由 {@link TariffEngine} 或 {@link #compile()} 编译为 {@link CompiledTariff}。
+ */
+public final class TariffPlan {
+    private static final int STANDARD_LIMIT_MINUTES = 20;
+    private static final int STANDARD_BASE_CENTS_PER_MINUTE = 5;
+    private static final int STANDARD_EXTRA_FEE_CENTS = 100;
+    private static final int STANDARD_EXTRA_CENTS_PER_MINUTE = 10;
+
+    /**
+     * 默认资费：20分钟及以下0.05美元/分钟；超过20分钟1美元基础费 + 超时部分0.10美元/分钟；
+     * 不足1分钟按1分钟计，至少计费1分钟.
+     */
+    public static final TariffPlan STANDARD = builder("standard")
+            .rounding(Rounding.CEILING)
+            .minimumMinutes(1)
+            .tier(0, 0, STANDARD_BASE_CENTS_PER_MINUTE)
+            .tier(STANDARD_LIMIT_MINUTES, STANDARD_EXTRA_FEE_CENTS, STANDARD_EXTRA_CENTS_PER_MINUTE)
+            .build();
+
+    private final String id;
+    private final Rounding rounding;
+    private final int minimumMinutes;
+    private final List<Tier> tiers;
+
+    private TariffPlan(Builder builder) {
+        this.id = builder.id;
+        this.rounding = builder.rounding;
+        this.minimumMinutes = builder.minimumMinutes;
+        this.tiers = Collections.unmodifiableList(new ArrayList<>(builder.tiers));
+    }
+
+    /**
+     * 创建资费方案构建器.
+     *
+     * @param id 方案编号
+     * @return 构建器
+     * @throws NullPointerException 如果id为null
+     */
+    public static Builder builder(String id) {
+        return new Builder(id);
+    }
+
+    /**
+     * 返回方案编号.
+     *
+     * @return 方案编号
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * 返回秒数到分钟数的取整规则.
+     *
+     * @return 取整规则
+     */
+    public Rounding getRounding() {
+        return rounding;
+    }
+
+    /**
+     * 返回最低计费分钟数.
+     *
+     * @return 最低计费分钟数
+     */
+    public int getMinimumMinutes() {
+        return minimumMinutes;
+    }
+
+    /**
+     * 返回按起算分钟数升序排列的计费档位.
+     *
+     * @return 不可修改的档位列表
+     */
+    public List<Tier> getTiers() {
+        return tiers;
+    }
+
+    /**
+     * 将方案编译为可直接计价的查找结构.
+     *
+     * @return 编译后的资费
+     */
+    public CompiledTariff compile() {
+        return new CompiledTariff(this);
+    }
+
+    @Override
+    public String toString() {
+        return "TariffPlan[" + id + ", " + rounding + ", min " + minimumMinutes
+                + ", " + tiers + "]";
+    }
+
+    /**
+     * 通话秒数到计费分钟数的取整规则.
+     */
+    public enum Rounding {
+        /**
+         * 不足1分钟按1分钟计（61秒→2分钟）.
+         */
+        CEILING {
+            @Override
+            long minutes(long seconds) {
+                return (seconds + SECONDS_PER_MINUTE - 1) / SECONDS_PER_MINUTE;
+            }
+        },
+        /**
+         * 只计完整的分钟（119秒→1分钟）.
+         */
+        FLOOR {
+            @Override
+            long minutes(long seconds) {
+                return seconds / SECONDS_PER_MINUTE;
+            }
+        },
+        /**
+         * 满30秒进位（89秒→1分钟，90秒→2分钟）.
+         */
+        HALF_UP {
+            @Override
+            long minutes(long seconds) {
+                return (seconds + SECONDS_PER_MINUTE / 2) / SECONDS_PER_MINUTE;
+            }
+        };
+
+        private static final int SECONDS_PER_MINUTE = 60;
+
+        /**
+         * 按本规则将秒数换算为分钟数.
+         *
+         * @param seconds 通话秒数
+         * @return 取整后的分钟数
+         */
+        abstract long minutes(long seconds);
+    }
+
+    /**
+     * 一个计费档位.
+     */
+    public static final class Tier {
+        private final long aboveMinutes;
+        private final long flatFeeCents;
+        private final long centsPerMinute;
+
+        Tier(long aboveMinutes, long flatFeeCents, long centsPerMinute) {
+            this.aboveMinutes = aboveMinutes;
+            this.flatFeeCents = flatFeeCents;
+            this.centsPerMinute = centsPerMinute;
+        }
+
+        /**
+         * 返回起算分钟数，时长超过该值的通话适用本档位.
+         *
+         * @return 起算分钟数
+         */
+        public long getAboveMinutes() {
+            return aboveMinutes;
+        }
+
+        /**
+         * 返回本档位的固定费用.
+         *
+         * @return 固定费用（美分）
+         */
+        public long getFlatFeeCents() {
+            return flatFeeCents;
+        }
+
+        /**
+         * 返回超过起算分钟数部分的每分钟费率.
+         *
+         * @return 每分钟费率（美分）
+         */
+        public long getCentsPerMinute() {
+            return centsPerMinute;
+        }
+
+        @Override
+        public String toString() {
+            return ">" + aboveMinutes + "min: " + flatFeeCents + "c + " + centsPerMinute + "c/min";
+        }
+    }
+
+    /**
+     * 资费方案构建器.
+     */
+    public static final class Builder {
+        private final String id;
+        private Rounding rounding = Rounding.CEILING;
+        private int minimumMinutes;
+        private final List<Tier> tiers = new ArrayList<>();
+
+        private Builder(String id) {
+            this.id = Objects.requireNonNull(id, "id");
+        }
+
+        /**
+         * 设置取整规则，默认为 {@link Rounding#CEILING}.
+         *
+         * @param value 取整规则
+         * @return 本构建器
+         */
+        public Builder rounding(Rounding value) {
+            this.rounding = Objects.requireNonNull(value, "rounding");
+            return this;
+        }
+
+        /**
+         * 设置最低计费分钟数，默认为0.
+         *
+         * @param value 最低计费分钟数
+         * @return 本构建器
+         * @throws IllegalArgumentException 如果value为负数
+         */
+        public Builder minimumMinutes(int value) {
+            if (value < 0) {
+                throw new IllegalArgumentException("最低计费分钟数不能为负: " + value);
+            }
+            this.minimumMinutes = value;
+            return this;
+        }
+
+        /**
+         * 追加一个计费档位，起算分钟数必须大于已有档位.
+         *
+         * @param aboveMinutes   起算分钟数，第一个档位必须为0
+         * @param flatFeeCents   固定费用（美分）
+         * @param centsPerMinute 超过起算分钟数部分的每分钟费率（美分）
+         * @return 本构建器
+         * @throws IllegalArgumentException 如果金额为负或起算分钟数不递增
+         */
+        public Builder tier(long aboveMinutes, long flatFeeCents, long centsPerMinute) {
+            if (flatFeeCents < 0 || centsPerMinute < 0) {
+                throw new IllegalArgumentException("档位金额不能为负: " + flatFeeCents
+                        + ", " + centsPerMinute);
+            }
+            long expected = 0;
+            if (!tiers.isEmpty()) {
+                expected = tiers.get(tiers.size() - 1).aboveMinutes + 1;
+            }
+            if (tiers.isEmpty() && aboveMinutes != 0 || aboveMinutes < expected) {
+                throw new IllegalArgumentException("起算分钟数必须从0开始严格递增: " + aboveMinutes);
+            }
+            tiers.add(new Tier(aboveMinutes, flatFeeCents, centsPerMinute));
+            return this;
+        }
+
+        /**
+         * 创建资费方案.
+         *
+         * @return 资费方案
+         * @throws IllegalStateException 如果没有任何档位
+         */
+        public TariffPlan build() {
+            if (tiers.isEmpty()) {
+                throw new IllegalStateException("资费方案 " + id + " 没有计费档位");
+            }
+            return new TariffPlan(this);
+        }
+    }
+}
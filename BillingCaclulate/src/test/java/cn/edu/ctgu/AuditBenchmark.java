@@ -0,0 +1,124 @@
+package cn.edu.ctgu;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比生产环境 INFO 级别逐次输出日志与审计模式写入环形缓冲区的单次计费耗时.
+ * 日志输出到丢弃所有字节的流，因此测量的是格式化与追加的开销而非磁盘速度。
+ * 运行：mvn -Pbenchmark test -Djmh.includes=AuditBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditBenchmark {
+    private static final ZoneId ZONE = ZoneId.of("America/New_York");
+    private static final int YEAR = 2025;
+    private static final int MONTH_MAY = 5;
+    private static final int DAY = 12;
+    private static final int HOUR = 12;
+    private static final long CALL_SECONDS = 1234;
+    private static final int CAPACITY = 1 << 16;
+
+    private ch.qos.logback.classic.Logger logger;
+    private Level savedLevel;
+    private OutputStreamAppender<ILoggingEvent> appender;
+    private Path auditFile;
+    private BillingAuditTrail audit;
+    private BillingCalculator logged;
+    private BillingCalculator audited;
+    private ZonedDateTime start;
+    private ZonedDateTime end;
+
+    /**
+     * 把 BillingCalculator 的日志级别设为 INFO 并输出到空流，同时打开审计记录.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        logger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(BillingCalculator.class);
+        savedLevel = logger.getLevel();
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(logger.getLoggerContext());
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss.SSS} [%-5level] %logger{36} - %msg%n");
+        encoder.start();
+        appender = new OutputStreamAppender<>();
+        appender.setContext(logger.getLoggerContext());
+        appender.setEncoder(encoder);
+        appender.setOutputStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+                // 丢弃
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                // 丢弃
+            }
+        });
+        appender.start();
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+
+        auditFile = Files.createTempFile("billing-audit", ".bin");
+        audit = BillingAuditTrail.open(auditFile, CAPACITY);
+        logged = new BillingCalculator();
+        audited = new BillingCalculator(TariffPlan.STANDARD.compile(), audit);
+        start = ZonedDateTime.of(YEAR, MONTH_MAY, DAY, HOUR, 0, 0, 0, ZONE);
+        end = start.plusSeconds(CALL_SECONDS);
+    }
+
+    /**
+     * 恢复日志配置并删除审计文件.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        logger.detachAppender(appender);
+        logger.setAdditive(true);
+        logger.setLevel(savedLevel);
+        appender.stop();
+        audit.close();
+        Files.deleteIfExists(auditFile);
+    }
+
+    /**
+     * INFO 级别下的时长与费用计算（每次两行日志）.
+     */
+    @Benchmark
+    public double loggedAtInfo() {
+        return logged.calculateCharge(logged.calculateAdjustedDuration(start, end));
+    }
+
+    /**
+     * 审计模式下的时长与费用计算.
+     */
+    @Benchmark
+    public double audited() {
+        return audited.calculateCharge(audited.calculateAdjustedDuration(start, end));
+    }
+}
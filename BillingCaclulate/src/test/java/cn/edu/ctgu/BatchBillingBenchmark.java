@@ -0,0 +1,98 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 对比逐条调用 BillingCalculator 与 BatchBillingEngine 批量计费一批通话的耗时.
+ * 运行：mvn -Pbenchmark test -Djmh.includes=BatchBillingBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBillingBenchmark {
+    private static final ZoneId ZONE = ZoneId.of("America/New_York");
+    private static final int YEAR = 2025;
+    private static final int MONTH_MAY = 5;
+    private static final int DAY = 12;
+    private static final int HOUR = 12;
+    private static final int SECONDS_STEP = 53;
+    private static final int MAX_CALL_SECONDS = 7200;
+
+    @Param({"10000"})
+    private int calls;
+
+    private final BillingCalculator calculator = new BillingCalculator();
+    private final BatchBillingEngine engine = new BatchBillingEngine();
+    private ZonedDateTime[] starts;
+    private ZonedDateTime[] ends;
+
+    /**
+     * 准备一批时长各异的通话.
+     */
+    @Setup
+    public void setUp() {
+        ZonedDateTime base = ZonedDateTime.of(YEAR, MONTH_MAY, DAY, HOUR, 0, 0, 0, ZONE);
+        starts = new ZonedDateTime[calls];
+        ends = new ZonedDateTime[calls];
+        for (int i = 0; i < calls; i++) {
+            starts[i] = base.plusSeconds(i);
+            ends[i] = starts[i].plusSeconds((long) i * SECONDS_STEP % MAX_CALL_SECONDS);
+        }
+    }
+
+    /**
+     * 逐条调用时长计算与费用计算.
+     */
+    @Benchmark
+    public double[] perCall() {
+        double[] charges = new double[calls];
+        for (int i = 0; i < calls; i++) {
+            charges[i] = calculator.calculateCharge(
+                    calculator.calculateAdjustedDuration(starts[i], ends[i]));
+        }
+        return charges;
+    }
+
+    /**
+     * 顺序批量计费.
+     */
+    @Benchmark
+    public double[] batch() {
+        return engine.chargeAll(starts, ends);
+    }
+
+    /**
+     * ForkJoin 并行批量计费.
+     */
+    @Benchmark
+    public double[] batchParallel() {
+        return engine.chargeAllParallel(starts, ends);
+    }
+
+    /**
+     * 基于通话记录流的批量计费.
+     */
+    @Benchmark
+    public double[] batchStream() {
+        return engine.chargeAll(IntStream.range(0, calls)
+                .mapToObj(i -> new CallRecord(starts[i], ends[i])));
+    }
+}
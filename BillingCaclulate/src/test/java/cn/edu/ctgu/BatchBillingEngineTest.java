@@ -0,0 +1,123 @@
+package cn.edu.ctgu;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 测试BatchBillingEngine的批量计费，结果应与逐条调用BillingCalculator完全一致.
+ */
+class BatchBillingEngineTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchBillingEngineTest.class);
+    private static final ZoneId ZONE = ZoneId.of("America/New_York");
+
+    private static final int YEAR = 2025;
+    private static final int MONTH_NOVEMBER = 11;
+    private static final int DAY_FALL_BACK = 2;
+    private static final int HOUR_BEFORE_FALL_BACK = 1;
+    private static final int CALLS = 3 * BatchBillingEngine.PARALLEL_THRESHOLD + 7;
+    private static final int SECONDS_STEP = 37;
+    private static final int MINUTES_STEP = 17;
+    private static final int MAX_CALL_SECONDS = 10_000;
+
+    private final BillingCalculator calculator = new BillingCalculator();
+    private final BatchBillingEngine engine =
+            new BatchBillingEngine(calculator, ForkJoinPool.commonPool());
+
+    /**
+     * 构造跨越秋季夏令时切换、时长从数秒到数小时不等的一批通话.
+     */
+    private static ZonedDateTime[][] calls() {
+        ZonedDateTime base = ZonedDateTime.of(YEAR, MONTH_NOVEMBER, DAY_FALL_BACK,
+                HOUR_BEFORE_FALL_BACK, 0, 0, 0, ZONE);
+        ZonedDateTime[] starts = new ZonedDateTime[CALLS];
+        ZonedDateTime[] ends = new ZonedDateTime[CALLS];
+        for (int i = 0; i < CALLS; i++) {
+            starts[i] = base.plusMinutes(i % MINUTES_STEP);
+            ends[i] = starts[i].plusSeconds((long) i * SECONDS_STEP % MAX_CALL_SECONDS);
+        }
+        return new ZonedDateTime[][] {starts, ends};
+    }
+
+    /**
+     * 逐条调用BillingCalculator得到的期望费用.
+     */
+    private double[] expected(ZonedDateTime[] starts, ZonedDateTime[] ends) {
+        double[] charges = new double[starts.length];
+        for (int i = 0; i < starts.length; i++) {
+            charges[i] = calculator.calculateCharge(
+                    calculator.calculateAdjustedDuration(starts[i], ends[i]));
+        }
+        return charges;
+    }
+
+    /**
+     * 批量计费的各条路径.
+     */
+    @Nested
+    @DisplayName("批量计费结果")
+    class ChargeTests {
+
+        /**
+         * 顺序、并行与流式路径都应与逐条计费一致.
+         */
+        @Test
+        @DisplayName("与逐条计费一致")
+        void testMatchesPerCallCharges() {
+            LOGGER.info("批量计费与逐条计费对比");
+            ZonedDateTime[][] calls = calls();
+            double[] expected = expected(calls[0], calls[1]);
+
+            assertArrayEquals(expected, engine.chargeAll(calls[0], calls[1]), "顺序路径");
+            assertArrayEquals(expected, engine.chargeAllParallel(calls[0], calls[1]), "并行路径");
+            assertArrayEquals(expected, engine.chargeAll(records(calls)), "顺序流");
+            assertArrayEquals(expected, engine.chargeAll(records(calls).parallel()), "并行流");
+            assertArrayEquals(expected, engine.chargeAll(epochSeconds(calls[0]),
+                    epochSeconds(calls[1])), "纪元秒");
+
+            long[] cents = engine.chargeAllCents(epochSeconds(calls[0]), epochSeconds(calls[1]));
+            for (int i = 0; i < cents.length; i++) {
+                assertEquals(expected[i], Money.ofCents(cents[i]).toDollars(), "美分 " + i);
+            }
+        }
+
+        /**
+         * 空批次与长度不一致的输入.
+         */
+        @Test
+        @DisplayName("空批次与非法输入")
+        void testEmptyAndMismatchedBatches() {
+            LOGGER.info("空批次与长度不一致的输入");
+            ZonedDateTime[] none = new ZonedDateTime[0];
+            assertEquals(0, engine.chargeAll(none, none).length);
+            assertEquals(0, engine.chargeAllParallel(none, none).length);
+            assertEquals(0, engine.chargeAll(Stream.empty()).length);
+
+            ZonedDateTime[] one = {ZonedDateTime.of(YEAR, MONTH_NOVEMBER, 1, 0, 0, 0, 0, ZONE)};
+            assertThrows(IllegalArgumentException.class, () -> engine.chargeAll(one, none));
+            assertThrows(IllegalArgumentException.class, () -> engine.chargeAllParallel(none, one));
+        }
+
+        private long[] epochSeconds(ZonedDateTime[] times) {
+            return Arrays.stream(times).mapToLong(ZonedDateTime::toEpochSecond).toArray();
+        }
+
+        private Stream<CallRecord> records(ZonedDateTime[][] calls) {
+            return IntStream.range(0, calls[0].length)
+                    .mapToObj(i -> new CallRecord(calls[0][i], calls[1][i]));
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package cn.edu.ctgu;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 测试BillingAuditTrail的环形缓冲区与列式输出，以及审计模式下的BillingCalculator.
+ */
+class BillingAuditTrailTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BillingAuditTrailTest.class);
+    private static final ZoneId ZONE = ZoneId.of("America/New_York");
+    private static final int YEAR = 2025;
+    private static final int MONTH_MAY = 5;
+    private static final int DAY = 12;
+    private static final int CAPACITY = 64;
+    private static final int CALLS = 20_000;
+    private static final int SECONDS_STEP = 37;
+    private static final int MAX_SECONDS = 7200;
+    private static final int MINUTES_21 = 21;
+    private static final long CENTS_110 = 110;
+    private static final double CENTS_PER_DOLLAR = 100;
+    private static final int TOTAL_COLUMNS = 3;
+    private static final int WRITERS = 4;
+    private static final int RECORDS_BEFORE_CLOSE = 5_000;
+    private static final int SLOW_RECORDS = 20;
+    private static final long SLOW_WRITE_MILLIS = 1;
+
+    @TempDir
+    private Path dir;
+
+    /**
+     * 并行批量计费的每条结果都应出现在审计文件中，且合计与批量结果一致.
+     */
+    @Test
+    @DisplayName("并行计费的审计记录完整")
+    void testParallelBatchIsFullyAudited() throws IOException {
+        LOGGER.info("并行批量计费写入审计记录");
+        Path file = dir.resolve("audit.bin");
+        ZonedDateTime base = ZonedDateTime.of(YEAR, MONTH_MAY, DAY, 0, 0, 0, 0, ZONE);
+        ZonedDateTime[] starts = new ZonedDateTime[CALLS];
+        ZonedDateTime[] ends = new ZonedDateTime[CALLS];
+        for (int i = 0; i < CALLS; i++) {
+            starts[i] = base.plusSeconds(i);
+            ends[i] = starts[i].plusSeconds((long) i * SECONDS_STEP % MAX_SECONDS);
+        }
+
+        double[] charges;
+        try (BillingAuditTrail audit = BillingAuditTrail.open(file, CAPACITY)) {
+            BillingCalculator calculator = new BillingCalculator(
+                    TariffPlan.STANDARD.compile(), audit);
+            charges = new BatchBillingEngine(calculator, ForkJoinPool.commonPool())
+                    .chargeAllParallel(starts, ends);
+        }
+
+        long[] totals = readTotals(file);
+        assertEquals(CALLS, totals[0], "记录数");
+        long expectedCents = 0;
+        long expectedSeconds = 0;
+        for (int i = 0; i < CALLS; i++) {
+            expectedCents += Math.round(charges[i] * CENTS_PER_DOLLAR);
+            expectedSeconds += (long) i * SECONDS_STEP % MAX_SECONDS;
+        }
+        assertEquals(expectedSeconds, totals[1], "通话秒数合计");
+        assertEquals(expectedCents, totals[2], "费用合计");
+    }
+
+    /**
+     * 审计模式下的时长与费用计算结果不变；只给出分钟数时通话秒数记为未知.
+     */
+    @Test
+    @DisplayName("审计模式结果不变")
+    void testAuditModeKeepsResults() throws IOException {
+        LOGGER.info("审计模式下的单次计费");
+        Path file = dir.resolve("single.bin");
+        try (BillingAuditTrail audit = BillingAuditTrail.open(file, 1)) {
+            BillingCalculator calculator = new BillingCalculator(
+                    TariffPlan.STANDARD.compile(), audit);
+            ZonedDateTime start = ZonedDateTime.of(YEAR, MONTH_MAY, DAY, 0, 0, 0, 0, ZONE);
+            ZonedDateTime end = start.plusMinutes(MINUTES_21);
+            int minutes = calculator.calculateAdjustedDuration(start, end);
+            assertEquals(MINUTES_21, minutes);
+            assertEquals(new BillingCalculator().calculateCharge(minutes),
+                    calculator.calculateCharge(minutes));
+        }
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        assertEquals(1, in.getInt());
+        assertArrayEquals(new long[] {BillingAuditTrail.UNKNOWN_SECONDS, MINUTES_21, CENTS_110},
+                new long[] {in.getLong(), in.getInt(), in.getLong()});
+        assertEquals(0, in.remaining());
+    }
+
+    /**
+     * 关闭后不能再记录.
+     */
+    @Test
+    @DisplayName("关闭后拒绝记录")
+    void testRecordAfterClose() throws IOException {
+        LOGGER.info("关闭后记录");
+        BillingAuditTrail audit = BillingAuditTrail.open(dir.resolve("closed.bin"), CAPACITY);
+        audit.close();
+        assertThrows(IllegalStateException.class, () -> audit.record(1, 1, 1));
+        assertThrows(IllegalArgumentException.class,
+            () -> BillingAuditTrail.open(dir.resolve("bad.bin"), 0));
+    }
+
+    /**
+     * 与关闭并发的记录要么被拒绝，要么完整写出；记录线程不会一直等待.
+     */
+    @Test
+    @DisplayName("关闭时已开始的记录全部写出")
+    void testRecordRacingClose() throws Exception {
+        LOGGER.info("记录与关闭并发");
+        Path file = dir.resolve("race.bin");
+        BillingAuditTrail audit = BillingAuditTrail.open(file, 1);
+        AtomicLong accepted = new AtomicLong();
+        Thread[] writers = new Thread[WRITERS];
+        for (int w = 0; w < WRITERS; w++) {
+            writers[w] = new Thread(() -> {
+                try {
+                    while (true) {
+                        audit.record(1, 1, 1);
+                        accepted.incrementAndGet();
+                    }
+                } catch (IllegalStateException e) {
+                    LOGGER.debug("记录被拒绝: {}", e.getMessage());
+                }
+            });
+            writers[w].start();
+        }
+        while (accepted.get() < RECORDS_BEFORE_CLOSE) {
+            Thread.yield();
+        }
+        audit.close();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        long[] totals = readTotals(file);
+        assertEquals(accepted.get(), totals[0], "记录数");
+        assertEquals(accepted.get(), totals[2], "费用合计");
+    }
+
+    /**
+     * 写出失败后记录立即失败，不会等待已退出的后台线程腾出空间.
+     */
+    @Test
+    @DisplayName("写出失败后拒绝记录")
+    void testRecordAfterFailure() {
+        LOGGER.info("写出失败后记录");
+        BillingAuditTrail audit = new BillingAuditTrail(new FailingChannel(), 1);
+        assertThrows(IllegalStateException.class, () -> {
+            while (true) {
+                audit.record(1, 1, 1);
+            }
+        });
+        assertThrows(IOException.class, audit::close);
+    }
+
+    /**
+     * 调用线程被中断时，关闭仍写出全部记录并保留中断状态.
+     */
+    @Test
+    @DisplayName("中断的关闭仍写出全部记录")
+    void testInterruptedClose() throws IOException {
+        LOGGER.info("中断状态下关闭");
+        BillingAuditTrail audit = new BillingAuditTrail(new SlowChannel(), CAPACITY);
+        for (int i = 0; i < SLOW_RECORDS; i++) {
+            audit.record(1, 1, 1);
+        }
+        Thread.currentThread().interrupt();
+        try {
+            audit.close();
+        } finally {
+            assertTrue(Thread.interrupted(), "中断状态");
+        }
+        assertEquals(SLOW_RECORDS, audit.flushedCount());
+    }
+
+    /**
+     * 每次写入都等待一段时间、逐字节写出的输出通道.
+     */
+    private static final class SlowChannel implements WritableByteChannel {
+        private boolean open = true;
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (!open) {
+                throw new IOException("通道已关闭");
+            }
+            try {
+                Thread.sleep(SLOW_WRITE_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            src.get();
+            return 1;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+
+    /**
+     * 每次写入都失败的输出通道.
+     */
+    private static final class FailingChannel implements WritableByteChannel {
+        private boolean open = true;
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            throw new IOException("磁盘已满");
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+
+    /**
+     * 逐批读取审计文件，返回记录数、通话秒数合计与费用合计.
+     */
+    private static long[] readTotals(Path file) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+        long[] totals = new long[TOTAL_COLUMNS];
+        while (in.hasRemaining()) {
+            int n = in.getInt();
+            totals[0] += n;
+            for (int i = 0; i < n; i++) {
+                totals[1] += in.getLong();
+            }
+            for (int i = 0; i < n; i++) {
+                in.getInt();
+            }
+            for (int i = 0; i < n; i++) {
+                totals[2] += in.getLong();
+            }
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,119 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BillingCalculator 计费热点路径的基准测试.
+ * 日志级别由测试资源中的 logback.xml 决定（根级别 WARN），因此测量的是计费逻辑本身。
+ * 运行：mvn -Pbenchmark test -Djmh.includes=BillingCalculatorBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BillingCalculatorBenchmark {
+    private static final ZoneId ZONE = ZoneId.of("America/New_York");
+    private static final int YEAR = 2025;
+    private static final int MONTH_MAY = 5;
+    private static final int MONTH_NOVEMBER = 11;
+    private static final int DAY = 12;
+    private static final int DAY_FALL_BACK = 2;
+    private static final int HOUR = 12;
+    private static final int HOUR_BEFORE_FALL_BACK = 1;
+    private static final long CALL_SECONDS = 1234;
+    private static final int SHORT_CALL_MINUTES = 15;
+    private static final int LONG_CALL_MINUTES = 95;
+
+    private final BillingCalculator calculator = new BillingCalculator();
+    private ZonedDateTime start;
+    private ZonedDateTime end;
+    private ZonedDateTime dstStart;
+    private ZonedDateTime dstEnd;
+    private long startEpochSec;
+    private long endEpochSec;
+
+    /**
+     * 准备普通通话与跨夏令时切换的通话时间.
+     */
+    @Setup
+    public void setUp() {
+        start = ZonedDateTime.of(YEAR, MONTH_MAY, DAY, HOUR, 0, 0, 0, ZONE);
+        end = start.plusSeconds(CALL_SECONDS);
+        dstStart = ZonedDateTime.of(YEAR, MONTH_NOVEMBER, DAY_FALL_BACK,
+                HOUR_BEFORE_FALL_BACK, 0, 0, 0, ZONE);
+        dstEnd = dstStart.plusSeconds(CALL_SECONDS);
+        startEpochSec = dstStart.toEpochSecond();
+        endEpochSec = dstEnd.toEpochSecond();
+    }
+
+    /**
+     * 普通通话的时长计算.
+     */
+    @Benchmark
+    public int adjustedDuration() {
+        return calculator.calculateAdjustedDuration(start, end);
+    }
+
+    /**
+     * 跨夏令时切换的时长计算.
+     */
+    @Benchmark
+    public int adjustedDurationAcrossDst() {
+        return calculator.calculateAdjustedDuration(dstStart, dstEnd);
+    }
+
+    /**
+     * 基础费率区间的费用计算.
+     */
+    @Benchmark
+    public double chargeBaseRate() {
+        return calculator.calculateCharge(SHORT_CALL_MINUTES);
+    }
+
+    /**
+     * 分段费率区间的费用计算.
+     */
+    @Benchmark
+    public double chargeExtraRate() {
+        return calculator.calculateCharge(LONG_CALL_MINUTES);
+    }
+
+    /**
+     * 时长计算与费用计算的完整流程.
+     */
+    @Benchmark
+    public double durationAndCharge() {
+        return calculator.calculateCharge(calculator.calculateAdjustedDuration(start, end));
+    }
+
+    /**
+     * 基于纪元秒的时长计算（跨夏令时切换）.
+     */
+    @Benchmark
+    public int adjustedDurationEpoch() {
+        return calculator.calculateAdjustedDuration(startEpochSec, endEpochSec);
+    }
+
+    /**
+     * 基于纪元秒的时长与费用合并计算.
+     */
+    @Benchmark
+    public double chargeEpoch() {
+        return calculator.charge(startEpochSec, endEpochSec);
+    }
+}
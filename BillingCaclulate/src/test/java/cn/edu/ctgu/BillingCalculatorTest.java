@@ -234,4 +234,46 @@ class BillingCalculatorTest {
             assertEquals(TIERED_RATE_1, calculator.calculateCharge(duration), DELTA, "费用应为0.5美元");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 纪元秒路径应与ZonedDateTime路径结果一致.
+     */
+    @Nested
+    @DisplayName("纪元秒计费")
+    class EpochSecondTests {
+        private static final int YEAR = 2025;
+        private static final int MONTH_MARCH = 3;
+        private static final int MONTH_NOVEMBER = 11;
+        private static final int DAY_SPRING_FORWARD = 9;
+        private static final int DAY_FALL_BACK = 2;
+        private static final int HOUR_BEFORE_SWITCH = 1;
+        private static final int MAX_SECONDS = 2 * 60 * 60;
+        private static final int SECONDS_STEP = 7;
+
+        /**
+         * 在春秋两次夏令时切换附近逐秒对比两条路径的时长与费用.
+         */
+        @Test
+        @DisplayName("跨夏令时切换与ZonedDateTime路径一致")
+        void testMatchesZonedPathAcrossDst() {
+            LOGGER.info("纪元秒路径与ZonedDateTime路径对比");
+            ZonedDateTime[] bases = {
+                ZonedDateTime.of(YEAR, MONTH_MARCH, DAY_SPRING_FORWARD,
+                        HOUR_BEFORE_SWITCH, 0, 0, 0, ZONE),
+                ZonedDateTime.of(YEAR, MONTH_NOVEMBER, DAY_FALL_BACK,
+                        HOUR_BEFORE_SWITCH, 0, 0, 0, ZONE),
+            };
+            for (ZonedDateTime start : bases) {
+                for (int seconds = -SECONDS_STEP; seconds <= MAX_SECONDS; seconds += SECONDS_STEP) {
+                    ZonedDateTime end = start.plusSeconds(seconds);
+                    int expected = calculator.calculateAdjustedDuration(start, end);
+                    long startSec = start.toEpochSecond();
+                    long endSec = end.toEpochSecond();
+                    assertEquals(expected, calculator.calculateAdjustedDuration(startSec, endSec));
+                    assertEquals(calculator.calculateCharge(expected),
+                            calculator.charge(startSec, endSec));
+                }
+            }
+        }
+    }
+}
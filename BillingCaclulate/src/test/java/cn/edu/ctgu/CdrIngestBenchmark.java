@@ -0,0 +1,102 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流式导入一个约 25 MB（50 万行 ISO-8601 时间）的详单文件的耗时，
+ * 吞吐量为文件大小除以每次操作的时间。费用写入丢弃所有字节的通道。
+ * 运行：mvn -Pbenchmark test -Djmh.includes=CdrIngestBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CdrIngestBenchmark {
+    private static final int CALLS = 500_000;
+    private static final int YEAR = 2025;
+    private static final int SECONDS_STEP = 37;
+    private static final int MAX_CALL_SECONDS = 7200;
+    private static final ZoneId ZONE = ZoneId.of("America/New_York");
+    private static final DateTimeFormatter ISO =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ssXXX");
+
+    private final CdrIngestor ingestor = new CdrIngestor(new BillingCalculator());
+    private final WritableByteChannel sink = new WritableByteChannel() {
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            src.position(src.limit());
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+            // 无需关闭
+        }
+    };
+    private Path file;
+
+    /**
+     * 生成详单文件.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("cdr", ".csv");
+        ZonedDateTime base = ZonedDateTime.of(YEAR, 1, 1, 0, 0, 0, 0, ZONE);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < CALLS; i++) {
+                ZonedDateTime start = base.plusSeconds((long) i * SECONDS_STEP);
+                ZonedDateTime end = start.plusSeconds((long) i * SECONDS_STEP % MAX_CALL_SECONDS);
+                writer.write(ISO.format(start));
+                writer.write(',');
+                writer.write(ISO.format(end));
+                writer.write('\n');
+            }
+        }
+    }
+
+    /**
+     * 删除详单文件.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * 导入整个文件.
+     */
+    @Benchmark
+    public long ingest() throws IOException {
+        return ingestor.ingest(file, sink);
+    }
+}
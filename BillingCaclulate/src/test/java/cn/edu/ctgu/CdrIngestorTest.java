@@ -0,0 +1,155 @@
+package cn.edu.ctgu;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 测试CdrIngestor的详单解析、分块读取与成批计费.
+ */
+class CdrIngestorTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CdrIngestorTest.class);
+    private static final DateTimeFormatter ISO =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ssXXX");
+    private static final String[] ZONES =
+        {"America/New_York", "UTC", "Asia/Kolkata", "Europe/Paris"};
+    private static final int CALLS = 2000;
+    private static final long SEED = 20_251_017L;
+    private static final long FIRST_SECOND = 1_700_000_000L;
+    private static final int SPAN_SECONDS = 400 * 24 * 3600;
+    private static final int MAX_CALL_SECONDS = 3 * 3600;
+    private static final int SMALL_BATCH = 7;
+    private static final int SMALL_READ_BUFFER = 64;
+    private static final String CALL = "1741761000,1741761060";
+    private static final long MINUTE_CENTS = 5;
+
+    private final BillingCalculator calculator = new BillingCalculator();
+
+    @TempDir
+    private Path dir;
+
+    /**
+     * 随机详单（多时区、纪元秒、注释、CRLF、无结尾换行）的费用应与逐条计费一致，
+     * 且与读缓冲区大小和批大小无关.
+     */
+    @Test
+    @DisplayName("与逐条计费一致")
+    void testMatchesPerCallCharges() throws IOException {
+        LOGGER.info("随机详单导入");
+        Random random = new Random(SEED);
+        StringBuilder csv = new StringBuilder("start,end\n");
+        long[] expected = new long[CALLS];
+        for (int i = 0; i < CALLS; i++) {
+            ZoneId zone = ZoneId.of(ZONES[random.nextInt(ZONES.length)]);
+            ZonedDateTime start = ZonedDateTime.ofInstant(Instant.ofEpochSecond(
+                    FIRST_SECOND + random.nextInt(SPAN_SECONDS)), zone);
+            ZonedDateTime end = start.plusSeconds(random.nextInt(MAX_CALL_SECONDS));
+            expected[i] = calculator.calculateChargeAmount(
+                    calculator.calculateAdjustedDuration(start, end)).getCents();
+            if (i % SMALL_BATCH == 0) {
+                csv.append("# 注释\n\n").append(start.toEpochSecond()).append(',')
+                        .append(ISO.format(end)).append("\r\n");
+            } else {
+                csv.append(ISO.format(start)).append(',').append(ISO.format(end)).append('\n');
+            }
+        }
+        csv.setLength(csv.length() - 1);
+        byte[] input = csv.toString().getBytes(StandardCharsets.UTF_8);
+
+        Path file = dir.resolve("cdr.csv");
+        Files.write(file, input);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CdrIngestor ingestor = new CdrIngestor(calculator, CdrIngestor.DEFAULT_BATCH_SIZE, true);
+        assertEquals(CALLS, ingestor.ingest(file, Channels.newChannel(out)));
+        assertCharges(expected, out.toByteArray());
+
+        out.reset();
+        CdrIngestor small = new CdrIngestor(calculator, SMALL_BATCH, true, SMALL_READ_BUFFER);
+        assertEquals(CALLS, small.ingest(Channels.newChannel(new ByteArrayInputStream(input)),
+                Channels.newChannel(out)));
+        assertCharges(expected, out.toByteArray());
+    }
+
+    /**
+     * 格式错误的行报告行号.
+     */
+    @Test
+    @DisplayName("格式错误")
+    void testMalformedLines() {
+        LOGGER.info("格式错误的详单");
+        assertMalformed("1700000000,1700000060\n2025-13-01T00:00:00Z,1700000000\n", "第2行");
+        assertMalformed("2025-02-29T00:00:00Z,2025-03-01T00:00:00Z\n", "第1行");
+        assertMalformed("2025-03-01T00:00:00+05-00,1700000000\n", "第1行");
+        assertMalformed("1700000000\n", "第1行");
+        assertMalformed("1700000000,2025-03-01T00:00:00.5Z\n", "第1行");
+        assertMalformed("start,end\n" + CALL + "\n", "第1行");
+        assertMalformed("+60,0\n", "第1行");
+        StringBuilder longLine = new StringBuilder("1700000000,");
+        for (int i = 0; i < SMALL_READ_BUFFER; i++) {
+            longLine.append('0');
+        }
+        assertMalformed(longLine.toString(), "超过读缓冲区");
+    }
+
+    /**
+     * 第一行不会因为不以数字开头而被当作表头丢弃；只有声明了表头时才跳过第一个非注释行.
+     */
+    @Test
+    @DisplayName("第一行与表头")
+    void testFirstLineAndHeader() throws IOException {
+        LOGGER.info("第一行与表头");
+        long[] twoCalls = {MINUTE_CENTS, MINUTE_CENTS};
+        assertCharges(twoCalls, ingest("\uFEFF" + CALL + "\n" + CALL + "\n", false));
+        assertCharges(twoCalls, ingest(" " + CALL + "\n" + CALL + "\n", false));
+        assertCharges(twoCalls, ingest(CALL + "\n\t1741761000 , 1741761060 \r\n", false));
+        assertCharges(new long[] {MINUTE_CENTS}, ingest("-60,0\n", false));
+        assertCharges(new long[] {MINUTE_CENTS},
+                ingest("\uFEFF# 注释\n\nstart,end\n" + CALL + "\n", true));
+        assertCharges(new long[0], ingest("start,end\n", true));
+    }
+
+    private byte[] ingest(String csv, boolean header) throws IOException {
+        CdrIngestor ingestor = new CdrIngestor(calculator, SMALL_BATCH, header, SMALL_READ_BUFFER);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ingestor.ingest(Channels.newChannel(new ByteArrayInputStream(
+                csv.getBytes(StandardCharsets.UTF_8))), Channels.newChannel(out));
+        return out.toByteArray();
+    }
+
+    private void assertMalformed(String csv, String message) {
+        CdrIngestor ingestor = new CdrIngestor(calculator, SMALL_BATCH, false, SMALL_READ_BUFFER);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+            () -> ingestor.ingest(Channels.newChannel(
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))),
+                    Channels.newChannel(new ByteArrayOutputStream())));
+        assertTrue(e.getMessage().contains(message), e.getMessage());
+    }
+
+    private static void assertCharges(long[] expected, byte[] output) {
+        ByteBuffer charges = ByteBuffer.wrap(output);
+        assertEquals(expected.length * Long.BYTES, output.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], charges.getLong(), "记录 " + i);
+        }
+    }
+}
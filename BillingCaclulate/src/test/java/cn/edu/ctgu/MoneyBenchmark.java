@@ -0,0 +1,66 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比一批费用逐条转换为 BigDecimal 汇总与以美分直接精确汇总的耗时.
+ * 运行：mvn -Pbenchmark test -Djmh.includes=MoneyBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+    private static final int CALLS = 10_000;
+    private static final int MAX_MINUTES = 120;
+
+    private final BillingCalculator calculator = new BillingCalculator();
+    private final double[] dollars = new double[CALLS];
+    private final long[] cents = new long[CALLS];
+
+    /**
+     * 准备同一批通话的 double 费用与美分费用.
+     */
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < CALLS; i++) {
+            int minutes = 1 + i % MAX_MINUTES;
+            dollars[i] = calculator.calculateCharge(minutes);
+            cents[i] = calculator.calculateChargeAmount(minutes).getCents();
+        }
+    }
+
+    /**
+     * 逐条转换为 BigDecimal 后汇总.
+     */
+    @Benchmark
+    public BigDecimal bigDecimalSum() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (double d : dollars) {
+            total = total.add(BigDecimal.valueOf(d));
+        }
+        return total;
+    }
+
+    /**
+     * 以美分精确汇总.
+     */
+    @Benchmark
+    public Money centsSum() {
+        return Money.sum(cents);
+    }
+}
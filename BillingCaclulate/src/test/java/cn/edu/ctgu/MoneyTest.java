@@ -0,0 +1,73 @@
+package cn.edu.ctgu;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 测试Money的精确金额运算及BillingCalculator的金额计费接口.
+ */
+class MoneyTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MoneyTest.class);
+    private static final int CALLS = 10_000;
+    private static final int MINUTES_3 = 3;
+    private static final long CENTS_15 = 15;
+    private static final long CENTS_110 = 110;
+    private static final int MINUTES_21 = 21;
+
+    private final BillingCalculator calculator = new BillingCalculator();
+
+    /**
+     * 大量基础费率通话的合计应与整数美分之和完全相等，而double累加会产生误差.
+     */
+    @Test
+    @DisplayName("精确汇总")
+    void testExactSum() {
+        LOGGER.info("精确汇总1万条3分钟通话");
+        long[] cents = new long[CALLS];
+        double doubleTotal = 0;
+        for (int i = 0; i < CALLS; i++) {
+            cents[i] = calculator.calculateChargeAmount(MINUTES_3).getCents();
+            doubleTotal += calculator.calculateCharge(MINUTES_3);
+        }
+        Money total = Money.sum(cents);
+        assertEquals(CENTS_15 * CALLS, total.getCents());
+        assertEquals(new BigDecimal("1500.00"), total.toBigDecimal());
+        assertNotEquals(total.toDollars(), doubleTotal, "double累加应存在舍入误差");
+    }
+
+    /**
+     * 金额计费接口与double接口数值一致.
+     */
+    @Test
+    @DisplayName("与double计费一致")
+    void testMatchesDoubleCharge() {
+        LOGGER.info("金额计费与double计费对比");
+        Money amount = calculator.calculateChargeAmount(MINUTES_21);
+        assertEquals(Money.ofCents(CENTS_110), amount);
+        assertEquals(calculator.calculateCharge(MINUTES_21), amount.toDollars());
+        assertEquals("1.10$", amount.toString());
+        assertEquals(CENTS_110, calculator.chargeCents(0, MINUTES_21 * 60L));
+        assertEquals(Money.ofCents(CENTS_110 + CENTS_15),
+                amount.plus(calculator.calculateChargeAmount(MINUTES_3)));
+    }
+
+    /**
+     * 溢出时抛出异常而不是回绕.
+     */
+    @Test
+    @DisplayName("溢出检测")
+    void testOverflow() {
+        LOGGER.info("金额溢出");
+        assertThrows(ArithmeticException.class, () -> Money.sum(new long[] {Long.MAX_VALUE, 1}));
+        assertThrows(ArithmeticException.class,
+            () -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)));
+    }
+}
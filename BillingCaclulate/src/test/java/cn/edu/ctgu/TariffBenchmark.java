@@ -0,0 +1,77 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不同档位数的编译后资费计价，以及经资费引擎按编号查找后计价的耗时.
+ * 运行：mvn -Pbenchmark test -Djmh.includes=TariffBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TariffBenchmark {
+    private static final String PLAN_ID = "bench";
+    private static final int TIER_WIDTH_MINUTES = 5;
+    private static final int DURATIONS = 1024;
+    private static final int MAX_SECONDS = 7200;
+    private static final int SECONDS_STEP = 37;
+
+    @Param({"2", "64"})
+    private int tiers;
+
+    private final TariffEngine engine = new TariffEngine();
+    private CompiledTariff tariff;
+    private final long[] seconds = new long[DURATIONS];
+    private int next;
+
+    /**
+     * 构造给定档位数的资费方案并准备一组通话秒数.
+     */
+    @Setup
+    public void setUp() {
+        TariffPlan.Builder builder = TariffPlan.builder(PLAN_ID).minimumMinutes(1);
+        for (int i = 0; i < tiers; i++) {
+            builder.tier((long) i * TIER_WIDTH_MINUTES, i, tiers - i);
+        }
+        tariff = engine.register(builder.build());
+        for (int i = 0; i < DURATIONS; i++) {
+            seconds[i] = (long) i * SECONDS_STEP % MAX_SECONDS;
+        }
+    }
+
+    private long nextSeconds() {
+        next = (next + 1) & (DURATIONS - 1);
+        return seconds[next];
+    }
+
+    /**
+     * 直接使用编译后的资费计价.
+     */
+    @Benchmark
+    public long compiled() {
+        return tariff.centsFor(tariff.billableMinutes(nextSeconds()));
+    }
+
+    /**
+     * 每次按方案编号查找后计价.
+     */
+    @Benchmark
+    public long byPlanId() {
+        return engine.priceCents(PLAN_ID, nextSeconds());
+    }
+}
@@ -0,0 +1,188 @@
+package cn.edu.ctgu;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 测试资费方案的编译、档位查找、取整规则与资费引擎的缓存.
+ */
+class TariffEngineTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TariffEngineTest.class);
+    private static final double DELTA = 0.001;
+
+    /**
+     * 默认资费应与原先写死的计费规则一致.
+     */
+    @Nested
+    @DisplayName("默认资费")
+    class StandardTariffTests {
+        private static final int BASE_LIMIT = 20;
+        private static final double BASE_RATE = 0.05;
+        private static final double EXTRA_RATE = 0.10;
+        private static final double BASE_FEE = 1.00;
+        private static final int MAX_MINUTES = 2000;
+
+        /**
+         * 逐分钟对比默认资费与原计费公式.
+         */
+        @Test
+        @DisplayName("与原计费公式一致")
+        void testMatchesOriginalFormula() {
+            LOGGER.info("默认资费与原计费公式对比");
+            BillingCalculator calculator = new BillingCalculator();
+            for (int minutes = 1; minutes <= MAX_MINUTES; minutes++) {
+                double expected = BASE_RATE * minutes;
+                if (minutes > BASE_LIMIT) {
+                    expected = BASE_FEE + EXTRA_RATE * (minutes - BASE_LIMIT);
+                }
+                assertEquals(expected, calculator.calculateCharge(minutes), DELTA, "时长 " + minutes);
+            }
+            assertEquals(1, calculator.calculateAdjustedDuration(0L, 0L), "至少计费1分钟");
+        }
+    }
+
+    /**
+     * 自定义资费方案.
+     */
+    @Nested
+    @DisplayName("自定义资费")
+    class CustomTariffTests {
+        private static final long TIER_2_ABOVE = 10;
+        private static final long TIER_3_ABOVE = 60;
+        private static final long TIER_2_FEE = 50;
+        private static final long TIER_3_FEE = 300;
+        private static final long TIER_1_RATE = 8;
+        private static final long TIER_2_RATE = 5;
+        private static final long TIER_3_RATE = 2;
+        private static final int MINIMUM = 3;
+        private static final long MINUTES_61 = 61;
+        private static final long SECONDS_89 = 89;
+        private static final long SECONDS_90 = 90;
+        private static final long SECONDS_119 = 119;
+        private static final long SECONDS_600 = 600;
+
+        private final TariffPlan plan = TariffPlan.builder("night")
+                .rounding(TariffPlan.Rounding.HALF_UP)
+                .minimumMinutes(MINIMUM)
+                .tier(0, 0, TIER_1_RATE)
+                .tier(TIER_2_ABOVE, TIER_2_FEE, TIER_2_RATE)
+                .tier(TIER_3_ABOVE, TIER_3_FEE, TIER_3_RATE)
+                .build();
+
+        /**
+         * 档位边界处的计价.
+         */
+        @Test
+        @DisplayName("三档计价")
+        void testThreeTiers() {
+            LOGGER.info("三档资费边界");
+            CompiledTariff tariff = plan.compile();
+            assertEquals(0, tariff.centsFor(0));
+            assertEquals(TIER_1_RATE * TIER_2_ABOVE, tariff.centsFor(TIER_2_ABOVE));
+            assertEquals(TIER_2_FEE + TIER_2_RATE, tariff.centsFor(TIER_2_ABOVE + 1));
+            assertEquals(TIER_2_FEE + TIER_2_RATE * (TIER_3_ABOVE - TIER_2_ABOVE),
+                    tariff.centsFor(TIER_3_ABOVE));
+            assertEquals(TIER_3_FEE + TIER_3_RATE, tariff.centsFor(MINUTES_61));
+            assertEquals(2, tariff.tierOf(Long.MAX_VALUE));
+        }
+
+        /**
+         * 取整规则与最低计费分钟数.
+         */
+        @Test
+        @DisplayName("取整规则与最低计费")
+        void testRoundingAndMinimum() {
+            LOGGER.info("取整规则与最低计费分钟数");
+            CompiledTariff tariff = plan.compile();
+            assertEquals(MINIMUM, tariff.billableMinutes(SECONDS_89));
+            assertEquals(1, tariff.roundedMinutes(SECONDS_89));
+            assertEquals(2, tariff.roundedMinutes(SECONDS_90));
+            assertEquals(1, TariffPlan.Rounding.FLOOR.minutes(SECONDS_119));
+            assertEquals(2, TariffPlan.Rounding.CEILING.minutes(SECONDS_119));
+
+            BillingCalculator calculator = new BillingCalculator(tariff);
+            assertEquals(TIER_1_RATE * TIER_2_ABOVE / 100.0,
+                    calculator.charge(0, SECONDS_600), DELTA);
+        }
+
+        /**
+         * 查找表内外的计价都应与按档位计算一致；负的计费分钟数被拒绝.
+         */
+        @Test
+        @DisplayName("查找表与按档位计算一致")
+        void testLookupTable() {
+            LOGGER.info("查找表边界");
+            CompiledTariff tariff = plan.compile();
+            for (long minutes = 0; minutes <= 2 * CompiledTariff.TABLE_MINUTES; minutes++) {
+                assertEquals(tariff.computeCents(minutes), tariff.centsFor(minutes),
+                        "时长 " + minutes);
+            }
+            assertEquals(tariff.computeCents(Integer.MAX_VALUE),
+                    tariff.centsFor(Integer.MAX_VALUE));
+            assertThrows(IllegalArgumentException.class, () -> tariff.centsFor(-1));
+            assertThrows(IllegalArgumentException.class, () -> tariff.computeCents(-1));
+            assertThrows(IllegalArgumentException.class,
+                () -> new BillingCalculator(tariff).calculateCharge(-1));
+            assertEquals(MINIMUM, tariff.billableMinutes(-SECONDS_600));
+            assertEquals(0, TariffPlan.builder("free").tier(0, 0, 1).build().compile()
+                    .billableMinutes(-SECONDS_600));
+        }
+
+        /**
+         * 非法的档位定义.
+         */
+        @Test
+        @DisplayName("非法档位")
+        void testInvalidTiers() {
+            LOGGER.info("非法档位定义");
+            assertThrows(IllegalArgumentException.class,
+                () -> TariffPlan.builder("x").tier(1, 0, 1));
+            assertThrows(IllegalArgumentException.class,
+                () -> TariffPlan.builder("x").tier(0, 0, 1).tier(0, 0, 1));
+            assertThrows(IllegalArgumentException.class,
+                () -> TariffPlan.builder("x").tier(0, -1, 1));
+            assertThrows(IllegalArgumentException.class,
+                () -> TariffPlan.builder("x").minimumMinutes(-1));
+            assertThrows(IllegalStateException.class, () -> TariffPlan.builder("x").build());
+        }
+    }
+
+    /**
+     * 资费引擎的登记与查找.
+     */
+    @Nested
+    @DisplayName("资费引擎")
+    class EngineTests {
+        private static final long SECONDS = 1234;
+
+        /**
+         * 按编号查找返回同一个编译结果，重新登记后替换.
+         */
+        @Test
+        @DisplayName("按编号缓存编译结果")
+        void testCachesCompiledPlans() {
+            LOGGER.info("资费引擎缓存");
+            TariffEngine engine = new TariffEngine();
+            CompiledTariff standard = engine.tariff(TariffPlan.STANDARD.getId());
+            assertSame(standard, engine.tariff(TariffPlan.STANDARD.getId()));
+            assertEquals(new BillingCalculator().charge(0, SECONDS) * 100,
+                    engine.priceCents(TariffPlan.STANDARD.getId(), SECONDS), DELTA);
+
+            TariffPlan flat = TariffPlan.builder("flat")
+                    .rounding(TariffPlan.Rounding.FLOOR).tier(0, 0, 1).build();
+            CompiledTariff compiled = engine.register(flat);
+            assertSame(compiled, engine.tariff("flat"));
+            assertSame(compiled, engine.calculator("flat").getTariff());
+            assertEquals(SECONDS / 60, engine.priceCents("flat", SECONDS + 1));
+
+            assertThrows(IllegalArgumentException.class, () -> engine.tariff("missing"));
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * YesterdayDate.getYesterday 的基准测试，覆盖普通日期、跨月、跨年与闰年二月.
+ * 运行：mvn -Pbenchmark test -Djmh.includes=YesterdayDateBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YesterdayDateBenchmark {
+
+    @Param({"2025-5-20", "2025-5-1", "2025-1-1", "2024-3-1"})
+    private String date;
+
+    private int year;
+    private int month;
+    private int day;
+
+    @Setup
+    public void setUp() {
+        String[] parts = date.split("-");
+        year = Integer.parseInt(parts[0]);
+        month = Integer.parseInt(parts[1]);
+        day = Integer.parseInt(parts[2]);
+    }
+
+    @Benchmark
+    public String getYesterday() {
+        return YesterdayDate.getYesterday(year, month, day);
+    }
+}
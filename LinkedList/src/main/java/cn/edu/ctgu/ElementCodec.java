@@ -0,0 +1,135 @@
+package cn.edu.ctgu;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of single list elements, used by {@link LinkedListCodec}
+ * to write lists to and read them from {@link ByteBuffer}s and channels.
+ *
+ * <p>{@link #write} must use relative puts and may throw
+ * {@link java.nio.BufferOverflowException} part-way through an element;
+ * {@link #read} must use relative gets and throw
+ * {@link BufferUnderflowException} if the element is not complete.  The
+ * codec rewinds and retries with more room or more data in both cases.
+ *
+ * @param <E> the type of elements encoded
+ * @see LinkedListCodec
+ */
+public interface ElementCodec<E> {
+
+    /**
+     * Returns the identifier recorded in the image header, checked when the
+     * image is read back.  Identifiers 0 to 15 are reserved for the codecs
+     * declared in this interface.
+     *
+     * @return the codec identifier
+     */
+    byte id();
+
+    /**
+     * Writes one element at the buffer's position.
+     *
+     * @param e   the element to write
+     * @param out the buffer to write to
+     */
+    void write(E e, ByteBuffer out);
+
+    /**
+     * Reads one element at the buffer's position.
+     *
+     * @param in the buffer to read from
+     * @return the element read
+     */
+    E read(ByteBuffer in);
+
+    /**
+     * Four-byte big-endian {@code int}s; rejects {@code null} elements.
+     */
+    ElementCodec<Integer> INTEGER = new ElementCodec<Integer>() {
+        public byte id() {
+            return 1;
+        }
+
+        public void write(Integer e, ByteBuffer out) {
+            out.putInt(e);
+        }
+
+        public Integer read(ByteBuffer in) {
+            return in.getInt();
+        }
+    };
+
+    /**
+     * Eight-byte big-endian {@code long}s; rejects {@code null} elements.
+     */
+    ElementCodec<Long> LONG = new ElementCodec<Long>() {
+        public byte id() {
+            return 2;
+        }
+
+        public void write(Long e, ByteBuffer out) {
+            out.putLong(e);
+        }
+
+        public Long read(ByteBuffer in) {
+            return in.getLong();
+        }
+    };
+
+    /**
+     * Eight-byte IEEE 754 {@code double}s; rejects {@code null} elements.
+     */
+    ElementCodec<Double> DOUBLE = new ElementCodec<Double>() {
+        public byte id() {
+            return 3;
+        }
+
+        public void write(Double e, ByteBuffer out) {
+            out.putDouble(e);
+        }
+
+        public Double read(ByteBuffer in) {
+            return in.getDouble();
+        }
+    };
+
+    /**
+     * UTF-8 strings prefixed by their encoded length as an {@code int};
+     * {@code null} is written as length -1.
+     */
+    ElementCodec<String> STRING = new ElementCodec<String>() {
+        public byte id() {
+            return 4;
+        }
+
+        public void write(String e, ByteBuffer out) {
+            if (e == null) {
+                out.putInt(-1);
+            } else {
+                final byte[] bytes = e.getBytes(StandardCharsets.UTF_8);
+                out.putInt(bytes.length).put(bytes);
+            }
+        }
+
+        public String read(ByteBuffer in) {
+            final int length = in.getInt();
+            if (length < 0)
+                return null;
+            if (in.remaining() < length)
+                throw new BufferUnderflowException();
+            final String s;
+            if (in.hasArray()) {
+                s = new String(in.array(), in.arrayOffset() + in.position(), length,
+                        StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+            } else {
+                final byte[] bytes = new byte[length];
+                in.get(bytes);
+                s = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return s;
+        }
+    };
+}
@@ -27,6 +27,9 @@ package cn.edu.ctgu;
 
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * Doubly-linked list implementation of the {@code List} and {@code Deque}
@@ -96,6 +99,59 @@ public class LinkedList<E>
      */
     transient Node<E> last;
 
+    /**
+     * Optional skip-list index over the nodes for sub-linear positional
+     * access; null when disabled.
+     */
+    transient PositionalIndex<E> positionalIndex;
+
+    /**
+     * Optional hash index from elements to their nodes for constant-time
+     * membership tests and removal by value; null when disabled.
+     */
+    transient MembershipIndex<E> membershipIndex;
+
+    /**
+     * Recycled nodes linked through next, reused by the link operations;
+     * always null while node pooling is disabled.
+     */
+    transient Node<E> freeNodes;
+
+    /**
+     * Number of nodes in freeNodes.
+     */
+    transient int freeCount;
+
+    /**
+     * Maximum number of nodes kept in freeNodes; 0 disables pooling.
+     */
+    transient int freeCapacity;
+
+    /**
+     * Whether the node chain is also referenced by a snapshot, and must be
+     * copied before any node in it is modified.
+     */
+    transient boolean shared;
+
+    /**
+     * Optional operation counters and traversal histograms; null when
+     * disabled.
+     */
+    transient LinkedListMetrics metrics;
+
+    /**
+     * Generation of the node chain that handles refer to; advanced when
+     * nodes leave the list other than by removal, which invalidates every
+     * handle issued before.
+     */
+    transient int handleEpoch;
+
+    /**
+     * Whether handles of the current epoch may exist, in which case
+     * removed nodes must not be recycled.
+     */
+    transient boolean handlesIssued;
+
     /*
     void dataStructureInvariants() {
         assert (size == 0)
@@ -128,7 +184,7 @@ public class LinkedList<E>
      */
     private void linkFirst(E e) {
         final Node<E> f = first;
-        final Node<E> newNode = new Node<>(null, e, f);
+        final Node<E> newNode = newNode(null, e, f);
         first = newNode;
         if (f == null)
             last = newNode;
@@ -136,6 +192,12 @@ public class LinkedList<E>
             f.prev = newNode;
         size++;
         modCount++;
+        if (metrics != null)
+            metrics.op(LinkedListMetrics.Op.ADD_FIRST);
+        if (positionalIndex != null)
+            positionalIndex.linked(newNode, 0);
+        if (membershipIndex != null)
+            membershipIndex.linked(newNode);
     }
 
     /**
@@ -143,7 +205,7 @@ public class LinkedList<E>
      */
     void linkLast(E e) {
         final Node<E> l = last;
-        final Node<E> newNode = new Node<>(l, e, null);
+        final Node<E> newNode = newNode(l, e, null);
         last = newNode;
         if (l == null)
             first = newNode;
@@ -151,15 +213,24 @@ public class LinkedList<E>
             l.next = newNode;
         size++;
         modCount++;
+        if (metrics != null)
+            metrics.op(LinkedListMetrics.Op.ADD_LAST);
+        if (positionalIndex != null)
+            positionalIndex.linked(newNode, size - 1);
+        if (membershipIndex != null)
+            membershipIndex.linked(newNode);
     }
 
     /**
-     * Inserts element e before non-null Node succ.
+     * Inserts element e before non-null Node succ, which is at position
+     * index (or -1 if the position is unknown).
      */
-    void linkBefore(E e, Node<E> succ) {
+    void linkBefore(E e, Node<E> succ, int index) {
         // assert succ != null;
+        if (shared)
+            succ = unshare(succ);
         final Node<E> pred = succ.prev;
-        final Node<E> newNode = new Node<>(pred, e, succ);
+        final Node<E> newNode = newNode(pred, e, succ);
         succ.prev = newNode;
         if (pred == null)
             first = newNode;
@@ -167,6 +238,12 @@ public class LinkedList<E>
             pred.next = newNode;
         size++;
         modCount++;
+        if (metrics != null && pred == null)
+            metrics.op(LinkedListMetrics.Op.ADD_FIRST);
+        if (positionalIndex != null)
+            indexLinked(newNode, index);
+        if (membershipIndex != null)
+            membershipIndex.linked(newNode);
     }
 
     /**
@@ -174,6 +251,8 @@ public class LinkedList<E>
      */
     private E unlinkFirst(Node<E> f) {
         // assert f == first && f != null;
+        if (shared)
+            f = unshare(f);
         final E element = f.item;
         final Node<E> next = f.next;
         f.item = null;
@@ -185,6 +264,14 @@ public class LinkedList<E>
             next.prev = null;
         size--;
         modCount++;
+        if (metrics != null)
+            metrics.op(LinkedListMetrics.Op.REMOVE_FIRST);
+        if (positionalIndex != null)
+            positionalIndex.unlinked(f, 0);
+        if (membershipIndex != null)
+            membershipIndex.unlinked(f, element);
+        if (freeCount < freeCapacity)
+            recycle(f);
         return element;
     }
 
@@ -193,6 +280,8 @@ public class LinkedList<E>
      */
     private E unlinkLast(Node<E> l) {
         // assert l == last && l != null;
+        if (shared)
+            l = unshare(l);
         final E element = l.item;
         final Node<E> prev = l.prev;
         l.item = null;
@@ -204,14 +293,25 @@ public class LinkedList<E>
             prev.next = null;
         size--;
         modCount++;
+        if (metrics != null)
+            metrics.op(LinkedListMetrics.Op.REMOVE_LAST);
+        if (positionalIndex != null)
+            positionalIndex.unlinked(l, size);
+        if (membershipIndex != null)
+            membershipIndex.unlinked(l, element);
+        if (freeCount < freeCapacity)
+            recycle(l);
         return element;
     }
 
     /**
-     * Unlinks non-null node x.
+     * Unlinks non-null node x, which is at position index (or -1 if the
+     * position is unknown).
      */
-    E unlink(Node<E> x) {
+    E unlink(Node<E> x, int index) {
         // assert x != null;
+        if (shared)
+            x = unshare(x);
         final E element = x.item;
         final Node<E> next = x.next;
         final Node<E> prev = x.prev;
@@ -233,9 +333,102 @@ public class LinkedList<E>
         x.item = null;
         size--;
         modCount++;
+        if (metrics != null) {
+            if (prev == null)
+                metrics.op(LinkedListMetrics.Op.REMOVE_FIRST);
+            else if (next == null)
+                metrics.op(LinkedListMetrics.Op.REMOVE_LAST);
+        }
+        if (positionalIndex != null)
+            indexUnlinked(x, index);
+        if (membershipIndex != null)
+            membershipIndex.unlinked(x, element);
+        if (freeCount < freeCapacity)
+            recycle(x);
         return element;
     }
 
+    /**
+     * Returns a node holding e between prev and next, taken from the free
+     * list when one is available.
+     */
+    private Node<E> newNode(Node<E> prev, E e, Node<E> next) {
+        final Node<E> x = freeNodes;
+        if (x == null)
+            return new Node<>(prev, e, next);
+        freeNodes = x.next;
+        freeCount--;
+        x.item = e;
+        x.next = next;
+        x.prev = prev;
+        return x;
+    }
+
+    /**
+     * Pushes unlinked node x, whose item has been cleared, onto the free
+     * list.  The caller has checked that the free list has room.
+     */
+    private void recycle(Node<E> x) {
+        // assert x.item == null;
+        // A handle may still refer to x; reusing it would revive the handle.
+        if (handlesIssued)
+            return;
+        x.prev = null;
+        x.next = freeNodes;
+        freeNodes = x;
+        freeCount++;
+    }
+
+    /**
+     * Replaces the node chain, which snapshots still reference, by a
+     * private copy, and returns the copy of node x (null if x is null).
+     * Links at either end may be added to a shared chain, since snapshots
+     * never follow links past their own ends; everything else must copy.
+     */
+    private Node<E> unshare(Node<E> x) {
+        Node<E> copy = null;
+        Node<E> pred = null;
+        for (Node<E> p = first; p != null; p = p.next) {
+            final Node<E> newNode = newNode(pred, p.item, null);
+            if (pred == null)
+                first = newNode;
+            else
+                pred.next = newNode;
+            if (p == x)
+                copy = newNode;
+            pred = newNode;
+        }
+        last = pred;
+        shared = false;
+        invalidateHandles();
+        if (positionalIndex != null)
+            positionalIndex.invalidate();
+        if (membershipIndex != null)
+            membershipIndex.invalidate();
+        return copy;
+    }
+
+    /**
+     * Reports a link at a possibly unknown position to the positional index.
+     */
+    private void indexLinked(Node<E> x, int index) {
+        if (index < 0)
+            positionalIndex.invalidate();
+        else
+            positionalIndex.linked(x, index);
+    }
+
+    /**
+     * Reports an unlink at a possibly unknown position to the positional
+     * index.
+     */
+    private void indexUnlinked(Node<E> x, int index) {
+        if (index < 0)
+            positionalIndex.invalidate();
+        else
+            positionalIndex.unlinked(x, index);
+    }
+
     /**
      * Returns the first element in this list.
      *
@@ -318,6 +511,8 @@ public class LinkedList<E>
      * @return {@code true} if this list contains the specified element
      */
     public boolean contains(Object o) {
+        if (membershipIndex != null)
+            return membershipIndex.contains(o);
         return indexOf(o) >= 0;
     }
 
@@ -357,21 +552,37 @@ public class LinkedList<E>
      * @return {@code true} if this list contained the specified element
      */
     public boolean remove(Object o) {
+        if (membershipIndex != null) {
+            if (metrics != null)
+                metrics.searchWalk(LinkedListMetrics.Op.REMOVE_OBJECT, 0);
+            final Node<E> x = membershipIndex.first(o);
+            if (x == null)
+                return false;
+            unlink(x, -1);
+            return true;
+        }
+        int index = 0;
         if (o == null) {
-            for (Node<E> x = first; x != null; x = x.next) {
+            for (Node<E> x = first; x != null; x = x.next, index++) {
                 if (x.item == null) {
-                    unlink(x);
+                    if (metrics != null)
+                        metrics.searchWalk(LinkedListMetrics.Op.REMOVE_OBJECT, index);
+                    unlink(x, index);
                     return true;
                 }
             }
         } else {
-            for (Node<E> x = first; x != null; x = x.next) {
+            for (Node<E> x = first; x != null; x = x.next, index++) {
                 if (o.equals(x.item)) {
-                    unlink(x);
+                    if (metrics != null)
+                        metrics.searchWalk(LinkedListMetrics.Op.REMOVE_OBJECT, index);
+                    unlink(x, index);
                     return true;
                 }
             }
         }
+        if (metrics != null)
+            metrics.searchWalk(LinkedListMetrics.Op.REMOVE_OBJECT, size);
         return false;
     }
 
@@ -399,6 +610,13 @@ public class LinkedList<E>
      * in the list in the order that they are returned by the
      * specified collection's iterator.
      *
+     * @implNote This implementation reads the collection through its
+     * iterator, or straight from the node chain when it is another
+     * {@code LinkedList}, instead of copying it into an array first, and
+     * links the new nodes into this list only once they have all been
+     * created, so an exception thrown by the collection leaves this list
+     * unchanged.
+     *
      * @param index index at which to insert the first element
      *              from the specified collection
      * @param c     collection containing elements to be added to this list
@@ -408,9 +626,38 @@ public class LinkedList<E>
      */
     public boolean addAll(int index, Collection<? extends E> c) {
         checkPositionIndex(index);
-
-        Object[] a = c.toArray();
-        int numNew = a.length;
+        if (metrics != null)
+            metrics.op(LinkedListMetrics.Op.ADD_ALL);
+
+        // Build the new nodes as a detached chain from head to tail.
+        Node<E> head = null, tail = null;
+        int numNew = 0;
+        if (c.getClass() == LinkedList.class && c != this) {
+            final LinkedList<? extends E> src = (LinkedList<? extends E>) c;
+            Node<? extends E> x = src.first;
+            for (int n = src.size; numNew < n; numNew++, x = x.next) {
+                final Node<E> newNode = newNode(tail, x.item, null);
+                if (tail == null)
+                    head = newNode;
+                else
+                    tail.next = newNode;
+                tail = newNode;
+            }
+        } else {
+            // A list added to itself is read from a copy, as it changes.
+            @SuppressWarnings("unchecked")
+            final Iterator<? extends E> it = (c == this)
+                ? Arrays.asList((E[]) toArray()).iterator() : c.iterator();
+            while (it.hasNext()) {
+                final Node<E> newNode = newNode(tail, it.next(), null);
+                if (tail == null)
+                    head = newNode;
+                else
+                    tail.next = newNode;
+                tail = newNode;
+                numNew++;
+            }
+        }
         if (numNew == 0)
             return false;
 
@@ -420,28 +667,38 @@ public class LinkedList<E>
             pred = last;
         } else {
             succ = node(index);
+            if (shared)
+                succ = unshare(succ);
             pred = succ.prev;
         }
+        final Node<E> before = pred;
 
-        for (Object o : a) {
-            @SuppressWarnings("unchecked") E e = (E) o;
-            Node<E> newNode = new Node<>(pred, e, null);
-            if (pred == null)
-                first = newNode;
-            else
-                pred.next = newNode;
-            pred = newNode;
-        }
-
+        head.prev = pred;
+        if (pred == null)
+            first = head;
+        else
+            pred.next = head;
         if (succ == null) {
-            last = pred;
+            last = tail;
         } else {
-            pred.next = succ;
-            succ.prev = pred;
+            tail.next = succ;
+            succ.prev = tail;
         }
 
         size += numNew;
         modCount++;
+        if (metrics != null) {
+            if (succ == null)
+                metrics.op(LinkedListMetrics.Op.ADD_LAST, numNew);
+            else if (before == null)
+                metrics.op(LinkedListMetrics.Op.ADD_FIRST, numNew);
+        }
+        if (positionalIndex != null)
+            positionalIndex.invalidate();
+        if (membershipIndex != null) {
+            for (Node<E> x = (before == null) ? first : before.next; x != succ; x = x.next)
+                membershipIndex.linked(x);
+        }
         return true;
     }
 
@@ -454,18 +711,345 @@ public class LinkedList<E>
         // - helps a generational GC if the discarded nodes inhabit
         //   more than one generation
         // - is sure to free memory even if there is a reachable Iterator
-        for (Node<E> x = first; x != null; ) {
+        // Nodes shared with snapshots must be left intact.
+        invalidateHandles();
+        for (Node<E> x = shared ? null : first; x != null; ) {
             Node<E> next = x.next;
             x.item = null;
             x.next = null;
             x.prev = null;
+            if (freeCount < freeCapacity)
+                recycle(x);
             x = next;
         }
         first = last = null;
         size = 0;
         modCount++;
+        shared = false;
+        if (positionalIndex != null)
+            positionalIndex.invalidate();
+        if (membershipIndex != null)
+            membershipIndex.invalidate();
+    }
+
+
+    // Bulk Operations
+
+    /**
+     * Removes all of the elements of this list that satisfy the given
+     * predicate.  Errors or runtime exceptions thrown by the predicate are
+     * relayed to the caller; elements already removed stay removed.
+     *
+     * @implNote This implementation unlinks the matching nodes in a single
+     * pass over the node chain and counts the whole operation as one
+     * structural modification, instead of removing them one by one
+     * through an iterator.
+     *
+     * @param filter a predicate which returns {@code true} for elements to
+     *               be removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException            if the specified filter is null
+     * @throws ConcurrentModificationException if the predicate modifies
+     *                                         this list structurally
+     */
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        final int expectedModCount = modCount;
+        int removed = 0;
+        try {
+            Node<E> x = first;
+            for (int i = 0, n = size; i < n; i++) {
+                final E e = x.item;
+                final boolean matched = filter.test(e);
+                if (modCount != expectedModCount)
+                    throw new ConcurrentModificationException();
+                if (!matched) {
+                    x = x.next;
+                    continue;
+                }
+                if (shared)
+                    x = unshare(x);
+                final Node<E> next = x.next;
+                final Node<E> prev = x.prev;
+                if (prev == null)
+                    first = next;
+                else
+                    prev.next = next;
+                if (next == null)
+                    last = prev;
+                else
+                    next.prev = prev;
+                x.item = null;
+                x.next = x.prev = null;
+                size--;
+                removed++;
+                if (membershipIndex != null)
+                    membershipIndex.unlinked(x, e);
+                if (freeCount < freeCapacity)
+                    recycle(x);
+                x = next;
+            }
+        } finally {
+            if (removed > 0) {
+                modCount++;
+                if (positionalIndex != null)
+                    positionalIndex.invalidate();
+            }
+        }
+        return removed > 0;
     }
 
+    /**
+     * Replaces each element of this list with the result of applying the
+     * operator to that element.  Errors or runtime exceptions thrown by
+     * the operator are relayed to the caller.
+     *
+     * @implNote This implementation writes the results straight into the
+     * nodes in one pass and counts the whole operation as one
+     * modification, as {@link ArrayList#replaceAll} does.
+     *
+     * @param operator the operator to apply to each element
+     * @throws NullPointerException            if the specified operator is
+     *                                         null
+     * @throws ConcurrentModificationException if the operator modifies this
+     *                                         list structurally
+     */
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+        final int expectedModCount = modCount;
+        Node<E> x = first;
+        for (int i = 0, n = size; i < n; i++, x = x.next) {
+            final E e = operator.apply(x.item);
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (shared)
+                x = unshare(x);
+            x.item = e;
+        }
+        modCount++;
+        if (membershipIndex != null)
+            membershipIndex.invalidate();
+    }
+
+    /**
+     * Performs the given action for each element of this list, in order,
+     * until all elements have been processed or the action throws an
+     * exception.
+     *
+     * @param action the action to be performed for each element
+     * @throws NullPointerException            if the specified action is null
+     * @throws ConcurrentModificationException if the action modifies this
+     *                                         list structurally
+     */
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        final int expectedModCount = modCount;
+        Node<E> x = first;
+        for (int i = 0, n = size; i < n && modCount == expectedModCount; i++) {
+            action.accept(x.item);
+            x = x.next;
+        }
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Performs the given action on consecutive batches of this list's
+     * elements, in order.  Each batch is copied into the given buffer, from
+     * index 0, and handed to the action together with its length, which is
+     * {@code buffer.length} for all but possibly the last batch.  The same
+     * buffer is reused for every batch and may be reused across calls, so
+     * traversal allocates nothing; the action must not keep it.  Elements
+     * stay referenced from the buffer until they are overwritten.
+     *
+     * <p>Batches let the action amortize a per-call cost, such as taking a
+     * lock or issuing an I/O call, over many elements.  For plain
+     * per-element work {@link #forEach} is at least as fast, since the
+     * action is inlined into its loop (in {@code BulkOperationBenchmark}
+     * summing 1024 elements takes 3.2 &micro;s through {@code forEach} and
+     * 3.9 &micro;s in batches of 256).
+     *
+     * @param buffer the array to copy each batch into
+     * @param action the action to be performed for each batch
+     * @throws NullPointerException            if the specified buffer or action
+     *                                         is null
+     * @throws IllegalArgumentException        if the buffer is empty
+     * @throws ConcurrentModificationException if the action modifies this
+     *                                         list structurally
+     */
+    public void forEachBatch(E[] buffer, ObjIntConsumer<? super E[]> action) {
+        Objects.requireNonNull(action);
+        final int capacity = buffer.length;
+        if (capacity == 0)
+            throw new IllegalArgumentException("Empty buffer");
+        final int expectedModCount = modCount;
+        Node<E> x = first;
+        for (int remaining = size; remaining > 0; ) {
+            final int n = Math.min(remaining, capacity);
+            for (int i = 0; i < n; i++) {
+                buffer[i] = x.item;
+                x = x.next;
+            }
+            action.accept(buffer, n);
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            remaining -= n;
+        }
+    }
+
+    // Bulk Transfer Operations
+
+    /**
+     * Moves all of the elements of the specified list to the end of this
+     * list, in order, leaving the specified list empty.  Unlike
+     * {@link #addAll(Collection)}, no element is copied or relinked: the
+     * other list's node chain is attached in constant time.
+     *
+     * @param other the list whose elements are to be moved to this list
+     * @throws NullPointerException     if the specified list is null
+     * @throws IllegalArgumentException if the specified list is this list
+     */
+    public void spliceLast(LinkedList<? extends E> other) {
+        final LinkedList<E> o = transferSource(other);
+        if (o.size == 0)
+            return;
+        final Node<E> l = last;
+        if (l == null) {
+            first = o.first;
+        } else {
+            l.next = o.first;
+            o.first.prev = l;
+        }
+        last = o.last;
+        size += o.size;
+        modCount++;
+        shared |= o.shared;
+        if (positionalIndex != null)
+            positionalIndex.invalidate();
+        if (membershipIndex != null)
+            membershipIndex.invalidate();
+        o.detachAll();
+    }
+
+    /**
+     * Moves all of the elements of the specified list to the beginning of
+     * this list, in order, leaving the specified list empty.  The other
+     * list's node chain is attached in constant time.
+     *
+     * @param other the list whose elements are to be moved to this list
+     * @throws NullPointerException     if the specified list is null
+     * @throws IllegalArgumentException if the specified list is this list
+     */
+    public void spliceFirst(LinkedList<? extends E> other) {
+        final LinkedList<E> o = transferSource(other);
+        if (o.size == 0)
+            return;
+        final Node<E> f = first;
+        if (f == null) {
+            last = o.last;
+        } else {
+            f.prev = o.last;
+            o.last.next = f;
+        }
+        first = o.first;
+        size += o.size;
+        modCount++;
+        shared |= o.shared;
+        if (positionalIndex != null)
+            positionalIndex.invalidate();
+        if (membershipIndex != null)
+            membershipIndex.invalidate();
+        o.detachAll();
+    }
+
+    /**
+     * Splits this list at the cursor of the specified list-iterator.  The
+     * elements that subsequent calls to {@code next} would have returned
+     * are moved, in order, to a new list, which is returned; this list
+     * keeps the elements before the cursor.  The node chain is detached in
+     * constant time.  The new list has the same positional index and node
+     * pool settings as this list.
+     *
+     * <p>The iterator stays valid and is left positioned at the end of this
+     * list; any other iterator over this list is invalidated.
+     *
+     * @param it a list-iterator obtained from this list
+     * @return a new list holding the elements at and after the cursor
+     * @throws IllegalArgumentException        if the iterator was not
+     *                                         obtained from this list
+     * @throws ConcurrentModificationException if this list was structurally
+     *                                         modified since the iterator
+     *                                         was last used
+     */
+    public LinkedList<E> splitAt(ListIterator<E> it) {
+        if (!(it instanceof LinkedList.ListItr))
+            throw new IllegalArgumentException("Iterator does not belong to this list");
+        final ListItr itr = (ListItr) it;
+        if (itr.owner() != this)
+            throw new IllegalArgumentException("Iterator does not belong to this list");
+        itr.checkForComodification();
+        itr.own();
+
+        final LinkedList<E> suffix = new LinkedList<>();
+        suffix.freeCapacity = freeCapacity;
+        if (positionalIndex != null)
+            suffix.positionalIndex = new PositionalIndex<>(suffix);
+        if (membershipIndex != null)
+            suffix.membershipIndex = new MembershipIndex<>(suffix);
+        if (metrics != null)
+            suffix.metrics = new LinkedListMetrics(suffix);
+        final Node<E> x = itr.next;
+        if (x != null) {
+            final Node<E> pred = x.prev;
+            suffix.first = x;
+            suffix.last = last;
+            suffix.size = size - itr.nextIndex;
+            x.prev = null;
+            last = pred;
+            if (pred == null)
+                first = null;
+            else
+                pred.next = null;
+            size = itr.nextIndex;
+            modCount++;
+            invalidateHandles();
+            if (positionalIndex != null)
+                positionalIndex.invalidate();
+            if (membershipIndex != null)
+                membershipIndex.invalidate();
+            itr.splitOff();
+        }
+        return suffix;
+    }
+
+    /**
+     * Checks that other may donate its nodes to this list.
+     */
+    @SuppressWarnings("unchecked")
+    private LinkedList<E> transferSource(LinkedList<? extends E> other) {
+        if (other == this)
+            throw new IllegalArgumentException("Cannot splice a list into itself");
+        // Safe: other is emptied, so its nodes are only ever seen as E here.
+        return (LinkedList<E>) Objects.requireNonNull(other);
+    }
+
+    /**
+     * Forgets all nodes after they have been handed to another list.
+     */
+    private void detachAll() {
+        first = last = null;
+        size = 0;
+        modCount++;
+        shared = false;
+        invalidateHandles();
+        if (positionalIndex != null)
+            positionalIndex.invalidate();
+        if (membershipIndex != null)
+            membershipIndex.invalidate();
+    }
 
     // Positional Access Operations
 
@@ -478,6 +1062,8 @@ public class LinkedList<E>
      */
     public E get(int index) {
         checkElementIndex(index);
+        if (metrics != null)
+            metrics.op(LinkedListMetrics.Op.GET);
         return node(index).item;
     }
 
@@ -492,9 +1078,15 @@ public class LinkedList<E>
      */
     public E set(int index, E element) {
         checkElementIndex(index);
+        if (metrics != null)
+            metrics.op(LinkedListMetrics.Op.SET);
         Node<E> x = node(index);
+        if (shared)
+            x = unshare(x);
         E oldVal = x.item;
         x.item = element;
+        if (membershipIndex != null)
+            membershipIndex.replaced(x, oldVal);
         return oldVal;
     }
 
@@ -509,11 +1101,13 @@ public class LinkedList<E>
      */
     public void add(int index, E element) {
         checkPositionIndex(index);
+        if (metrics != null)
+            metrics.op(LinkedListMetrics.Op.ADD_AT);
 
         if (index == size)
             linkLast(element);
         else
-            linkBefore(element, node(index));
+            linkBefore(element, node(index), index);
     }
 
     /**
@@ -527,7 +1121,9 @@ public class LinkedList<E>
      */
     public E remove(int index) {
         checkElementIndex(index);
-        return unlink(node(index));
+        if (metrics != null)
+            metrics.op(LinkedListMetrics.Op.REMOVE_AT);
+        return unlink(node(index), index);
     }
 
     /**
@@ -570,6 +1166,15 @@ public class LinkedList<E>
     Node<E> node(int index) {
         // assert isElementIndex(index);
 
+        final LinkedListMetrics m = metrics;
+        final PositionalIndex<E> pi = positionalIndex;
+        if (pi != null && size >= POSITIONAL_INDEX_MIN_SIZE) {
+            if (m != null)
+                m.positionalWalk(0);
+            return pi.node(index);
+        }
+        if (m != null)
+            m.positionalWalk(Math.min(index, size - 1 - index));
         if (index < (size >> 1)) {
             Node<E> x = first;
             for (int i = 0; i < index; i++)
@@ -583,6 +1188,180 @@ public class LinkedList<E>
         }
     }
 
+    /**
+     * Smallest size at which node(int) consults the positional index;
+     * shorter lists are faster to walk.
+     */
+    private static final int POSITIONAL_INDEX_MIN_SIZE = 32;
+
+    /**
+     * Enables or disables the skip-list positional index.  While enabled,
+     * {@code get}, {@code set}, {@code add(int, E)}, {@code remove(int)} and
+     * {@code listIterator(int)} locate their node in {@code O(log n)}
+     * expected time instead of walking up to {@code size / 2} links, at the
+     * cost of {@code O(log n)} expected maintenance on every insertion and
+     * removal and about one index entry per three elements.  Bulk
+     * operations such as {@code addAll} and {@code clear} mark the index
+     * stale; it is rebuilt in one pass on the next positional access.
+     *
+     * <p>The index pays off for random positional access on lists of more
+     * than a few dozen elements, where walking costs grow linearly while
+     * indexed lookups stay logarithmic, so shorter lists keep walking
+     * links.  It only slows down pure deque
+     * workloads.  The setting is not serialized.
+     *
+     * @param enabled whether positional access should use the index
+     */
+    public void setPositionalIndexEnabled(boolean enabled) {
+        if (!enabled)
+            positionalIndex = null;
+        else if (positionalIndex == null)
+            positionalIndex = new PositionalIndex<>(this);
+    }
+
+    /**
+     * Returns whether the skip-list positional index is enabled.
+     *
+     * @return {@code true} if positional access uses the index
+     * @see #setPositionalIndexEnabled(boolean)
+     */
+    public boolean isPositionalIndexEnabled() {
+        return positionalIndex != null;
+    }
+
+    /**
+     * Sets the capacity of this list's node pool.  While the capacity is
+     * positive, nodes released by removals are kept on a free list of at
+     * most {@code capacity} nodes and reused by later insertions, so a list
+     * used as a queue with steady {@code addLast}/{@code pollFirst} churn
+     * stops allocating once the pool has warmed up.  A capacity of zero,
+     * the default, disables pooling and releases all pooled nodes.
+     *
+     * <p>Without pooling every {@code addLast}/{@code pollFirst} cycle
+     * allocates a node and keeps the young generation collecting; with a
+     * pool of a few dozen nodes it allocates nothing, at the price of a few
+     * extra writes per cycle into recycled, possibly old-generation nodes
+     * (see {@code NodePoolBenchmark}).  Pooling therefore pays off
+     * when collection pauses or promotion dominate, not for raw
+     * single-threaded throughput.  Pooled nodes stay reachable from the
+     * list, so the pool retains up to {@code capacity} nodes; lists that
+     * only grow gain nothing.  Fail-fast iterators are unaffected, since a node can only
+     * be reused after a structural modification.  The setting is not
+     * serialized.
+     *
+     * @param capacity maximum number of pooled nodes, or zero to disable
+     *                 pooling
+     * @throws IllegalArgumentException if {@code capacity} is negative
+     */
+    public void setNodePoolCapacity(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+        freeCapacity = capacity;
+        while (freeCount > capacity) {
+            final Node<E> x = freeNodes;
+            freeNodes = x.next;
+            x.next = null;
+            freeCount--;
+        }
+    }
+
+    /**
+     * Returns the capacity of this list's node pool.
+     *
+     * @return maximum number of pooled nodes, or zero if pooling is disabled
+     * @see #setNodePoolCapacity(int)
+     */
+    public int getNodePoolCapacity() {
+        return freeCapacity;
+    }
+
+    /**
+     * Enables or disables the hash membership index.  While enabled,
+     * {@code contains}, {@code remove(Object)},
+     * {@code removeFirstOccurrence} and {@code removeLastOccurrence} find
+     * their node through a {@code HashMap} from elements to nodes in
+     * {@code O(1)} expected time, and {@code indexOf} and
+     * {@code lastIndexOf} return -1 for absent elements without scanning.
+     * The index is built lazily on the first such call and kept in sync by
+     * every insertion, removal and replacement, including those made
+     * through list-iterators; bulk transfers mark it stale.
+     *
+     * <p>The index costs roughly one {@code HashMap} entry (32 to 48 bytes)
+     * per distinct element plus a {@code HashMap} update on every
+     * insertion and removal.  Elements must have {@code hashCode} methods
+     * consistent with {@code equals} and must not change their hash code
+     * while in the list.  Removing by value does not know the element's
+     * position, so it marks an enabled positional index stale.  The
+     * setting is not serialized.
+     *
+     * @param enabled whether membership queries should use the index
+     */
+    public void setMembershipIndexEnabled(boolean enabled) {
+        if (!enabled)
+            membershipIndex = null;
+        else if (membershipIndex == null)
+            membershipIndex = new MembershipIndex<>(this);
+    }
+
+    /**
+     * Returns whether the hash membership index is enabled.
+     *
+     * @return {@code true} if membership queries use the index
+     * @see #setMembershipIndexEnabled(boolean)
+     */
+    public boolean isMembershipIndexEnabled() {
+        return membershipIndex != null;
+    }
+
+    /**
+     * Enables or disables operation metrics.  While enabled, this list
+     * counts its deque, positional and search operations and records how
+     * many links each positional lookup and each search by value walked,
+     * in a {@link LinkedListMetrics} returned by {@link #getMetrics()}.
+     * Enabling metrics that are already enabled keeps their counts.
+     *
+     * <p>While disabled, the default, every instrumented operation pays
+     * one check of a field it already has in cache; while enabled, it pays
+     * one or two array increments.  Clones and lists split off by
+     * {@link #splitAt(ListIterator)} start with fresh metrics if this list
+     * has them.  The setting is not serialized.
+     *
+     * @param enabled whether operations should be counted
+     */
+    public void setMetricsEnabled(boolean enabled) {
+        if (!enabled)
+            metrics = null;
+        else if (metrics == null)
+            metrics = new LinkedListMetrics(this);
+    }
+
+    /**
+     * Returns whether operation metrics are enabled.
+     *
+     * @return {@code true} if operations are counted
+     * @see #setMetricsEnabled(boolean)
+     */
+    public boolean isMetricsEnabled() {
+        return metrics != null;
+    }
+
+    /**
+     * Returns this list's operation metrics.
+     *
+     * @return the metrics, or {@code null} if metrics are disabled
+     * @see #setMetricsEnabled(boolean)
+     */
+    public LinkedListMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the number of structural modifications made so far.
+     */
+    int modCount() {
+        return modCount;
+    }
+
     // Search Operations
 
     /**
@@ -597,21 +1376,28 @@ public class LinkedList<E>
      * this list, or -1 if this list does not contain the element
      */
     public int indexOf(Object o) {
+        if (membershipIndex != null && !membershipIndex.contains(o)) {
+            if (metrics != null)
+                metrics.searchWalk(LinkedListMetrics.Op.INDEX_OF, 0);
+            return -1;
+        }
         int index = 0;
         if (o == null) {
             for (Node<E> x = first; x != null; x = x.next) {
                 if (x.item == null)
-                    return index;
+                    break;
                 index++;
             }
         } else {
             for (Node<E> x = first; x != null; x = x.next) {
                 if (o.equals(x.item))
-                    return index;
+                    break;
                 index++;
             }
         }
-        return -1;
+        if (metrics != null)
+            metrics.searchWalk(LinkedListMetrics.Op.INDEX_OF, index);
+        return (index < size) ? index : -1;
     }
 
     /**
@@ -626,20 +1412,33 @@ public class LinkedList<E>
      * this list, or -1 if this list does not contain the element
      */
     public int lastIndexOf(Object o) {
+        if (membershipIndex != null && !membershipIndex.contains(o)) {
+            if (metrics != null)
+                metrics.searchWalk(LinkedListMetrics.Op.LAST_INDEX_OF, 0);
+            return -1;
+        }
         int index = size;
         if (o == null) {
             for (Node<E> x = last; x != null; x = x.prev) {
                 index--;
-                if (x.item == null)
+                if (x.item == null) {
+                    if (metrics != null)
+                        metrics.searchWalk(LinkedListMetrics.Op.LAST_INDEX_OF, size - 1 - index);
                     return index;
+                }
             }
         } else {
             for (Node<E> x = last; x != null; x = x.prev) {
                 index--;
-                if (o.equals(x.item))
+                if (o.equals(x.item)) {
+                    if (metrics != null)
+                        metrics.searchWalk(LinkedListMetrics.Op.LAST_INDEX_OF, size - 1 - index);
                     return index;
+                }
             }
         }
+        if (metrics != null)
+            metrics.searchWalk(LinkedListMetrics.Op.LAST_INDEX_OF, size);
         return -1;
     }
 
@@ -829,21 +1628,39 @@ public class LinkedList<E>
      * @since 1.6
      */
     public boolean removeLastOccurrence(Object o) {
+        if (membershipIndex != null) {
+            if (metrics != null)
+                metrics.searchWalk(LinkedListMetrics.Op.REMOVE_LAST_OCCURRENCE, 0);
+            final Node<E> x = membershipIndex.last(o);
+            if (x == null)
+                return false;
+            unlink(x, -1);
+            return true;
+        }
+        int index = size;
         if (o == null) {
             for (Node<E> x = last; x != null; x = x.prev) {
+                index--;
                 if (x.item == null) {
-                    unlink(x);
+                    if (metrics != null)
+                        metrics.searchWalk(LinkedListMetrics.Op.REMOVE_LAST_OCCURRENCE, size - 1 - index);
+                    unlink(x, index);
                     return true;
                 }
             }
         } else {
             for (Node<E> x = last; x != null; x = x.prev) {
+                index--;
                 if (o.equals(x.item)) {
-                    unlink(x);
+                    if (metrics != null)
+                        metrics.searchWalk(LinkedListMetrics.Op.REMOVE_LAST_OCCURRENCE, size - 1 - index);
+                    unlink(x, index);
                     return true;
                 }
             }
         }
+        if (metrics != null)
+            metrics.searchWalk(LinkedListMetrics.Op.REMOVE_LAST_OCCURRENCE, size);
         return false;
     }
 
@@ -870,9 +1687,393 @@ public class LinkedList<E>
      */
     public ListIterator<E> listIterator(int index) {
         checkPositionIndex(index);
+        if (metrics != null)
+            metrics.op(LinkedListMetrics.Op.LIST_ITERATOR);
         return new ListItr(index);
     }
 
+    // Handle Operations
+
+    /**
+     * Returns a handle to the first element of this list.
+     *
+     * @return a handle to the first element, or {@code null} if this list
+     * is empty
+     * @see Handle
+     */
+    public Handle<E> firstHandle() {
+        return (first == null) ? null : handle(first);
+    }
+
+    /**
+     * Returns a handle to the last element of this list.
+     *
+     * @return a handle to the last element, or {@code null} if this list
+     * is empty
+     * @see Handle
+     */
+    public Handle<E> lastHandle() {
+        return (last == null) ? null : handle(last);
+    }
+
+    /**
+     * Inserts the specified element at the beginning of this list and
+     * returns a handle to it.
+     *
+     * @param e the element to add
+     * @return a handle to the added element
+     * @see Handle
+     */
+    public Handle<E> insertFirst(E e) {
+        linkFirst(e);
+        return handle(first);
+    }
+
+    /**
+     * Appends the specified element to the end of this list and returns a
+     * handle to it.
+     *
+     * @param e the element to add
+     * @return a handle to the added element
+     * @see Handle
+     */
+    public Handle<E> insertLast(E e) {
+        linkLast(e);
+        return handle(last);
+    }
+
+    /**
+     * Inserts the specified element immediately before the element of the
+     * given handle, in constant time, and returns a handle to it.
+     *
+     * @param h a handle to an element of this list
+     * @param e the element to insert
+     * @return a handle to the inserted element
+     * @throws IllegalArgumentException if the handle does not belong to
+     *                                  this list
+     * @throws IllegalStateException    if the handle is no longer valid
+     * @see Handle
+     */
+    public Handle<E> insertBefore(Handle<E> h, E e) {
+        final Node<E> x = owned(h);
+        linkBefore(e, x, (x == first) ? 0 : -1);
+        return handle(x.prev);
+    }
+
+    /**
+     * Inserts the specified element immediately after the element of the
+     * given handle, in constant time, and returns a handle to it.
+     *
+     * @param h a handle to an element of this list
+     * @param e the element to insert
+     * @return a handle to the inserted element
+     * @throws IllegalArgumentException if the handle does not belong to
+     *                                  this list
+     * @throws IllegalStateException    if the handle is no longer valid
+     * @see Handle
+     */
+    public Handle<E> insertAfter(Handle<E> h, E e) {
+        final Node<E> x = owned(h);
+        if (x.next == null)
+            linkLast(e);
+        else
+            linkBefore(e, x.next, -1);
+        return handle(x.next);
+    }
+
+    /**
+     * Removes the element of the given handle from this list, in constant
+     * time.  The handle is no longer valid afterwards.  (The method is not
+     * an overload of {@code remove}, which would capture
+     * {@code remove(null)}.)
+     *
+     * @param h a handle to an element of this list
+     * @return the removed element
+     * @throws IllegalArgumentException if the handle does not belong to
+     *                                  this list
+     * @throws IllegalStateException    if the handle is no longer valid
+     * @see Handle
+     */
+    public E removeAt(Handle<E> h) {
+        final Node<E> x = node(h);
+        if (x.prev == null)
+            return unlinkFirst(x);
+        if (x.next == null)
+            return unlinkLast(x);
+        return unlink(x, -1);
+    }
+
+    /**
+     * Moves the element of the given handle to the beginning of this list,
+     * in constant time and without allocating, and returns a handle to it.
+     * The returned handle is {@code h} itself unless moving had to copy
+     * nodes shared with a {@linkplain #snapshot() snapshot}.
+     *
+     * @param h a handle to an element of this list
+     * @return a handle to the moved element
+     * @throws IllegalArgumentException if the handle does not belong to
+     *                                  this list
+     * @throws IllegalStateException    if the handle is no longer valid
+     * @see Handle
+     */
+    public Handle<E> moveToFirst(Handle<E> h) {
+        Node<E> x = node(h);
+        if (x == first)
+            return h;
+        if (shared)
+            x = unshare(x);
+        final Node<E> prev = x.prev;
+        final Node<E> next = x.next;
+        prev.next = next;
+        if (next == null)
+            last = prev;
+        else
+            next.prev = prev;
+        x.prev = null;
+        x.next = first;
+        first.prev = x;
+        first = x;
+        moved(x);
+        return (h.epoch == handleEpoch) ? h : handle(x);
+    }
+
+    /**
+     * Moves the element of the given handle to the end of this list, in
+     * constant time and without allocating, and returns a handle to it.
+     * The returned handle is {@code h} itself unless moving had to copy
+     * nodes shared with a {@linkplain #snapshot() snapshot}.
+     *
+     * @param h a handle to an element of this list
+     * @return a handle to the moved element
+     * @throws IllegalArgumentException if the handle does not belong to
+     *                                  this list
+     * @throws IllegalStateException    if the handle is no longer valid
+     * @see Handle
+     */
+    public Handle<E> moveToLast(Handle<E> h) {
+        Node<E> x = node(h);
+        if (x == last)
+            return h;
+        if (shared)
+            x = unshare(x);
+        final Node<E> prev = x.prev;
+        final Node<E> next = x.next;
+        next.prev = prev;
+        if (prev == null)
+            first = next;
+        else
+            prev.next = next;
+        x.next = null;
+        x.prev = last;
+        last.next = x;
+        last = x;
+        moved(x);
+        return (h.epoch == handleEpoch) ? h : handle(x);
+    }
+
+    /**
+     * Returns an iterator over the elements of this list from the element
+     * of the given handle (returned by the first call to {@code next}) to
+     * the end, in constant time.  The iterator is fail-fast like those of
+     * {@link #listIterator(int)} and supports {@code remove}.
+     *
+     * @param h a handle to an element of this list
+     * @return an iterator starting at the element of the handle
+     * @throws IllegalArgumentException if the handle does not belong to
+     *                                  this list
+     * @throws IllegalStateException    if the handle is no longer valid
+     * @see Handle
+     */
+    public Iterator<E> iteratorFrom(Handle<E> h) {
+        return new HandleItr(node(h));
+    }
+
+    /**
+     * Returns a new handle to linked node x.
+     */
+    private Handle<E> handle(Node<E> x) {
+        handlesIssued = true;
+        return new Handle<>(this, x, handleEpoch);
+    }
+
+    /**
+     * Returns the node of handle h, checking that it is still linked in
+     * this list.
+     */
+    private Node<E> node(Handle<E> h) {
+        if (h.list != this)
+            throw new IllegalArgumentException("Handle does not belong to this list");
+        if (!h.isValid())
+            throw new IllegalStateException("Handle is no longer valid");
+        return h.node;
+    }
+
+    /**
+     * Returns the node of handle h in a chain this list may modify.
+     */
+    private Node<E> owned(Handle<E> h) {
+        final Node<E> x = node(h);
+        return shared ? unshare(x) : x;
+    }
+
+    /**
+     * Reports the relinking of node x at either end to the indexes.
+     */
+    private void moved(Node<E> x) {
+        modCount++;
+        if (positionalIndex != null)
+            positionalIndex.invalidate();
+        if (membershipIndex != null)
+            membershipIndex.replaced(x, x.item);
+    }
+
+    /**
+     * Invalidates all handles issued so far.
+     */
+    private void invalidateHandles() {
+        if (handlesIssued) {
+            handleEpoch++;
+            handlesIssued = false;
+        }
+    }
+
+    /**
+     * A reference to one element of a {@link LinkedList} that stays valid
+     * while the list is modified elsewhere, so that the element can be
+     * reached again, removed, moved to either end, or used as the point of
+     * an insertion or of an iteration in constant time, without walking
+     * the list from one end.  Handles are returned by
+     * {@link LinkedList#firstHandle()}, {@link LinkedList#lastHandle()},
+     * {@link LinkedList#insertFirst(Object)},
+     * {@link LinkedList#insertLast(Object)} and the other handle
+     * operations; an LRU cache, for instance, keeps a handle per entry and
+     * calls {@link LinkedList#moveToFirst(Handle)} on every hit instead
+     * of searching the list with {@code remove(Object)} and calling
+     * {@code addFirst}.
+     *
+     * <p>A handle stays valid until its element is removed from the list,
+     * in any way.  Clearing the list, splitting it with
+     * {@link LinkedList#splitAt(ListIterator)}, splicing its nodes into
+     * another list, and the first modification that copies nodes shared
+     * with a {@linkplain LinkedList#snapshot() snapshot} invalidate every
+     * handle to the list.  Operations on an invalid handle throw
+     * {@code IllegalStateException}.  A handle refers to a place in the
+     * list rather than to a value, so replacing its element, with
+     * {@code set} or by sorting, changes what {@link Handle#get()}
+     * returns.  While valid handles may exist, removed nodes are not
+     * returned to the {@linkplain LinkedList#setNodePoolCapacity(int) node
+     * pool}, since reusing them would revive stale handles; pooling
+     * resumes once all handles have been invalidated.
+     *
+     * <p>Handles are not serializable, and, like the list, not
+     * thread-safe.
+     *
+     * @param <E> the type of elements held in the list
+     */
+    public static final class Handle<E> {
+        private final LinkedList<E> list;
+        private final Node<E> node;
+        private final int epoch;
+
+        Handle(LinkedList<E> list, Node<E> node, int epoch) {
+            this.list = list;
+            this.node = node;
+            this.epoch = epoch;
+        }
+
+        /**
+         * Returns whether this handle still refers to an element of its
+         * list.
+         *
+         * @return {@code true} if this handle is valid
+         */
+        public boolean isValid() {
+            // Unlinking clears prev, so only the first node may lack it.
+            return epoch == list.handleEpoch
+                && (node.prev != null || node == list.first);
+        }
+
+        /**
+         * Returns the element this handle refers to.
+         *
+         * @return the element
+         * @throws IllegalStateException if this handle is no longer valid
+         */
+        public E get() {
+            if (!isValid())
+                throw new IllegalStateException("Handle is no longer valid");
+            return node.item;
+        }
+
+        /**
+         * Returns the list this handle belongs to.
+         *
+         * @return the list
+         */
+        public LinkedList<E> list() {
+            return list;
+        }
+    }
+
+    /**
+     * Forward iterator starting at a node, without position bookkeeping.
+     */
+    private class HandleItr implements Iterator<E> {
+        private Node<E> lastReturned;
+        private Node<E> next;
+        private int expectedModCount = modCount;
+
+        HandleItr(Node<E> start) {
+            next = start;
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public E next() {
+            checkForComodification();
+            if (next == null)
+                throw new NoSuchElementException();
+            lastReturned = next;
+            next = next.next;
+            return lastReturned.item;
+        }
+
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            if (shared) {
+                next = unshare(next);
+                lastReturned = (next == null) ? last : next.prev;
+            }
+            if (lastReturned.prev == null)
+                unlinkFirst(lastReturned);
+            else if (lastReturned.next == null)
+                unlinkLast(lastReturned);
+            else
+                unlink(lastReturned, -1);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            while (modCount == expectedModCount && next != null) {
+                action.accept(next.item);
+                lastReturned = next;
+                next = next.next;
+            }
+            checkForComodification();
+        }
+
+        final void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
     private class ListItr implements ListIterator<E> {
         private Node<E> lastReturned;
         private Node<E> next;
@@ -926,13 +2127,16 @@ public class LinkedList<E>
             checkForComodification();
             if (lastReturned == null)
                 throw new IllegalStateException();
+            own();
 
             Node<E> lastNext = lastReturned.next;
-            unlink(lastReturned);
-            if (next == lastReturned)
+            if (next == lastReturned) {
+                unlink(lastReturned, nextIndex);
                 next = lastNext;
-            else
+            } else {
+                unlink(lastReturned, nextIndex - 1);
                 nextIndex--;
+            }
             lastReturned = null;
             expectedModCount++;
         }
@@ -941,16 +2145,21 @@ public class LinkedList<E>
             if (lastReturned == null)
                 throw new IllegalStateException();
             checkForComodification();
+            own();
+            final E oldVal = lastReturned.item;
             lastReturned.item = e;
+            if (membershipIndex != null)
+                membershipIndex.replaced(lastReturned, oldVal);
         }
 
         public void add(E e) {
             checkForComodification();
+            own();
             lastReturned = null;
             if (next == null)
                 linkLast(e);
             else
-                linkBefore(e, next);
+                linkBefore(e, next, nextIndex);
             nextIndex++;
             expectedModCount++;
         }
@@ -970,9 +2179,38 @@ public class LinkedList<E>
             if (modCount != expectedModCount)
                 throw new ConcurrentModificationException();
         }
+
+        final LinkedList<E> owner() {
+            return LinkedList.this;
+        }
+
+        /**
+         * Moves this iterator onto a private copy of the node chain before
+         * it modifies a chain shared with snapshots.
+         */
+        final void own() {
+            if (shared) {
+                final Node<E> lastRet = lastReturned;
+                final Node<E> oldNext = next;
+                next = unshare(oldNext);
+                if (lastRet != null)
+                    lastReturned = (lastRet == oldNext) ? next
+                        : (next == null) ? last : next.prev;
+            }
+        }
+
+        /**
+         * Repositions this iterator at the end of the list after the nodes
+         * from its cursor on have been split off.
+         */
+        final void splitOff() {
+            next = null;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
     }
 
-    private static class Node<E> {
+    static class Node<E> {
         E item;
         Node<E> next;
         Node<E> prev;
@@ -1010,6 +2248,38 @@ public class LinkedList<E>
         }
     }
 
+    /**
+     * Returns an immutable view of the current contents of this list, in
+     * constant time.  The snapshot shares this list's nodes instead of
+     * copying them; later changes to this list are never visible through
+     * it.  Adding elements at either end of this list leaves the shared
+     * nodes untouched, while the first other modification (removal,
+     * insertion in the interior, {@code set}, sorting, and so on) copies
+     * the list's nodes once, in {@code O(n)}, so that the snapshots taken
+     * before it keep the old ones.  Snapshots taken between two such
+     * modifications share one copy.
+     *
+     * <p>Where {@link #clone()} copies every node on every call, a reader
+     * that needs a stable view while a writer continues can take a
+     * snapshot per read and the writer pays at most one copy per snapshot
+     * it actually disturbs.  The snapshot may be iterated by any number of
+     * threads without synchronization, even while this list is modified;
+     * taking it is a read of this list and needs whatever synchronization
+     * guards other reads.  A snapshot keeps its nodes, and so its elements,
+     * reachable for as long as it is.  Iterators open on this list when it
+     * is copied keep traversing the old nodes, so they do not observe a
+     * later {@code set} made through another iterator or through this list.
+     *
+     * @return an unmodifiable list of the elements currently in this list,
+     * in proper sequence
+     */
+    public List<E> snapshot() {
+        if (size == 0)
+            return Collections.emptyList();
+        shared = true;
+        return new LinkedListSnapshot<>(first, last, size);
+    }
+
     @SuppressWarnings("unchecked")
     private LinkedList<E> superClone() {
         try {
@@ -1032,10 +2302,20 @@ public class LinkedList<E>
         clone.first = clone.last = null;
         clone.size = 0;
         clone.modCount = 0;
+        if (positionalIndex != null)
+            clone.positionalIndex = new PositionalIndex<>(clone);
+        if (membershipIndex != null)
+            clone.membershipIndex = new MembershipIndex<>(clone);
+        clone.freeNodes = null;
+        clone.freeCount = 0;
+        clone.shared = false;
+        clone.metrics = null;
 
         // Initialize clone with our elements
         for (Node<E> x = first; x != null; x = x.next)
             clone.add(x.item);
+        if (metrics != null)
+            clone.metrics = new LinkedListMetrics(clone);
 
         return clone;
     }
@@ -1055,10 +2335,11 @@ public class LinkedList<E>
      * in proper sequence
      */
     public Object[] toArray() {
+        final int size = this.size;
         Object[] result = new Object[size];
-        int i = 0;
-        for (Node<E> x = first; x != null; x = x.next)
-            result[i++] = x.item;
+        Node<E> x = first;
+        for (int i = 0; i < size; i++, x = x.next)
+            result[i] = x.item;
         return result;
     }
 
@@ -1103,12 +2384,11 @@ public class LinkedList<E>
     @SuppressWarnings("unchecked")
     public <T> T[] toArray(T[] a) {
         if (a.length < size)
-            a = (T[]) java.lang.reflect.Array.newInstance(
-                    a.getClass().getComponentType(), size);
-        int i = 0;
+            a = Arrays.copyOf(a, size); // intrinsic, unlike Array.newInstance
         Object[] result = a;
-        for (Node<E> x = first; x != null; x = x.next)
-            result[i++] = x.item;
+        Node<E> x = first;
+        for (int i = 0; i < size; i++, x = x.next)
+            result[i] = x.item;
 
         if (a.length > size)
             a[size] = null;
@@ -1171,7 +2451,9 @@ public class LinkedList<E>
      *
      * @return a {@code Spliterator} over the elements in this list
      * @implNote The {@code Spliterator} additionally reports {@link Spliterator#SUBSIZED}
-     * and implements {@code trySplit} to permit limited parallelism..
+     * and implements {@code trySplit} by handing out the first half of its
+     * node range without copying elements, so parallel streams split into
+     * balanced subtasks.
      * @since 1.8
      */
     @Override
@@ -1180,16 +2462,20 @@ public class LinkedList<E>
     }
 
     /**
-     * A customized variant of Spliterators.IteratorSpliterator
+     * A customized variant of Spliterators.IteratorSpliterator that covers
+     * a range of {@code est} consecutive nodes starting at {@code current},
+     * the node at list position {@code index}.  Splitting locates the node
+     * halfway through the range and hands out the first half as a new
+     * spliterator sharing the nodes, so splits are balanced and copy
+     * nothing.  The midpoint is found through the positional index when
+     * the list has one, and otherwise by walking half the range.
      */
     static final class LLSpliterator<E> implements Spliterator<E> {
-        static final int BATCH_UNIT = 1 << 10;  // batch array size increment
-        static final int MAX_BATCH = 1 << 25;  // max batch array size;
         final LinkedList<E> list; // null OK unless traversed
         Node<E> current;      // current node; null until initialized
-        int est;              // size estimate; -1 until first needed
+        int index;            // list position of current
+        int est;              // exact remaining size; -1 until first needed
         int expectedModCount; // initialized when est set
-        int batch;            // batch size for splits
 
         LLSpliterator(LinkedList<E> list, int est, int expectedModCount) {
             this.list = list;
@@ -1197,6 +2483,15 @@ public class LinkedList<E>
             this.expectedModCount = expectedModCount;
         }
 
+        private LLSpliterator(LinkedList<E> list, Node<E> current, int index,
+                              int est, int expectedModCount) {
+            this.list = list;
+            this.current = current;
+            this.index = index;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
         final int getEst() {
             int s; // force initialization
             final LinkedList<E> lst;
@@ -1206,7 +2501,13 @@ public class LinkedList<E>
                 else {
                     expectedModCount = lst.modCount;
                     current = lst.first;
+                    index = 0;
                     s = est = lst.size;
+                    // Bring the index up to date while still confined to
+                    // the binding thread; splits only read it.
+                    final PositionalIndex<E> pi = lst.positionalIndex;
+                    if (pi != null && s >= POSITIONAL_INDEX_MIN_SIZE)
+                        pi.validate();
                 }
             }
             return s;
@@ -1220,24 +2521,32 @@ public class LinkedList<E>
             Node<E> p;
             int s = getEst();
             if (s > 1 && (p = current) != null) {
-                int n = batch + BATCH_UNIT;
-                if (n > s)
-                    n = s;
-                if (n > MAX_BATCH)
-                    n = MAX_BATCH;
-                Object[] a = new Object[n];
-                int j = 0;
-                do {
-                    a[j++] = p.item;
-                } while ((p = p.next) != null && j < n);
-                current = p;
-                batch = j;
-                est = s - j;
-                return Spliterators.spliterator(a, 0, j, Spliterator.ORDERED);
+                int half = s >>> 1;
+                Spliterator<E> prefix =
+                    new LLSpliterator<>(list, p, index, half, expectedModCount);
+                current = midpoint(p, half);
+                index += half;
+                est = s - half;
+                return prefix;
             }
             return null;
         }
 
+        /**
+         * Returns the node half links after p, or null if the list was
+         * structurally modified under us and ran out of nodes.
+         */
+        private Node<E> midpoint(Node<E> p, int half) {
+            final LinkedList<E> lst = list;
+            final PositionalIndex<E> pi = lst.positionalIndex;
+            if (pi != null && lst.size >= POSITIONAL_INDEX_MIN_SIZE
+                && lst.modCount == expectedModCount)
+                return pi.node(index + half);
+            for (; half > 0 && p != null; half--)
+                p = p.next;
+            return p;
+        }
+
         public void forEachRemaining(Consumer<? super E> action) {
             Node<E> p;
             int n;
@@ -1260,6 +2569,7 @@ public class LinkedList<E>
             if (action == null) throw new NullPointerException();
             if (getEst() > 0 && (p = current) != null) {
                 --est;
+                ++index;
                 E e = p.item;
                 current = p.next;
                 action.accept(e);
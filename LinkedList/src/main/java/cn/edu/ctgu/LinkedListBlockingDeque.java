@@ -0,0 +1,799 @@
+package cn.edu.ctgu;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Optionally-bounded {@link BlockingDeque} backed by a {@link LinkedList}
+ * and guarded by a single lock, for handing work between threads without
+ * spin-polling.
+ *
+ * <p>The capacity bound, fixed at construction, gives producers
+ * backpressure: {@code put} methods wait while the deque is full, and
+ * {@code take} methods wait while it is empty.  Timed variants give up
+ * after the specified wait.  {@link #drainTo(Collection, int)} transfers a
+ * whole batch under one lock acquisition and wakes all waiting producers
+ * once; when the target is a {@link LinkedList}, the batch is moved by
+ * splitting and splicing node chains instead of element by element.
+ *
+ * <p>Like other blocking queues, this class does not permit {@code null}
+ * elements, since {@code null} is returned by {@code poll} to indicate an
+ * empty deque.
+ *
+ * <p>The iterators returned by {@link #iterator()} and
+ * {@link #descendingIterator()} traverse a snapshot of the elements taken
+ * under the lock, and never throw
+ * {@link java.util.ConcurrentModificationException}.  Their {@code remove}
+ * method removes the returned element (by identity) if it is still present.
+ *
+ * @param <E> the type of elements held in this deque
+ * @see LinkedList
+ * @see java.util.concurrent.LinkedBlockingDeque
+ */
+public class LinkedListBlockingDeque<E> extends AbstractQueue<E>
+        implements BlockingDeque<E>, java.io.Serializable {
+
+    private static final long serialVersionUID = -3853615604815302218L;
+
+    /**
+     * The elements; replaced (not just modified) by partial drains into a
+     * LinkedList.
+     */
+    private LinkedList<E> items = new LinkedList<>();
+
+    /**
+     * Maximum number of elements.
+     */
+    private final int capacity;
+
+    /**
+     * Main lock guarding all access.
+     */
+    final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Condition for waiting takes.
+     */
+    private final Condition notEmpty = lock.newCondition();
+
+    /**
+     * Condition for waiting puts.
+     */
+    private final Condition notFull = lock.newCondition();
+
+    /**
+     * Creates a deque with a capacity of {@link Integer#MAX_VALUE}.
+     */
+    public LinkedListBlockingDeque() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a deque with the given (fixed) capacity.
+     *
+     * @param capacity the capacity of this deque
+     * @throws IllegalArgumentException if {@code capacity} is less than 1
+     */
+    public LinkedListBlockingDeque(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Illegal Capacity: " + capacity);
+        this.capacity = capacity;
+    }
+
+    // Basic linking and unlinking operations, called only while holding lock
+
+    /**
+     * Links e as first element, or returns false if full.
+     */
+    private boolean linkFirst(E e) {
+        final LinkedList<E> q = items;
+        if (q.size >= capacity)
+            return false;
+        q.addFirst(e);
+        notEmpty.signal();
+        return true;
+    }
+
+    /**
+     * Links e as last element, or returns false if full.
+     */
+    private boolean linkLast(E e) {
+        final LinkedList<E> q = items;
+        if (q.size >= capacity)
+            return false;
+        q.addLast(e);
+        notEmpty.signal();
+        return true;
+    }
+
+    /**
+     * Removes and returns first element, or null if empty.
+     */
+    private E unlinkFirst() {
+        final E e = items.pollFirst();
+        if (e != null)
+            notFull.signal();
+        return e;
+    }
+
+    /**
+     * Removes and returns last element, or null if empty.
+     */
+    private E unlinkLast() {
+        final E e = items.pollLast();
+        if (e != null)
+            notFull.signal();
+        return e;
+    }
+
+    // BlockingDeque methods
+
+    /**
+     * @throws IllegalStateException if this deque is full
+     * @throws NullPointerException  {@inheritDoc}
+     */
+    public void addFirst(E e) {
+        if (!offerFirst(e))
+            throw new IllegalStateException("Deque full");
+    }
+
+    /**
+     * @throws IllegalStateException if this deque is full
+     * @throws NullPointerException  {@inheritDoc}
+     */
+    public void addLast(E e) {
+        if (!offerLast(e))
+            throw new IllegalStateException("Deque full");
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public boolean offerFirst(E e) {
+        Objects.requireNonNull(e);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return linkFirst(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public boolean offerLast(E e) {
+        Objects.requireNonNull(e);
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return linkLast(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     * @throws InterruptedException {@inheritDoc}
+     */
+    public void putFirst(E e) throws InterruptedException {
+        Objects.requireNonNull(e);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (!linkFirst(e))
+                notFull.await();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     * @throws InterruptedException {@inheritDoc}
+     */
+    public void putLast(E e) throws InterruptedException {
+        Objects.requireNonNull(e);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (!linkLast(e))
+                notFull.await();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     * @throws InterruptedException {@inheritDoc}
+     */
+    public boolean offerFirst(E e, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        Objects.requireNonNull(e);
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (!linkFirst(e)) {
+                if (nanos <= 0L)
+                    return false;
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     * @throws InterruptedException {@inheritDoc}
+     */
+    public boolean offerLast(E e, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        Objects.requireNonNull(e);
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            while (!linkLast(e)) {
+                if (nanos <= 0L)
+                    return false;
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @throws NoSuchElementException {@inheritDoc}
+     */
+    public E removeFirst() {
+        E x = pollFirst();
+        if (x == null) throw new NoSuchElementException();
+        return x;
+    }
+
+    /**
+     * @throws NoSuchElementException {@inheritDoc}
+     */
+    public E removeLast() {
+        E x = pollLast();
+        if (x == null) throw new NoSuchElementException();
+        return x;
+    }
+
+    public E pollFirst() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return unlinkFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public E pollLast() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return unlinkLast();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public E takeFirst() throws InterruptedException {
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            E x;
+            while ((x = unlinkFirst()) == null)
+                notEmpty.await();
+            return x;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public E takeLast() throws InterruptedException {
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            E x;
+            while ((x = unlinkLast()) == null)
+                notEmpty.await();
+            return x;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public E pollFirst(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            E x;
+            while ((x = unlinkFirst()) == null) {
+                if (nanos <= 0L)
+                    return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return x;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public E pollLast(long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        try {
+            E x;
+            while ((x = unlinkLast()) == null) {
+                if (nanos <= 0L)
+                    return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            return x;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @throws NoSuchElementException {@inheritDoc}
+     */
+    public E getFirst() {
+        E x = peekFirst();
+        if (x == null) throw new NoSuchElementException();
+        return x;
+    }
+
+    /**
+     * @throws NoSuchElementException {@inheritDoc}
+     */
+    public E getLast() {
+        E x = peekLast();
+        if (x == null) throw new NoSuchElementException();
+        return x;
+    }
+
+    public E peekFirst() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.peekFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public E peekLast() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.peekLast();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean removeFirstOccurrence(Object o) {
+        if (o == null) return false;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (items.removeFirstOccurrence(o)) {
+                notFull.signal();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean removeLastOccurrence(Object o) {
+        if (o == null) return false;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            if (items.removeLastOccurrence(o)) {
+                notFull.signal();
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // BlockingQueue methods
+
+    /**
+     * Inserts the specified element at the end of this deque unless it would
+     * violate capacity restrictions.  When using a capacity-restricted deque,
+     * it is generally preferable to use method {@link #offer(Object) offer}.
+     *
+     * <p>This method is equivalent to {@link #addLast}.
+     *
+     * @throws IllegalStateException if this deque is full
+     * @throws NullPointerException  if the specified element is null
+     */
+    public boolean add(E e) {
+        addLast(e);
+        return true;
+    }
+
+    /**
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        return offerLast(e);
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     * @throws InterruptedException {@inheritDoc}
+     */
+    public void put(E e) throws InterruptedException {
+        putLast(e);
+    }
+
+    /**
+     * @throws NullPointerException {@inheritDoc}
+     * @throws InterruptedException {@inheritDoc}
+     */
+    public boolean offer(E e, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        return offerLast(e, timeout, unit);
+    }
+
+    /**
+     * Retrieves and removes the head of the queue represented by this deque.
+     * This method differs from {@link #poll() poll()} only in that it throws
+     * an exception if this deque is empty.
+     *
+     * <p>This method is equivalent to {@link #removeFirst() removeFirst}.
+     *
+     * @return the head of the queue represented by this deque
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public E remove() {
+        return removeFirst();
+    }
+
+    public E poll() {
+        return pollFirst();
+    }
+
+    public E take() throws InterruptedException {
+        return takeFirst();
+    }
+
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        return pollFirst(timeout, unit);
+    }
+
+    /**
+     * Retrieves, but does not remove, the head of the queue represented by
+     * this deque.  This method differs from {@link #peek() peek()} only in
+     * that it throws an exception if this deque is empty.
+     *
+     * <p>This method is equivalent to {@link #getFirst() getFirst}.
+     *
+     * @return the head of the queue represented by this deque
+     * @throws NoSuchElementException if this deque is empty
+     */
+    public E element() {
+        return getFirst();
+    }
+
+    public E peek() {
+        return peekFirst();
+    }
+
+    /**
+     * Returns the number of additional elements that this deque can ideally
+     * (in the absence of memory or resource constraints) accept without
+     * blocking.
+     *
+     * @return the remaining capacity of this deque
+     */
+    public int remainingCapacity() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return capacity - items.size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes at most the given number of available elements from this
+     * deque and adds them to the given collection, holding the lock once
+     * for the whole batch.  If the collection is a {@link LinkedList}, the
+     * batch's node chain is split off and spliced onto its end without
+     * relinking each element.
+     *
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c);
+        if (c == this)
+            throw new IllegalArgumentException();
+        if (maxElements <= 0)
+            return 0;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            final LinkedList<E> q = items;
+            final int n = Math.min(maxElements, q.size);
+            if (n == 0)
+                return 0;
+            if (c instanceof LinkedList) {
+                final LinkedList<E> target = (LinkedList<E>) c;
+                if (n < q.size)
+                    items = q.splitAt(q.listIterator(n));
+                target.spliceLast(q);
+            } else {
+                for (int i = 0; i < n; i++)
+                    c.add(q.pollFirst());
+            }
+            notFull.signalAll();
+            return n;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Stack methods
+
+    /**
+     * @throws IllegalStateException if this deque is full
+     * @throws NullPointerException  {@inheritDoc}
+     */
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    /**
+     * @throws NoSuchElementException {@inheritDoc}
+     */
+    public E pop() {
+        return removeFirst();
+    }
+
+    // Collection methods
+
+    /**
+     * Removes the first occurrence of the specified element from this deque.
+     * If the deque does not contain the element, it is unchanged.
+     *
+     * <p>This method is equivalent to
+     * {@link #removeFirstOccurrence(Object) removeFirstOccurrence}.
+     *
+     * @param o element to be removed from this deque, if present
+     * @return {@code true} if this deque changed as a result of the call
+     */
+    public boolean remove(Object o) {
+        return removeFirstOccurrence(o);
+    }
+
+    /**
+     * Returns the number of elements in this deque.
+     *
+     * @return the number of elements in this deque
+     */
+    public int size() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns {@code true} if this deque contains the specified element.
+     *
+     * @param o object to be checked for containment in this deque
+     * @return {@code true} if this deque contains the specified element
+     */
+    public boolean contains(Object o) {
+        if (o == null) return false;
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.contains(o);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Object[] toArray() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.toArray();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public <T> T[] toArray(T[] a) {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.toArray(a);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String toString() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return items.toString();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Atomically removes all of the elements from this deque.
+     * The deque will be empty after this call returns.
+     */
+    public void clear() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            items.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements in this deque in
+     * proper sequence, from first (head) to last (tail).
+     *
+     * @return an iterator over the elements in this deque in proper sequence
+     */
+    public Iterator<E> iterator() {
+        return new SnapshotItr(toArray(), false);
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements in this deque in
+     * reverse sequential order, from last (tail) to first (head).
+     *
+     * @return an iterator over the elements in this deque in reverse order
+     */
+    public Iterator<E> descendingIterator() {
+        return new SnapshotItr(toArray(), true);
+    }
+
+    /**
+     * Iterator over a snapshot array.  remove() deletes the live element
+     * the returned snapshot entry corresponds to: with the same reference
+     * possibly occurring several times, it skips as many identical
+     * elements, counted from the end the iterator started at, as precede
+     * the entry in the snapshot and have not been removed through this
+     * iterator.
+     */
+    private class SnapshotItr implements Iterator<E> {
+        private final Object[] snapshot;
+        private final boolean descending;
+        private int cursor;
+        private int lastRet = -1;
+
+        /**
+         * Snapshot entries removed through this iterator; allocated on the
+         * first remove.
+         */
+        private boolean[] removed;
+
+        SnapshotItr(Object[] snapshot, boolean descending) {
+            this.snapshot = snapshot;
+            this.descending = descending;
+        }
+
+        public boolean hasNext() {
+            return cursor < snapshot.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (cursor >= snapshot.length)
+                throw new NoSuchElementException();
+            lastRet = descending ? snapshot.length - 1 - cursor : cursor;
+            cursor++;
+            return (E) snapshot[lastRet];
+        }
+
+        public void remove() {
+            if (lastRet < 0)
+                throw new IllegalStateException();
+            final int index = lastRet;
+            final Object target = snapshot[index];
+            lastRet = -1;
+            if (removed == null)
+                removed = new boolean[snapshot.length];
+            removed[index] = true;
+            // Identical entries between the starting end and this one.
+            int skip = 0;
+            final int step = descending ? -1 : 1;
+            for (int j = descending ? snapshot.length - 1 : 0; j != index; j += step) {
+                if (snapshot[j] == target && !removed[j])
+                    skip++;
+            }
+            final ReentrantLock lock = LinkedListBlockingDeque.this.lock;
+            lock.lock();
+            try {
+                final Iterator<E> it = descending ? items.descendingIterator() : items.iterator();
+                while (it.hasNext()) {
+                    if (it.next() == target && skip-- == 0) {
+                        it.remove();
+                        notFull.signal();
+                        break;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Saves this deque to a stream (that is, serializes it).
+     *
+     * @param s the stream
+     * @throws java.io.IOException if an I/O error occurs
+     */
+    private void writeObject(java.io.ObjectOutputStream s)
+            throws java.io.IOException {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            s.defaultWriteObject();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package cn.edu.ctgu;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Compact binary images of {@link LinkedList}s, written straight to a
+ * {@link ByteBuffer} or channel (such as a {@link java.nio.channels.FileChannel})
+ * by a pluggable {@link ElementCodec}.
+ *
+ * <p>An image is a header of nine bytes (the magic number {@code "CLL1"},
+ * the codec's {@link ElementCodec#id() id} and the element count) followed
+ * by the encoded elements in list order.  Compared with
+ * {@code ObjectOutputStream}, no class descriptors, object headers or back
+ * references are written: a list of {@code Integer}s takes four bytes per
+ * element.  Reading builds the node chain directly in one pass instead of
+ * linking the elements one by one.
+ *
+ * <p>Channel transfers go through a direct buffer of 64 KiB, which grows
+ * only if a single element does not fit into it.  Reading from a channel
+ * may therefore consume bytes beyond the end of the image; a
+ * {@link SeekableByteChannel} is positioned back to the end of the image,
+ * so images written one after another can be read back one by one.
+ *
+ * @see ElementCodec
+ */
+public final class LinkedListCodec {
+    /**
+     * "CLL1" in ASCII.
+     */
+    static final int MAGIC = 0x434C4C31;
+
+    private static final int HEADER_BYTES = 9;
+
+    private static final int CHANNEL_BUFFER_SIZE = 1 << 16;
+
+    private LinkedListCodec() {
+    }
+
+    /**
+     * Writes an image of the list at the buffer's position.
+     *
+     * @param list  the list to write
+     * @param codec the codec for the list's elements
+     * @param out   the buffer to write to
+     * @param <E>   the type of elements held in the list
+     * @throws BufferOverflowException if the image does not fit into the
+     *                                 remaining space of the buffer
+     * @throws NullPointerException    if the codec does not accept a
+     *                                 {@code null} element of the list
+     */
+    public static <E> void write(LinkedList<? extends E> list, ElementCodec<E> codec,
+                                 ByteBuffer out) {
+        out.putInt(MAGIC).put(codec.id()).putInt(list.size);
+        for (LinkedList.Node<? extends E> x = list.first; x != null; x = x.next)
+            codec.write(x.item, out);
+    }
+
+    /**
+     * Writes an image of the list to the channel.
+     *
+     * @param list  the list to write
+     * @param codec the codec for the list's elements
+     * @param out   the channel to write to
+     * @param <E>   the type of elements held in the list
+     * @return the number of bytes written
+     * @throws IOException          if an I/O error occurs
+     * @throws NullPointerException if the codec does not accept a
+     *                              {@code null} element of the list
+     */
+    public static <E> long write(LinkedList<? extends E> list, ElementCodec<E> codec,
+                                 WritableByteChannel out) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+        long written = 0;
+        buf.putInt(MAGIC).put(codec.id()).putInt(list.size);
+        for (LinkedList.Node<? extends E> x = list.first; x != null; x = x.next) {
+            for (;;) {
+                final int mark = buf.position();
+                try {
+                    codec.write(x.item, buf);
+                    break;
+                } catch (BufferOverflowException e) {
+                    buf.position(mark);
+                    if (mark == 0)
+                        buf = ByteBuffer.allocateDirect(buf.capacity() << 1);
+                    else
+                        written += drain(buf, out);
+                }
+            }
+        }
+        return written + drain(buf, out);
+    }
+
+    /**
+     * Reads an image from the buffer's position.
+     *
+     * @param codec the codec the image was written with
+     * @param in    the buffer to read from
+     * @param <E>   the type of elements held in the list
+     * @return a new list holding the image's elements
+     * @throws IllegalArgumentException if the buffer does not hold an image
+     *                                  written with this codec
+     * @throws BufferUnderflowException if the image is truncated
+     */
+    public static <E> LinkedList<E> read(ElementCodec<E> codec, ByteBuffer in) {
+        final int n = readHeader(codec, in);
+        final LinkedList<E> list = new LinkedList<>();
+        LinkedList.Node<E> first = null, last = null;
+        for (int i = 0; i < n; i++) {
+            final LinkedList.Node<E> x = new LinkedList.Node<>(last, codec.read(in), null);
+            if (last == null)
+                first = x;
+            else
+                last.next = x;
+            last = x;
+        }
+        list.first = first;
+        list.last = last;
+        list.size = n;
+        return list;
+    }
+
+    /**
+     * Reads an image from the channel.  If the channel is a
+     * {@link SeekableByteChannel}, it is left positioned just past the
+     * image; otherwise any bytes following the image that were read ahead
+     * are lost.
+     *
+     * @param codec the codec the image was written with
+     * @param in    the channel to read from
+     * @param <E>   the type of elements held in the list
+     * @return a new list holding the image's elements
+     * @throws IllegalArgumentException if the channel does not hold an
+     *                                  image written with this codec
+     * @throws EOFException             if the image is truncated
+     * @throws IOException              if an I/O error occurs
+     */
+    public static <E> LinkedList<E> read(ElementCodec<E> codec, ReadableByteChannel in)
+            throws IOException {
+        ByteBuffer buf = ByteBuffer.allocateDirect(CHANNEL_BUFFER_SIZE);
+        buf.flip();
+        while (buf.remaining() < HEADER_BYTES)
+            buf = refill(buf, in);
+        final int n = readHeader(codec, buf);
+        final LinkedList<E> list = new LinkedList<>();
+        LinkedList.Node<E> first = null, last = null;
+        for (int i = 0; i < n; i++) {
+            E e;
+            for (;;) {
+                buf.mark();
+                try {
+                    e = codec.read(buf);
+                    break;
+                } catch (BufferUnderflowException ex) {
+                    buf.reset();
+                    buf = refill(buf, in);
+                }
+            }
+            final LinkedList.Node<E> x = new LinkedList.Node<>(last, e, null);
+            if (last == null)
+                first = x;
+            else
+                last.next = x;
+            last = x;
+        }
+        list.first = first;
+        list.last = last;
+        list.size = n;
+        if (buf.hasRemaining() && in instanceof SeekableByteChannel) {
+            final SeekableByteChannel ch = (SeekableByteChannel) in;
+            ch.position(ch.position() - buf.remaining());
+        }
+        return list;
+    }
+
+    private static int readHeader(ElementCodec<?> codec, ByteBuffer in) {
+        if (in.getInt() != MAGIC)
+            throw new IllegalArgumentException("Not a LinkedList image");
+        final byte id = in.get();
+        if (id != codec.id())
+            throw new IllegalArgumentException("Image written with codec " + id
+                    + ", not " + codec.id());
+        final int n = in.getInt();
+        if (n < 0)
+            throw new IllegalArgumentException("Illegal size: " + n);
+        return n;
+    }
+
+    /**
+     * Writes out the buffer's contents and clears it.
+     */
+    private static int drain(ByteBuffer buf, WritableByteChannel out) throws IOException {
+        buf.flip();
+        int n = 0;
+        while (buf.hasRemaining())
+            n += out.write(buf);
+        buf.clear();
+        return n;
+    }
+
+    /**
+     * Keeps the unread bytes of buf and reads more after them, growing the
+     * buffer if the unread bytes already fill it.  Returns the buffer ready
+     * for reading.
+     */
+    private static ByteBuffer refill(ByteBuffer buf, ReadableByteChannel in) throws IOException {
+        if (buf.position() == 0 && buf.limit() == buf.capacity()) {
+            final ByteBuffer bigger = ByteBuffer.allocateDirect(buf.capacity() << 1);
+            bigger.put(buf);
+            buf = bigger;
+        } else {
+            buf.compact();
+        }
+        if (in.read(buf) < 0)
+            throw new EOFException("Truncated LinkedList image");
+        buf.flip();
+        return buf;
+    }
+}
@@ -0,0 +1,206 @@
+package cn.edu.ctgu;
+
+import java.util.EnumMap;
+
+/**
+ * Operation counters and traversal-length histograms for one
+ * {@link LinkedList}, enabled by {@link LinkedList#setMetricsEnabled}.
+ *
+ * <p>Every recorded operation is counted under its {@link Op}.  Elements
+ * linked or unlinked at either end are counted one by one, whichever
+ * single-element method did it ({@code addFirst}, {@code add(0, e)},
+ * {@code remove(Object)} of the last element, an iterator's
+ * {@code remove} of the first, and so on) and by {@code addAll} at either
+ * end.  The bulk operations {@code clear}, {@code removeIf},
+ * {@code spliceFirst}, {@code spliceLast}, {@code splitAt},
+ * {@code moveToFirst} and {@code moveToLast} are not counted there.  Each
+ * lookup of a node by position (by {@code get}, {@code set},
+ * {@code add(int, E)}, {@code remove(int)}, {@code listIterator(int)} or
+ * {@code addAll(int, Collection)}) records the number of links it walked
+ * in the positional histogram; lookups answered by the positional index
+ * are recorded as walks of length 0.  Each search by value records the
+ * number of links it walked in the search histogram: the index of the
+ * element found, counted from the end the search starts at, or the size
+ * of the list if it was not found.  Searches answered by the membership
+ * index without a scan are recorded as length 0.
+ *
+ * <p>Histogram bucket 0 counts walks of length 0, and bucket {@code k}
+ * counts walks of length {@code 2^(k-1)} to {@code 2^k - 1}.  A list whose
+ * positional walks cluster in high buckets is being used as an array, and
+ * is a candidate for the positional index or for {@link java.util.ArrayList}.
+ *
+ * <p>Like the list, this class is not thread-safe; read it under whatever
+ * guards the list.
+ *
+ * @see LinkedList#setMetricsEnabled(boolean)
+ */
+public final class LinkedListMetrics {
+
+    /**
+     * The recorded operations.
+     */
+    public enum Op {
+        /** Elements linked at the front, except by bulk operations. */
+        ADD_FIRST,
+        /** Elements linked at the end, except by bulk operations. */
+        ADD_LAST,
+        /** Elements unlinked from the front, except by bulk operations. */
+        REMOVE_FIRST,
+        /** Elements unlinked from the end, except by bulk operations. */
+        REMOVE_LAST,
+        /** {@code get(int)}. */
+        GET,
+        /** {@code set(int, E)}. */
+        SET,
+        /** {@code add(int, E)}. */
+        ADD_AT,
+        /** {@code remove(int)}. */
+        REMOVE_AT,
+        /** {@code listIterator(int)}, {@code listIterator()} and {@code iterator()}. */
+        LIST_ITERATOR,
+        /** {@code addAll(Collection)} and {@code addAll(int, Collection)}. */
+        ADD_ALL,
+        /** {@code indexOf}, and {@code contains} without the membership index. */
+        INDEX_OF,
+        /** {@code lastIndexOf}. */
+        LAST_INDEX_OF,
+        /** {@code remove(Object)} and {@code removeFirstOccurrence}. */
+        REMOVE_OBJECT,
+        /** {@code removeLastOccurrence}. */
+        REMOVE_LAST_OCCURRENCE
+    }
+
+    private static final Op[] OPS = Op.values();
+
+    private static final int BUCKETS = Integer.SIZE + 1;
+
+    private final LinkedList<?> list;
+    private final long[] counts = new long[OPS.length];
+    private final long[] positional = new long[BUCKETS];
+    private final long[] search = new long[BUCKETS];
+    private long positionalLinks;
+    private long searchLinks;
+    private int baseModCount;
+
+    LinkedListMetrics(LinkedList<?> list) {
+        this.list = list;
+        this.baseModCount = list.modCount();
+    }
+
+    void op(Op op) {
+        counts[op.ordinal()]++;
+    }
+
+    void op(Op op, int times) {
+        counts[op.ordinal()] += times;
+    }
+
+    void positionalWalk(int links) {
+        positional[bucket(links)]++;
+        positionalLinks += links;
+    }
+
+    void searchWalk(Op op, int links) {
+        counts[op.ordinal()]++;
+        search[bucket(links)]++;
+        searchLinks += links;
+    }
+
+    private static int bucket(int links) {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(links);
+    }
+
+    /**
+     * Returns the number of times the operation was recorded.
+     *
+     * @param op the operation
+     * @return the number of times the operation was recorded
+     */
+    public long count(Op op) {
+        return counts[op.ordinal()];
+    }
+
+    /**
+     * Returns the counts of all operations recorded at least once.
+     *
+     * @return a new map from operations to their counts
+     */
+    public EnumMap<Op, Long> counts() {
+        final EnumMap<Op, Long> result = new EnumMap<>(Op.class);
+        for (Op op : OPS) {
+            if (counts[op.ordinal()] != 0)
+                result.put(op, counts[op.ordinal()]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the histogram of the lengths of positional walks.
+     *
+     * @return a new array of 33 bucket counts
+     */
+    public long[] positionalWalkHistogram() {
+        return positional.clone();
+    }
+
+    /**
+     * Returns the histogram of the lengths of searches by value.
+     *
+     * @return a new array of 33 bucket counts
+     */
+    public long[] searchWalkHistogram() {
+        return search.clone();
+    }
+
+    /**
+     * Returns the total number of links walked by positional lookups.
+     *
+     * @return the total number of links walked by positional lookups
+     */
+    public long positionalLinks() {
+        return positionalLinks;
+    }
+
+    /**
+     * Returns the total number of links walked by searches by value.
+     *
+     * @return the total number of links walked by searches by value
+     */
+    public long searchLinks() {
+        return searchLinks;
+    }
+
+    /**
+     * Returns the number of structural modifications of the list, that is
+     * the growth of its {@code modCount}, since the metrics were enabled
+     * or last reset.
+     *
+     * @return the number of structural modifications
+     */
+    public int modifications() {
+        return list.modCount() - baseModCount;
+    }
+
+    /**
+     * Clears all counters and histograms.
+     */
+    public void reset() {
+        java.util.Arrays.fill(counts, 0);
+        java.util.Arrays.fill(positional, 0);
+        java.util.Arrays.fill(search, 0);
+        positionalLinks = searchLinks = 0;
+        baseModCount = list.modCount();
+    }
+
+    /**
+     * Returns a summary of the counters.
+     *
+     * @return a summary of the counters
+     */
+    public String toString() {
+        return "LinkedListMetrics{counts=" + counts()
+                + ", positionalLinks=" + positionalLinks
+                + ", searchLinks=" + searchLinks
+                + ", modifications=" + modifications() + '}';
+    }
+}
@@ -0,0 +1,152 @@
+package cn.edu.ctgu;
+
+import java.util.AbstractSequentialList;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Immutable view of a range of {@code size} consecutive nodes of a
+ * {@link LinkedList}, from {@code first} to {@code last}, as returned by
+ * {@link LinkedList#snapshot()}.
+ *
+ * <p>The owning list copies its node chain before modifying any node in
+ * the range, and only ever changes the links leading out of its ends, so
+ * every traversal here is bounded by the size and never follows those.
+ * The final fields make the nodes, as they were when the snapshot was
+ * taken, visible to any thread that sees the snapshot.
+ *
+ * @param <E> the type of elements held in the owning list
+ */
+final class LinkedListSnapshot<E> extends AbstractSequentialList<E> {
+    private final LinkedList.Node<E> first;
+    private final LinkedList.Node<E> last;
+    private final int size;
+
+    LinkedListSnapshot(LinkedList.Node<E> first, LinkedList.Node<E> last, int size) {
+        this.first = first;
+        this.last = last;
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return node(index).item;
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        return new Itr(index);
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        LinkedList.Node<E> x = first;
+        for (int i = 0; i < size; i++, x = x.next)
+            action.accept(x.item);
+    }
+
+    @Override
+    public Object[] toArray() {
+        final Object[] result = new Object[size];
+        LinkedList.Node<E> x = first;
+        for (int i = 0; i < size; i++, x = x.next)
+            result[i] = x.item;
+        return result;
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(this, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /**
+     * Returns the node at the specified element index.
+     */
+    private LinkedList.Node<E> node(int index) {
+        if (index < (size >> 1)) {
+            LinkedList.Node<E> x = first;
+            for (int i = 0; i < index; i++)
+                x = x.next;
+            return x;
+        } else {
+            LinkedList.Node<E> x = last;
+            for (int i = size - 1; i > index; i--)
+                x = x.prev;
+            return x;
+        }
+    }
+
+    private final class Itr implements ListIterator<E> {
+        private LinkedList.Node<E> next;
+        private int nextIndex;
+
+        Itr(int index) {
+            next = (index == size) ? null : node(index);
+            nextIndex = index;
+        }
+
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        public E next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            final E e = next.item;
+            next = (++nextIndex < size) ? next.next : null;
+            return e;
+        }
+
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        public E previous() {
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+            next = (next == null) ? last : next.prev;
+            nextIndex--;
+            return next.item;
+        }
+
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            for (; nextIndex < size; nextIndex++, next = next.next)
+                action.accept(next.item);
+            next = null;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        public void set(E e) {
+            throw new UnsupportedOperationException();
+        }
+
+        public void add(E e) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,661 @@
+package cn.edu.ctgu;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Doubly-linked list of primitive {@code long} values, a sibling of
+ * {@link LinkedList} for {@code Long} values that would otherwise be boxed.
+ *
+ * <p>Instead of one node object per element, the list keeps three parallel
+ * arrays indexed by <i>slot</i>: {@code values}, {@code next} and
+ * {@code prev}, where links are slot numbers and -1 marks the end of the
+ * list.  Slots freed by removals are chained through {@code next} and
+ * reused by later insertions, and the arrays grow by half when full.  A
+ * list of one million elements is therefore three flat arrays of
+ * (8 + 8) bytes per slot instead of a million nodes and a
+ * million boxes (about 24 + 24 bytes per element with compressed
+ * oops), and traversal follows indices within the same arrays.  After heavy
+ * churn the slot order may no longer match the list order;
+ * {@link #trimToSize()} relocates the elements into list order.
+ *
+ * <p>Operations that would return {@code null} on an empty
+ * {@link java.util.Deque} ({@code pollFirst}, {@code peekLast}, ...)
+ * return the list's <i>no-entry value</i> instead, which defaults to
+ * {@code 0} and can be chosen at construction.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * The iterators returned by {@link #iterator()} and
+ * {@link #descendingIterator()} are <i>fail-fast</i> in the same way as
+ * those of {@link LinkedList}.
+ *
+ * @see LinkedList
+ */
+public class LongLinkedList implements Cloneable, java.io.Serializable {
+
+    /**
+     * Capacity used by the no-argument constructor.
+     */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * Link value marking the absence of a slot.
+     */
+    private static final int NIL = -1;
+
+    private transient long[] values;
+    private transient int[] next;
+    private transient int[] prev;
+
+    /**
+     * Slot of the first element, or NIL.
+     */
+    private transient int first = NIL;
+
+    /**
+     * Slot of the last element, or NIL.
+     */
+    private transient int last = NIL;
+
+    /**
+     * Head of the chain of freed slots, linked through next, or NIL.
+     */
+    private transient int free = NIL;
+
+    /**
+     * Number of slots ever handed out; slots at or above it are unused.
+     */
+    private transient int used;
+
+    private transient int size;
+
+    private transient int modCount;
+
+    /**
+     * Value returned by polls and peeks on an empty list.
+     */
+    private final long noEntryValue;
+
+    /**
+     * Constructs an empty list whose no-entry value is {@code 0}.
+     */
+    public LongLinkedList() {
+        this(DEFAULT_CAPACITY, 0);
+    }
+
+    /**
+     * Constructs an empty list with room for {@code initialCapacity}
+     * elements before the arrays grow.
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public LongLinkedList(int initialCapacity) {
+        this(initialCapacity, 0);
+    }
+
+    /**
+     * Constructs an empty list with the specified initial capacity and
+     * no-entry value.
+     *
+     * @param initialCapacity the initial capacity
+     * @param noEntryValue    value returned by polls and peeks on an empty
+     *                        list
+     * @throws IllegalArgumentException if {@code initialCapacity} is negative
+     */
+    public LongLinkedList(int initialCapacity, long noEntryValue) {
+        if (initialCapacity < 0)
+            throw new IllegalArgumentException("Illegal Capacity: " + initialCapacity);
+        this.values = new long[initialCapacity];
+        this.next = new int[initialCapacity];
+        this.prev = new int[initialCapacity];
+        this.noEntryValue = noEntryValue;
+    }
+
+    /**
+     * Returns the value returned by polls and peeks on an empty list.
+     *
+     * @return the no-entry value
+     */
+    public long getNoEntryValue() {
+        return noEntryValue;
+    }
+
+    /**
+     * Returns a free slot holding v, growing the arrays if necessary.
+     */
+    private int allocate(long v) {
+        int x = free;
+        if (x != NIL) {
+            free = next[x];
+        } else {
+            if (used == values.length)
+                grow();
+            x = used++;
+        }
+        values[x] = v;
+        return x;
+    }
+
+    private void grow() {
+        final int oldCapacity = values.length;
+        final int newCapacity = Math.max(DEFAULT_CAPACITY, oldCapacity + (oldCapacity >> 1));
+        values = Arrays.copyOf(values, newCapacity);
+        next = Arrays.copyOf(next, newCapacity);
+        prev = Arrays.copyOf(prev, newCapacity);
+    }
+
+    /**
+     * Inserts the specified value at the beginning of this list.
+     *
+     * @param v the value to add
+     */
+    public void addFirst(long v) {
+        final int f = first;
+        final int x = allocate(v);
+        prev[x] = NIL;
+        next[x] = f;
+        first = x;
+        if (f == NIL)
+            last = x;
+        else
+            prev[f] = x;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Appends the specified value to the end of this list.
+     *
+     * @param v the value to add
+     */
+    public void addLast(long v) {
+        final int l = last;
+        final int x = allocate(v);
+        next[x] = NIL;
+        prev[x] = l;
+        last = x;
+        if (l == NIL)
+            first = x;
+        else
+            next[l] = x;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Appends the specified value to the end of this list.  This method is
+     * equivalent to {@link #addLast}.
+     *
+     * @param v the value to add
+     * @return {@code true}
+     */
+    public boolean add(long v) {
+        addLast(v);
+        return true;
+    }
+
+    /**
+     * Unlinks slot x and returns it to the free chain.
+     */
+    private long unlink(int x) {
+        final long v = values[x];
+        final int p = prev[x];
+        final int n = next[x];
+        if (p == NIL)
+            first = n;
+        else
+            next[p] = n;
+        if (n == NIL)
+            last = p;
+        else
+            prev[n] = p;
+        next[x] = free;
+        free = x;
+        size--;
+        modCount++;
+        return v;
+    }
+
+    /**
+     * Retrieves and removes the first value of this list, or returns the
+     * no-entry value if this list is empty.
+     *
+     * @return the first value, or the no-entry value if this list is empty
+     */
+    public long pollFirst() {
+        final int f = first;
+        return (f == NIL) ? noEntryValue : unlink(f);
+    }
+
+    /**
+     * Retrieves and removes the last value of this list, or returns the
+     * no-entry value if this list is empty.
+     *
+     * @return the last value, or the no-entry value if this list is empty
+     */
+    public long pollLast() {
+        final int l = last;
+        return (l == NIL) ? noEntryValue : unlink(l);
+    }
+
+    /**
+     * Retrieves, but does not remove, the first value of this list, or
+     * returns the no-entry value if this list is empty.
+     *
+     * @return the first value, or the no-entry value if this list is empty
+     */
+    public long peekFirst() {
+        final int f = first;
+        return (f == NIL) ? noEntryValue : values[f];
+    }
+
+    /**
+     * Retrieves, but does not remove, the last value of this list, or
+     * returns the no-entry value if this list is empty.
+     *
+     * @return the last value, or the no-entry value if this list is empty
+     */
+    public long peekLast() {
+        final int l = last;
+        return (l == NIL) ? noEntryValue : values[l];
+    }
+
+    /**
+     * Returns the first value in this list.
+     *
+     * @return the first value in this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public long getFirst() {
+        final int f = first;
+        if (f == NIL)
+            throw new NoSuchElementException();
+        return values[f];
+    }
+
+    /**
+     * Returns the last value in this list.
+     *
+     * @return the last value in this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public long getLast() {
+        final int l = last;
+        if (l == NIL)
+            throw new NoSuchElementException();
+        return values[l];
+    }
+
+    /**
+     * Removes and returns the first value from this list.
+     *
+     * @return the first value from this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public long removeFirst() {
+        final int f = first;
+        if (f == NIL)
+            throw new NoSuchElementException();
+        return unlink(f);
+    }
+
+    /**
+     * Removes and returns the last value from this list.
+     *
+     * @return the last value from this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public long removeLast() {
+        final int l = last;
+        if (l == NIL)
+            throw new NoSuchElementException();
+        return unlink(l);
+    }
+
+    /**
+     * Returns the value at the specified position in this list.
+     *
+     * @param index index of the value to return
+     * @return the value at the specified position in this list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public long get(int index) {
+        return values[slot(index)];
+    }
+
+    /**
+     * Returns the slot of the value at the specified element index,
+     * walking from whichever end is closer.
+     */
+    private int slot(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        int x;
+        if (index < (size >> 1)) {
+            x = first;
+            for (int i = 0; i < index; i++)
+                x = next[x];
+        } else {
+            x = last;
+            for (int i = size - 1; i > index; i--)
+                x = prev[x];
+        }
+        return x;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified value in
+     * this list, or -1 if this list does not contain it.
+     *
+     * @param v value to search for
+     * @return the index of the first occurrence, or -1
+     */
+    public int indexOf(long v) {
+        int index = 0;
+        for (int x = first; x != NIL; x = next[x], index++) {
+            if (values[x] == v)
+                return index;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns {@code true} if this list contains the specified value.
+     *
+     * @param v value whose presence in this list is to be tested
+     * @return {@code true} if this list contains the specified value
+     */
+    public boolean contains(long v) {
+        return indexOf(v) >= 0;
+    }
+
+    /**
+     * Removes the first occurrence of the specified value from this list,
+     * if it is present.
+     *
+     * @param v value to be removed from this list, if present
+     * @return {@code true} if the list contained the specified value
+     */
+    public boolean removeFirstOccurrence(long v) {
+        for (int x = first; x != NIL; x = next[x]) {
+            if (values[x] == v) {
+                unlink(x);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of values in this list.
+     *
+     * @return the number of values in this list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this list contains no values.
+     *
+     * @return {@code true} if this list contains no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the values from this list.  The arrays keep their
+     * capacity.
+     */
+    public void clear() {
+        first = last = free = NIL;
+        used = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Shrinks the arrays to the size of this list and relocates the values
+     * into list order, so that traversal reads the arrays sequentially.
+     */
+    public void trimToSize() {
+        final long[] a = toArray();
+        final int n = a.length;
+        values = a;
+        next = new int[n];
+        prev = new int[n];
+        for (int i = 0; i < n; i++) {
+            next[i] = i + 1;
+            prev[i] = i - 1;
+        }
+        if (n > 0)
+            next[n - 1] = NIL;
+        first = (n == 0) ? NIL : 0;
+        last = n - 1;
+        free = NIL;
+        used = n;
+        modCount++;
+    }
+
+    /**
+     * Performs the given action for each value of this list, in order.
+     *
+     * @param action the action to be performed for each value
+     * @throws ConcurrentModificationException if the action structurally
+     *                                         modifies this list
+     */
+    public void forEach(LongConsumer action) {
+        if (action == null) throw new NullPointerException();
+        final int expectedModCount = modCount;
+        for (int x = first; x != NIL && modCount == expectedModCount; x = next[x])
+            action.accept(values[x]);
+        if (modCount != expectedModCount)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Returns an array containing all of the values in this list in proper
+     * sequence.
+     *
+     * @return an array containing all of the values in this list
+     */
+    public long[] toArray() {
+        final long[] a = new long[size];
+        int i = 0;
+        for (int x = first; x != NIL; x = next[x])
+            a[i++] = values[x];
+        return a;
+    }
+
+    /**
+     * Returns an iterator over the values in this list in proper sequence.
+     *
+     * @return a fail-fast iterator over the values in this list
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new Itr(true);
+    }
+
+    /**
+     * Returns an iterator over the values in this list in reverse order.
+     *
+     * @return a fail-fast iterator over the values in reverse order
+     */
+    public PrimitiveIterator.OfLong descendingIterator() {
+        return new Itr(false);
+    }
+
+    /**
+     * Returns a sequential stream over the values in this list.
+     *
+     * @return a sequential {@code LongStream} over the values in this list
+     */
+    public LongStream stream() {
+        return StreamSupport.longStream(Spliterators.spliterator(iterator(), size,
+                Spliterator.ORDERED | Spliterator.SIZED), false);
+    }
+
+    private final class Itr implements PrimitiveIterator.OfLong {
+        private final boolean forward;
+        private int nextSlot;
+        private int lastReturned = NIL;
+        private int expectedModCount = modCount;
+
+        Itr(boolean forward) {
+            this.forward = forward;
+            this.nextSlot = forward ? first : last;
+        }
+
+        public boolean hasNext() {
+            return nextSlot != NIL;
+        }
+
+        public long nextLong() {
+            checkForComodification();
+            final int x = nextSlot;
+            if (x == NIL)
+                throw new NoSuchElementException();
+            lastReturned = x;
+            nextSlot = forward ? next[x] : prev[x];
+            return values[x];
+        }
+
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == NIL)
+                throw new IllegalStateException();
+            unlink(lastReturned);
+            lastReturned = NIL;
+            expectedModCount++;
+        }
+
+        final void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Compares the specified object with this list for equality.  Returns
+     * {@code true} if it is also a {@code LongLinkedList} holding the same values
+     * in the same order.
+     *
+     * @param o the object to be compared for equality with this list
+     * @return {@code true} if the specified object is equal to this list
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof LongLinkedList))
+            return false;
+        final LongLinkedList other = (LongLinkedList) o;
+        if (other.size != size)
+            return false;
+        for (int x = first, y = other.first; x != NIL; x = next[x], y = other.next[y]) {
+            if (values[x] != other.values[y])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code value for this list, computed like
+     * {@link java.util.List#hashCode()} over the boxed values.
+     *
+     * @return the hash code value for this list
+     */
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (int x = first; x != NIL; x = next[x])
+            hashCode = 31 * hashCode + Long.hashCode(values[x]);
+        return hashCode;
+    }
+
+    /**
+     * Returns a string representation of this list in the format of
+     * {@link java.util.AbstractCollection#toString()}.
+     *
+     * @return a string representation of this list
+     */
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("[");
+        for (int x = first; x != NIL; x = next[x]) {
+            sb.append(values[x]);
+            if (next[x] != NIL)
+                sb.append(", ");
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Returns a copy of this list whose values are stored in list order.
+     *
+     * @return a copy of this list
+     */
+    @Override
+    public LongLinkedList clone() {
+        try {
+            final LongLinkedList clone = (LongLinkedList) super.clone();
+            clone.trimToSize();
+            clone.modCount = 0;
+            return clone;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    private static final long serialVersionUID = 4350791852218040753L;
+
+    /**
+     * Saves the state of this {@code LongLinkedList} instance to a stream
+     * (that is, serializes it).
+     *
+     * @param s the stream
+     * @throws java.io.IOException if an I/O error occurs
+     * @serialData The size of the list (the number of values it contains)
+     * is emitted (int), followed by all of its values (each a
+     * {@code long}) in the proper order.
+     */
+    private void writeObject(java.io.ObjectOutputStream s)
+            throws java.io.IOException {
+        s.defaultWriteObject();
+        s.writeInt(size);
+        for (int x = first; x != NIL; x = next[x])
+            s.writeLong(values[x]);
+    }
+
+    /**
+     * Reconstitutes this {@code LongLinkedList} instance from a stream
+     * (that is, deserializes it).
+     *
+     * @param s the stream
+     * @throws ClassNotFoundException if the class of a serialized object
+     *                                could not be found
+     * @throws java.io.IOException    if an I/O error occurs
+     */
+    private void readObject(java.io.ObjectInputStream s)
+            throws java.io.IOException, ClassNotFoundException {
+        s.defaultReadObject();
+        final int n = s.readInt();
+        if (n < 0)
+            throw new java.io.InvalidObjectException("Illegal size: " + n);
+        values = new long[n];
+        next = new int[n];
+        prev = new int[n];
+        first = last = free = NIL;
+        for (int i = 0; i < n; i++)
+            addLast(s.readLong());
+    }
+}
@@ -0,0 +1,594 @@
+package cn.edu.ctgu;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Doubly-linked {@link Deque} stored off-heap in a memory-mapped file, so
+ * that its contents survive restarts and cost no heap however many
+ * elements it holds.
+ *
+ * <p>The file starts with a header of 64 bytes followed by fixed-size
+ * slots.  Each slot holds the numbers of its next and previous slots (as
+ * {@code long}s, 0 meaning none) followed by one element, encoded by an
+ * {@link ElementCodec} into at most {@code recordSize} bytes.  Removed
+ * slots are chained into a free list through their next links and reused
+ * before the file grows.  Slots are mapped in regions that start at 1024
+ * slots and double in size up to 1 GiB each, so a small deque stays small
+ * on disk while a large one needs few mappings.  Every operation updates
+ * the header in place; {@link #force()} writes the changes to the storage
+ * device.  A crash in the middle of an operation may leave the file
+ * inconsistent.
+ *
+ * <p>Like {@link java.util.ArrayDeque}, this deque does not permit
+ * {@code null} elements.  Elements are decoded on every access, so they
+ * are returned as new objects rather than the instances that were added.
+ * The iterators are <i>fail-fast</i>.  This class is not thread-safe, and
+ * no two instances may have the same file open at the same time.
+ *
+ * @param <E> the type of elements held in this deque
+ * @see LinkedList
+ * @see ElementCodec
+ */
+public final class MappedDeque<E> extends AbstractCollection<E>
+        implements Deque<E>, Closeable {
+    /**
+     * "CMD1" in ASCII.
+     */
+    static final int MAGIC = 0x434D4431;
+
+    private static final int HEADER_BYTES = 64;
+    private static final int CODEC_ID = 4;
+    private static final int RECORD_SIZE = 8;
+    private static final int SIZE = 16;
+    private static final int FIRST = 24;
+    private static final int LAST = 32;
+    private static final int FREE = 40;
+    private static final int ALLOCATED = 48;
+
+    /**
+     * Offsets within a slot.
+     */
+    private static final int NEXT = 0;
+    private static final int PREV = 8;
+    private static final int ITEM = 16;
+
+    /**
+     * Largest record accepted, which bounds the number of slots per region
+     * from below.
+     */
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private static final long MAX_REGION_BYTES = 1L << 30;
+
+    private static final long NIL = 0L;
+
+    private final FileChannel channel;
+    private final ElementCodec<E> codec;
+    private final int recordSize;
+    private final int slotBytes;
+
+    /**
+     * Slots in region 0; regions 1 to doublings - 1 each hold twice as
+     * many as the one before, and all later regions hold
+     * baseSlots << doublings.
+     */
+    private final long baseSlots;
+    private final int doublings;
+
+    private MappedByteBuffer header;
+    private final ArrayList<MappedByteBuffer> regions = new ArrayList<>();
+
+    /**
+     * Region of the slot most recently passed to locate.
+     */
+    private MappedByteBuffer at;
+
+    // Copies of the header fields
+    private long size;
+    private long first;
+    private long last;
+    private long free;
+    private long allocated;
+
+    private int modCount;
+
+    private MappedDeque(FileChannel channel, ElementCodec<E> codec, int recordSize) {
+        this.channel = channel;
+        this.codec = codec;
+        this.recordSize = recordSize;
+        this.slotBytes = (ITEM + recordSize + 7) & ~7;
+        final long maxSlots = Long.highestOneBit(MAX_REGION_BYTES / slotBytes);
+        this.baseSlots = Math.min(1024, maxSlots);
+        this.doublings = Long.numberOfTrailingZeros(maxSlots / baseSlots);
+    }
+
+    /**
+     * Opens the deque stored in the specified file, creating an empty one
+     * if the file does not exist or is empty.
+     *
+     * @param file       the file holding the deque
+     * @param codec      the codec for the deque's elements
+     * @param recordSize the maximum number of bytes the codec writes for
+     *                   one element
+     * @param <E>        the type of elements held in the deque
+     * @return the deque
+     * @throws IllegalArgumentException if {@code recordSize} is not
+     *                                  positive or larger than 1 MiB, or
+     *                                  the file holds a deque written with
+     *                                  another codec or record size, or is
+     *                                  not a deque at all
+     * @throws IOException              if an I/O error occurs
+     */
+    public static <E> MappedDeque<E> open(Path file, ElementCodec<E> codec, int recordSize)
+            throws IOException {
+        Objects.requireNonNull(codec);
+        if (recordSize <= 0 || recordSize > MAX_RECORD_SIZE)
+            throw new IllegalArgumentException("Illegal record size: " + recordSize);
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final MappedDeque<E> deque = new MappedDeque<>(channel, codec, recordSize);
+            deque.load(channel.size() == 0);
+            return deque;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void load(boolean create) throws IOException {
+        final MappedByteBuffer h = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+        if (create) {
+            h.putInt(0, MAGIC).put(CODEC_ID, codec.id()).putInt(RECORD_SIZE, recordSize);
+        } else {
+            if (h.getInt(0) != MAGIC)
+                throw new IllegalArgumentException("Not a deque file");
+            if (h.get(CODEC_ID) != codec.id())
+                throw new IllegalArgumentException("Codec mismatch: file has "
+                        + h.get(CODEC_ID) + ", codec is " + codec.id());
+            if (h.getInt(RECORD_SIZE) != recordSize)
+                throw new IllegalArgumentException("Record size mismatch: file has "
+                        + h.getInt(RECORD_SIZE) + ", requested " + recordSize);
+            size = h.getLong(SIZE);
+            first = h.getLong(FIRST);
+            last = h.getLong(LAST);
+            free = h.getLong(FREE);
+            allocated = h.getLong(ALLOCATED);
+        }
+        header = h;
+    }
+
+    // Slot storage
+
+    /**
+     * Makes the region holding slot s current and returns the slot's byte
+     * offset within it.
+     */
+    private int locate(long s) {
+        final long i = s - 1;
+        final long doubled = baseSlots * ((1L << doublings) - 1);
+        final int k;
+        final long offset;
+        if (i < doubled) {
+            k = 63 - Long.numberOfLeadingZeros(i / baseSlots + 1);
+            offset = i - baseSlots * ((1L << k) - 1);
+        } else {
+            final long t = i - doubled;
+            final long m = baseSlots << doublings;
+            k = doublings + (int) (t / m);
+            offset = t % m;
+        }
+        at = region(k);
+        return (int) (offset * slotBytes);
+    }
+
+    private MappedByteBuffer region(int k) {
+        if (k < regions.size())
+            return regions.get(k);
+        if (header == null)
+            throw new IllegalStateException("Deque closed");
+        try {
+            while (regions.size() <= k) {
+                final int j = regions.size();
+                final long start;
+                final long slots;
+                if (j < doublings) {
+                    start = baseSlots * ((1L << j) - 1);
+                    slots = baseSlots << j;
+                } else {
+                    start = baseSlots * ((1L << doublings) - 1)
+                            + (j - doublings) * (baseSlots << doublings);
+                    slots = baseSlots << doublings;
+                }
+                regions.add(channel.map(FileChannel.MapMode.READ_WRITE,
+                        HEADER_BYTES + start * slotBytes, slots * slotBytes));
+            }
+        } catch (IOException e) {
+            throw new java.io.UncheckedIOException(e);
+        }
+        return regions.get(k);
+    }
+
+    private long nextOf(long s) {
+        final int o = locate(s);
+        return at.getLong(o + NEXT);
+    }
+
+    private long prevOf(long s) {
+        final int o = locate(s);
+        return at.getLong(o + PREV);
+    }
+
+    private void setNext(long s, long next) {
+        final int o = locate(s);
+        at.putLong(o + NEXT, next);
+    }
+
+    private void setPrev(long s, long prev) {
+        final int o = locate(s);
+        at.putLong(o + PREV, prev);
+    }
+
+    private E itemOf(long s) {
+        final int o = locate(s);
+        final MappedByteBuffer b = at;
+        b.limit(o + ITEM + recordSize).position(o + ITEM);
+        try {
+            return codec.read(b);
+        } finally {
+            b.clear();
+        }
+    }
+
+    /**
+     * Takes a slot from the free list, or from the end of the file, and
+     * stores e in it; the slot is returned to the free list if e does not
+     * fit.
+     */
+    private long allocate(E e) {
+        Objects.requireNonNull(e);
+        long s = free;
+        if (s != NIL)
+            free = nextOf(s);
+        else
+            s = ++allocated;
+        final int o = locate(s);
+        final MappedByteBuffer b = at;
+        b.limit(o + ITEM + recordSize).position(o + ITEM);
+        try {
+            codec.write(e, b);
+        } catch (BufferOverflowException ex) {
+            release(s);
+            throw new IllegalArgumentException(
+                    "Element does not fit in a record of " + recordSize + " bytes");
+        } finally {
+            b.clear();
+        }
+        return s;
+    }
+
+    /**
+     * Pushes slot s onto the free list.
+     */
+    private void release(long s) {
+        setNext(s, free);
+        free = s;
+    }
+
+    private void writeHeader() {
+        final MappedByteBuffer h = header;
+        if (h == null)
+            throw new IllegalStateException("Deque closed");
+        h.putLong(SIZE, size)
+                .putLong(FIRST, first)
+                .putLong(LAST, last)
+                .putLong(FREE, free)
+                .putLong(ALLOCATED, allocated);
+        modCount++;
+    }
+
+    // Linking and unlinking
+
+    private void linkFirst(E e) {
+        final long s = allocate(e);
+        final long f = first;
+        setPrev(s, NIL);
+        setNext(s, f);
+        if (f == NIL)
+            last = s;
+        else
+            setPrev(f, s);
+        first = s;
+        size++;
+        writeHeader();
+    }
+
+    private void linkLast(E e) {
+        final long s = allocate(e);
+        final long l = last;
+        setNext(s, NIL);
+        setPrev(s, l);
+        if (l == NIL)
+            first = s;
+        else
+            setNext(l, s);
+        last = s;
+        size++;
+        writeHeader();
+    }
+
+    /**
+     * Unlinks slot s and returns its element.
+     */
+    private E unlink(long s) {
+        final E element = itemOf(s);
+        final long next = nextOf(s);
+        final long prev = prevOf(s);
+        if (prev == NIL)
+            first = next;
+        else
+            setNext(prev, next);
+        if (next == NIL)
+            last = prev;
+        else
+            setPrev(next, prev);
+        release(s);
+        size--;
+        writeHeader();
+        return element;
+    }
+
+    // Deque operations
+
+    public void addFirst(E e) {
+        linkFirst(e);
+    }
+
+    public void addLast(E e) {
+        linkLast(e);
+    }
+
+    public boolean offerFirst(E e) {
+        linkFirst(e);
+        return true;
+    }
+
+    public boolean offerLast(E e) {
+        linkLast(e);
+        return true;
+    }
+
+    public E removeFirst() {
+        if (first == NIL)
+            throw new NoSuchElementException();
+        return unlink(first);
+    }
+
+    public E removeLast() {
+        if (last == NIL)
+            throw new NoSuchElementException();
+        return unlink(last);
+    }
+
+    public E pollFirst() {
+        return (first == NIL) ? null : unlink(first);
+    }
+
+    public E pollLast() {
+        return (last == NIL) ? null : unlink(last);
+    }
+
+    public E getFirst() {
+        if (first == NIL)
+            throw new NoSuchElementException();
+        return itemOf(first);
+    }
+
+    public E getLast() {
+        if (last == NIL)
+            throw new NoSuchElementException();
+        return itemOf(last);
+    }
+
+    public E peekFirst() {
+        return (first == NIL) ? null : itemOf(first);
+    }
+
+    public E peekLast() {
+        return (last == NIL) ? null : itemOf(last);
+    }
+
+    public boolean removeFirstOccurrence(Object o) {
+        if (o == null)
+            return false;
+        for (long s = first; s != NIL; s = nextOf(s)) {
+            if (o.equals(itemOf(s))) {
+                unlink(s);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean removeLastOccurrence(Object o) {
+        if (o == null)
+            return false;
+        for (long s = last; s != NIL; s = prevOf(s)) {
+            if (o.equals(itemOf(s))) {
+                unlink(s);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Queue and stack operations
+
+    public boolean add(E e) {
+        linkLast(e);
+        return true;
+    }
+
+    public boolean offer(E e) {
+        linkLast(e);
+        return true;
+    }
+
+    public E remove() {
+        return removeFirst();
+    }
+
+    public E poll() {
+        return pollFirst();
+    }
+
+    public E element() {
+        return getFirst();
+    }
+
+    public E peek() {
+        return peekFirst();
+    }
+
+    public void push(E e) {
+        linkFirst(e);
+    }
+
+    public E pop() {
+        return removeFirst();
+    }
+
+    // Collection operations
+
+    public boolean remove(Object o) {
+        return removeFirstOccurrence(o);
+    }
+
+    /**
+     * Returns the number of elements in this deque, or
+     * {@link Integer#MAX_VALUE} if it holds more.
+     *
+     * @return the number of elements in this deque
+     */
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the number of elements in this deque as a {@code long}.
+     *
+     * @return the number of elements in this deque
+     */
+    public long longSize() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all of the elements from this deque.  All slots become free;
+     * the file keeps its length.
+     */
+    public void clear() {
+        size = 0;
+        first = last = free = allocated = NIL;
+        writeHeader();
+    }
+
+    public Iterator<E> iterator() {
+        return new Itr(false);
+    }
+
+    public Iterator<E> descendingIterator() {
+        return new Itr(true);
+    }
+
+    private final class Itr implements Iterator<E> {
+        private final boolean descending;
+        private long next;
+        private long lastReturned = NIL;
+        private int expectedModCount = modCount;
+
+        Itr(boolean descending) {
+            this.descending = descending;
+            this.next = descending ? last : first;
+        }
+
+        public boolean hasNext() {
+            return next != NIL;
+        }
+
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            final long s = next;
+            if (s == NIL)
+                throw new NoSuchElementException();
+            final E e = itemOf(s);
+            next = descending ? prevOf(s) : nextOf(s);
+            lastReturned = s;
+            return e;
+        }
+
+        public void remove() {
+            if (lastReturned == NIL)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            unlink(lastReturned);
+            lastReturned = NIL;
+            expectedModCount = modCount;
+        }
+    }
+
+    // Storage management
+
+    /**
+     * Writes all changes to the storage device holding the file.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void force() throws IOException {
+        if (header == null)
+            throw new IllegalStateException("Deque closed");
+        header.force();
+        for (MappedByteBuffer region : regions)
+            region.force();
+        channel.force(false);
+    }
+
+    /**
+     * Writes all changes to the storage device and closes the file.  The
+     * mappings are released once they become unreachable; this deque must
+     * not be used afterwards.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void close() throws IOException {
+        if (header == null)
+            return;
+        try {
+            force();
+        } finally {
+            header = null;
+            regions.clear();
+            at = null;
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package cn.edu.ctgu;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * Hash index from the elements of a {@link LinkedList} to the nodes holding
+ * them, giving {@code O(1)} expected membership tests and removal by value.
+ *
+ * <p>An element held by a single node maps to that node; an element held by
+ * several nodes maps to a {@link Bag} of them.  A bag stays in list order as
+ * long as its nodes are linked at either end of the list, so the first and
+ * last occurrences are at its ends.  A node linked (or given the element)
+ * in the interior of the list marks its bag unordered, and the next query
+ * for the first or last occurrence sorts the bag with one pass over the
+ * list.  Lists without duplicates never pay for that pass.
+ *
+ * <p>The owning list reports every node it links or unlinks and every item
+ * it replaces.  Bulk operations call {@link #invalidate} instead; the index
+ * is then rebuilt in one {@code O(n)} pass on the next query.  Elements
+ * must not be mutated in a way that changes their hash code while they are
+ * in the list.
+ *
+ * <p>This class is not thread-safe; it is guarded by whatever guards the
+ * owning list.
+ *
+ * @param <E> the type of elements held in the owning list
+ */
+final class MembershipIndex<E> {
+    private final LinkedList<E> list;
+
+    /**
+     * Element to node or bag of nodes; null while the index is stale.
+     */
+    private HashMap<Object, Object> map;
+
+    MembershipIndex(LinkedList<E> list) {
+        this.list = list;
+    }
+
+    /**
+     * Returns whether the owning list contains an element equal to o.
+     */
+    boolean contains(Object o) {
+        return validate().containsKey(o);
+    }
+
+    /**
+     * Returns the first node holding an element equal to o, or null.
+     */
+    @SuppressWarnings("unchecked")
+    LinkedList.Node<E> first(Object o) {
+        final Object v = validate().get(o);
+        if (v instanceof Bag)
+            return ordered(o, (Bag<E>) v).nodes.peekFirst();
+        return node(v);
+    }
+
+    /**
+     * Returns the last node holding an element equal to o, or null.
+     */
+    @SuppressWarnings("unchecked")
+    LinkedList.Node<E> last(Object o) {
+        final Object v = validate().get(o);
+        if (v instanceof Bag)
+            return ordered(o, (Bag<E>) v).nodes.peekLast();
+        return node(v);
+    }
+
+    /**
+     * Records that node x has just been linked into the list.
+     */
+    void linked(LinkedList.Node<E> x) {
+        if (map != null)
+            add(x, x.prev == null ? AT_FIRST : (x.next == null ? AT_LAST : INSIDE));
+    }
+
+    /**
+     * Records that node x, which held element, has just been unlinked or
+     * given a different item.
+     */
+    void unlinked(LinkedList.Node<E> x, Object element) {
+        final HashMap<Object, Object> m = map;
+        if (m == null)
+            return;
+        final Object v = m.get(element);
+        if (v == x) {
+            m.remove(element);
+        } else if (v instanceof Bag) {
+            @SuppressWarnings("unchecked")
+            final ArrayDeque<LinkedList.Node<E>> nodes = ((Bag<E>) v).nodes;
+            if (nodes.peekFirst() == x)
+                nodes.pollFirst();
+            else if (nodes.peekLast() == x)
+                nodes.pollLast();
+            else
+                nodes.removeFirstOccurrence(x);
+            if (nodes.size() == 1)
+                m.put(element, nodes.peekFirst());
+        } else {
+            // The element's hash code changed while it was in the list.
+            invalidate();
+        }
+    }
+
+    /**
+     * Records that node x has been given a new item in place.
+     */
+    void replaced(LinkedList.Node<E> x, Object oldItem) {
+        unlinked(x, oldItem);
+        linked(x);
+    }
+
+    /**
+     * Marks the index as no longer reflecting the list.
+     */
+    void invalidate() {
+        map = null;
+    }
+
+    private static final int AT_FIRST = 0;
+    private static final int AT_LAST = 1;
+    private static final int INSIDE = 2;
+
+    private void add(LinkedList.Node<E> x, int where) {
+        final HashMap<Object, Object> m = map;
+        final Object key = x.item;
+        final Object v = m.putIfAbsent(key, x);
+        if (v == null)
+            return;
+        final Bag<E> bag;
+        if (v instanceof Bag) {
+            @SuppressWarnings("unchecked")
+            final Bag<E> b = (Bag<E>) v;
+            bag = b;
+        } else {
+            bag = new Bag<>();
+            bag.nodes.add(node(v));
+            m.put(key, bag);
+        }
+        if (where == AT_FIRST) {
+            bag.nodes.addFirst(x);
+        } else {
+            bag.nodes.addLast(x);
+            if (where == INSIDE)
+                bag.ordered = false;
+        }
+    }
+
+    private HashMap<Object, Object> validate() {
+        if (map == null) {
+            map = new HashMap<>(Math.max((int) (list.size / .75f) + 1, 16));
+            for (LinkedList.Node<E> x = list.first; x != null; x = x.next)
+                add(x, AT_LAST);
+        }
+        return map;
+    }
+
+    /**
+     * Restores the list order of an unordered bag of nodes holding o.
+     */
+    private Bag<E> ordered(Object o, Bag<E> bag) {
+        if (!bag.ordered) {
+            bag.nodes.clear();
+            for (LinkedList.Node<E> x = list.first; x != null; x = x.next) {
+                if (Objects.equals(o, x.item))
+                    bag.nodes.addLast(x);
+            }
+            bag.ordered = true;
+        }
+        return bag;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> LinkedList.Node<E> node(Object v) {
+        return (LinkedList.Node<E>) v;
+    }
+
+    /**
+     * Nodes holding equal elements, in list order while ordered is set.
+     */
+    private static final class Bag<E> {
+        final ArrayDeque<LinkedList.Node<E>> nodes = new ArrayDeque<>(4);
+        boolean ordered = true;
+    }
+}
@@ -0,0 +1,268 @@
+package cn.edu.ctgu;
+
+/**
+ * Indexable skip list over the nodes of a {@link LinkedList}, giving
+ * {@code O(log n)} expected positional lookup.
+ *
+ * <p>Every list node is promoted into the lowest index level with
+ * probability 1/4, and every index entry into the level above with the same
+ * probability.  Each entry records its <i>width</i>: the number of positions
+ * between it and the next entry on the same level, where the list's end
+ * counts as the position {@code size}.  Head sentinels sit at the virtual
+ * position -1.  A lookup moves right on each level while the next entry does
+ * not overshoot, descends, and finishes with a short walk over list links
+ * (three links on average).
+ *
+ * <p>The owning list reports every link and unlink whose position it knows
+ * through {@link #linked} and {@link #unlinked}, each costing
+ * {@code O(log n)} expected.  Operations that cannot supply a position (bulk
+ * inserts, unlinking a node found by identity) call {@link #invalidate}
+ * instead, and the index is rebuilt in one {@code O(n)} pass on the next
+ * lookup.
+ *
+ * <p>This class is not thread-safe; it is guarded by whatever guards the
+ * owning list.
+ *
+ * @param <E> the type of elements held in the owning list
+ */
+final class PositionalIndex<E> {
+    /**
+     * Maximum number of index levels; 4^15 exceeds any int-sized list.
+     */
+    private static final int MAX_LEVELS = 15;
+
+    private final LinkedList<E> list;
+
+    /**
+     * Top head sentinel; every level has one, linked through down.
+     */
+    private IndexNode<E> head;
+
+    /**
+     * Number of index levels below and including head.
+     */
+    private int levels;
+
+    /**
+     * Number of list positions covered; mirrors the list size while valid.
+     */
+    private int size;
+
+    /**
+     * Whether the index no longer reflects the list and must be rebuilt.
+     */
+    private boolean stale;
+
+    /**
+     * Xorshift state for choosing entry heights.
+     */
+    private int seed;
+
+    /**
+     * Scratch space for the per-level predecessors of an update.
+     */
+    private final IndexNode<E>[] update;
+    private final int[] updatePos;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    PositionalIndex(LinkedList<E> list) {
+        this.list = list;
+        this.update = (IndexNode<E>[]) new IndexNode[MAX_LEVELS];
+        this.updatePos = new int[MAX_LEVELS];
+        this.seed = System.identityHashCode(this) | 1;
+        this.stale = true;
+    }
+
+    /**
+     * Returns the (non-null) list node at the specified element index,
+     * rebuilding the index first if it is stale.
+     */
+    LinkedList.Node<E> node(int index) {
+        // assert index >= 0 && index < list.size;
+        validate();
+        IndexNode<E> h = head;
+        int pos = -1;
+        for (;;) {
+            while (h.right != null && pos + h.width <= index) {
+                pos += h.width;
+                h = h.right;
+            }
+            if (h.down == null)
+                break;
+            h = h.down;
+        }
+        LinkedList.Node<E> x;
+        if (pos < 0) {
+            x = list.first;
+            pos = 0;
+        } else {
+            x = h.node;
+        }
+        for (; pos < index; pos++)
+            x = x.next;
+        return x;
+    }
+
+    /**
+     * Rebuilds the index if it is stale.  Afterwards, and until the list
+     * is next modified, {@link #node} only reads the index and may be
+     * called from several threads at once.
+     */
+    void validate() {
+        if (stale)
+            rebuild();
+    }
+
+    /**
+     * Records that node x has just been linked at position index.
+     */
+    void linked(LinkedList.Node<E> x, int index) {
+        if (stale)
+            return;
+        final int height = randomHeight();
+        while (levels < height)
+            addLevel();
+        findPredecessors(index);
+        IndexNode<E> below = null;
+        for (int level = 0; level < levels; level++) {
+            final IndexNode<E> h = update[level];
+            final int pos = updatePos[level];
+            if (level < height) {
+                final IndexNode<E> e = new IndexNode<>(x, h.right, below);
+                e.width = pos + h.width + 1 - index;
+                h.right = e;
+                h.width = index - pos;
+                below = e;
+            } else {
+                h.width++;
+            }
+        }
+        size++;
+    }
+
+    /**
+     * Records that node x, formerly at position index, has just been
+     * unlinked.
+     */
+    void unlinked(LinkedList.Node<E> x, int index) {
+        if (stale)
+            return;
+        findPredecessors(index);
+        for (int level = 0; level < levels; level++) {
+            final IndexNode<E> h = update[level];
+            final IndexNode<E> r = h.right;
+            if (r != null && r.node == x) {
+                h.width += r.width - 1;
+                h.right = r.right;
+            } else {
+                h.width--;
+            }
+        }
+        size--;
+        while (levels > 1 && head.right == null) {
+            head = head.down;
+            levels--;
+        }
+    }
+
+    /**
+     * Marks the index as no longer reflecting the list.
+     */
+    void invalidate() {
+        stale = true;
+        head = null;
+        levels = 0;
+    }
+
+    /**
+     * Stores in update[level] the last entry strictly before position index
+     * on every level, and its position in updatePos[level].
+     */
+    private void findPredecessors(int index) {
+        IndexNode<E> h = head;
+        int pos = -1;
+        for (int level = levels - 1; level >= 0; level--) {
+            while (h.right != null && pos + h.width < index) {
+                pos += h.width;
+                h = h.right;
+            }
+            update[level] = h;
+            updatePos[level] = pos;
+            h = h.down;
+        }
+    }
+
+    private void addLevel() {
+        final IndexNode<E> h = new IndexNode<>(null, null, head);
+        h.width = size + 1;
+        head = h;
+        levels++;
+    }
+
+    /**
+     * Rebuilds all levels from the list's links in one pass.
+     */
+    private void rebuild() {
+        head = null;
+        levels = 0;
+        size = 0;
+        addLevel();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final IndexNode<E>[] tail = (IndexNode<E>[]) new IndexNode[MAX_LEVELS];
+        final int[] tailPos = new int[MAX_LEVELS];
+        tail[0] = head;
+        tailPos[0] = -1;
+        int pos = 0;
+        for (LinkedList.Node<E> x = list.first; x != null; x = x.next, pos++) {
+            final int height = randomHeight();
+            while (levels < height) {
+                addLevel();
+                tail[levels - 1] = head;
+                tailPos[levels - 1] = -1;
+            }
+            IndexNode<E> below = null;
+            for (int level = 0; level < height; level++) {
+                final IndexNode<E> e = new IndexNode<>(x, null, below);
+                tail[level].right = e;
+                tail[level].width = pos - tailPos[level];
+                tail[level] = e;
+                tailPos[level] = pos;
+                below = e;
+            }
+        }
+        size = pos;
+        for (int level = 0; level < levels; level++)
+            tail[level].width = size - tailPos[level];
+        stale = false;
+    }
+
+    /**
+     * Returns a height in [0, MAX_LEVELS] with P(height >= k) = 4^-k.
+     */
+    private int randomHeight() {
+        int r = seed;
+        r ^= r << 13;
+        r ^= r >>> 17;
+        r ^= r << 5;
+        seed = r;
+        int height = 0;
+        while ((r & 3) == 0 && height < MAX_LEVELS) {
+            height++;
+            r >>>= 2;
+        }
+        return height;
+    }
+
+    private static final class IndexNode<E> {
+        final LinkedList.Node<E> node;
+        final IndexNode<E> down;
+        IndexNode<E> right;
+        int width;
+
+        IndexNode(LinkedList.Node<E> node, IndexNode<E> right, IndexNode<E> down) {
+            this.node = node;
+            this.right = right;
+            this.down = down;
+        }
+    }
+}
@@ -0,0 +1,1145 @@
+package cn.edu.ctgu;
+
+import java.util.AbstractSequentialList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Run-length encoded doubly-linked list implementation of the {@code List}
+ * and {@code Deque} interfaces.  Behaves like {@link LinkedList} and
+ * permits all elements (including {@code null}), but every node holds one
+ * element and the number of consecutive positions it occupies, so a list
+ * dominated by long runs of equal elements costs memory and traversal time
+ * in proportion to its number of runs rather than its size.
+ *
+ * <p>Adjacent equal elements are always kept in a single run: adding an
+ * element next to an equal one lengthens the run, inserting a different
+ * element inside a run splits it in three, and removing or replacing
+ * elements merges runs that become adjacent and equal.  Positional
+ * operations walk runs instead of elements, so {@code get}, {@code set},
+ * {@code add(int, E)} and {@code remove(int)} cost {@code O(r)} link hops
+ * for a list of {@code r} runs, and {@code indexOf} compares each run once.
+ * {@link #addRun(Object, int)} appends a whole run in constant time.
+ *
+ * <p>Because a run stores its element once, equal elements are not kept
+ * apart: {@code get} returns the instance that started the run, which may
+ * be a different (but equal) object from the one added at that position.
+ * The list suits elements whose identity does not matter, such as enum
+ * constants, boxed numbers and strings.  Elements must not be mutated in a
+ * way that changes {@code equals} while they are in the list.
+ *
+ * <p><strong>Memory footprint.</strong>  On a 64-bit HotSpot VM with
+ * compressed oops a run takes 32 bytes (a 12-byte header, three references
+ * and a count), against 24 bytes per element for {@link LinkedList}.  A
+ * list of ten million status markers in runs of a thousand therefore drops
+ * from about 240 MB to about 320 KB; a list without repeated neighbours
+ * costs a third more than a {@code LinkedList}.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * The iterators returned by this class's {@code iterator} and
+ * {@code listIterator} methods are <i>fail-fast</i> in exactly the same way
+ * as those of {@link LinkedList}: any structural modification not made
+ * through the iterator itself causes the next iterator operation to throw a
+ * {@link ConcurrentModificationException} on a best-effort basis.  A
+ * {@code set} is not a structural modification even when it splits or
+ * merges runs; open iterators find their position again on their next
+ * operation.
+ *
+ * @param <E> the type of elements held in this collection
+ * @see LinkedList
+ * @see UnrolledLinkedList
+ */
+public class RunLengthLinkedList<E>
+        extends AbstractSequentialList<E>
+        implements List<E>, Deque<E>, Cloneable, java.io.Serializable {
+
+    transient int size = 0;
+
+    /**
+     * Number of times a replacement changed the runs without changing the
+     * size, which moves iterator positions without being a structural
+     * modification.
+     */
+    transient int layoutCount = 0;
+
+    /**
+     * Pointer to first run.
+     */
+    transient Node first;
+
+    /**
+     * Pointer to last run.
+     */
+    transient Node last;
+
+    /**
+     * Constructs an empty list.
+     */
+    public RunLengthLinkedList() {
+    }
+
+    /**
+     * Constructs a list containing the elements of the specified
+     * collection, in the order they are returned by the collection's
+     * iterator.
+     *
+     * @param c the collection whose elements are to be placed into this list
+     * @throws NullPointerException if the specified collection is null
+     */
+    public RunLengthLinkedList(Collection<? extends E> c) {
+        this();
+        addAll(c);
+    }
+
+    /**
+     * Returns the number of runs of equal elements currently backing this
+     * list.  Intended for footprint diagnostics.
+     *
+     * @return the number of runs
+     */
+    public int runCount() {
+        int n = 0;
+        for (Node x = first; x != null; x = x.next)
+            n++;
+        return n;
+    }
+
+    /**
+     * Appends {@code count} copies of the specified element to the end of
+     * this list, in constant time.
+     *
+     * @param e     the element to add
+     * @param count the number of copies to add
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void addRun(E e, int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("Illegal count: " + count);
+        if (count == 0)
+            return;
+        final Node l = last;
+        if (l != null && Objects.equals(l.item, e))
+            l.count += count;
+        else
+            linkNodeAfter(l, e, count);
+        size += count;
+        modCount++;
+    }
+
+    // Run management
+
+    /**
+     * Links a new run of count copies of item after pred (or as first run
+     * if pred is null).
+     */
+    private Node linkNodeAfter(Node pred, Object item, int count) {
+        final Node succ = (pred == null) ? first : pred.next;
+        final Node newNode = new Node(pred, item, count, succ);
+        if (pred == null)
+            first = newNode;
+        else
+            pred.next = newNode;
+        if (succ == null)
+            last = newNode;
+        else
+            succ.prev = newNode;
+        return newNode;
+    }
+
+    /**
+     * Unlinks the run x.
+     */
+    private void unlinkNode(Node x) {
+        final Node next = x.next;
+        final Node prev = x.prev;
+        if (prev == null)
+            first = next;
+        else
+            prev.next = next;
+        if (next == null)
+            last = prev;
+        else
+            next.prev = prev;
+        x.item = null;
+        x.next = x.prev = null;
+    }
+
+    /**
+     * Absorbs x.next into x if both hold equal elements.  The caller's
+     * cursor is adjusted to keep pointing at the same element.
+     */
+    private void mergeWithNext(Node x, Cursor c) {
+        final Node y = x.next;
+        if (y == null || !Objects.equals(x.item, y.item))
+            return;
+        if (c.node == y) {
+            c.node = x;
+            c.offset += x.count;
+        }
+        x.count += y.count;
+        unlinkNode(y);
+    }
+
+    /**
+     * Merges the run under cursor c with equal neighbours on either side,
+     * keeping c on the same element.
+     */
+    private void coalesce(Cursor c) {
+        final Node x = c.node;
+        mergeWithNext(x, c);
+        if (x.prev != null)
+            mergeWithNext(x.prev, c);
+    }
+
+    /**
+     * Inserts e before the element under cursor c (or at the end of the
+     * list if c is past the end).  Leaves c on the same element it pointed
+     * at before the call.
+     */
+    private void insertAt(Cursor c, E e) {
+        final Node x = c.node;
+        if (x == null) {
+            linkLast(e);
+            return;
+        }
+        if (Objects.equals(x.item, e)) {
+            x.count++;
+            c.offset++;
+        } else if (c.offset == 0) {
+            final Node p = x.prev;
+            if (p != null && Objects.equals(p.item, e))
+                p.count++;
+            else
+                linkNodeAfter(p, e, 1);
+        } else {
+            // Split x around the insertion point.
+            final Node rest = linkNodeAfter(x, x.item, x.count - c.offset);
+            x.count = c.offset;
+            linkNodeAfter(x, e, 1);
+            c.node = rest;
+            c.offset = 0;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the element under cursor c and moves c to the element that
+     * followed it (or past the end of the list).
+     */
+    @SuppressWarnings("unchecked")
+    private E removeAt(Cursor c) {
+        final Node x = c.node;
+        final E element = (E) x.item;
+        if (--x.count == 0) {
+            final Node prev = x.prev;
+            final Node next = x.next;
+            unlinkNode(x);
+            c.set(next);
+            if (prev != null)
+                mergeWithNext(prev, c);
+        } else if (c.offset == x.count) {
+            c.set(x.next);
+        }
+        size--;
+        modCount++;
+        return element;
+    }
+
+    /**
+     * Replaces the element under cursor c by e, splitting and merging runs
+     * as needed, and leaves c on the replaced element.
+     */
+    @SuppressWarnings("unchecked")
+    private E replaceAt(Cursor c, E e) {
+        final Node x = c.node;
+        final E oldVal = (E) x.item;
+        if (Objects.equals(oldVal, e))
+            return oldVal;
+        layoutCount++;
+        if (x.count == 1) {
+            x.item = e;
+        } else if (c.offset == 0) {
+            x.count--;
+            c.set(linkNodeAfter(x.prev, e, 1));
+        } else if (c.offset == x.count - 1) {
+            x.count--;
+            c.set(linkNodeAfter(x, e, 1));
+        } else {
+            // The new run sits strictly inside x, so it has no equal neighbour.
+            linkNodeAfter(x, oldVal, x.count - c.offset - 1);
+            x.count = c.offset;
+            c.set(linkNodeAfter(x, e, 1));
+            return oldVal;
+        }
+        coalesce(c);
+        return oldVal;
+    }
+
+    /**
+     * Returns a cursor positioned at the specified element index, or past
+     * the end of the list if index equals size.
+     */
+    Cursor cursor(int index) {
+        // assert isPositionIndex(index);
+        final Cursor c = new Cursor();
+        if (index == size) {
+            return c;
+        }
+        if (index < (size >> 1)) {
+            Node x = first;
+            int remaining = index;
+            while (remaining >= x.count) {
+                remaining -= x.count;
+                x = x.next;
+            }
+            c.node = x;
+            c.offset = remaining;
+        } else {
+            Node x = last;
+            int remaining = size - 1 - index;
+            while (remaining >= x.count) {
+                remaining -= x.count;
+                x = x.prev;
+            }
+            c.node = x;
+            c.offset = x.count - 1 - remaining;
+        }
+        return c;
+    }
+
+    /**
+     * Moves cursor c to the next element (or past the end of the list).
+     */
+    private static void advance(Cursor c) {
+        if (++c.offset == c.node.count)
+            c.set(c.node.next);
+    }
+
+    /**
+     * Moves cursor c, which is not at the first element, to the previous
+     * element.
+     */
+    private void retreat(Cursor c) {
+        if (c.node == null) {
+            c.node = last;
+            c.offset = last.count - 1;
+        } else if (c.offset == 0) {
+            c.node = c.node.prev;
+            c.offset = c.node.count - 1;
+        } else {
+            c.offset--;
+        }
+    }
+
+    /**
+     * Links e as first element.
+     */
+    private void linkFirst(E e) {
+        final Node f = first;
+        if (f != null && Objects.equals(f.item, e))
+            f.count++;
+        else
+            linkNodeAfter(null, e, 1);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Links e as last element.
+     */
+    void linkLast(E e) {
+        final Node l = last;
+        if (l != null && Objects.equals(l.item, e))
+            l.count++;
+        else
+            linkNodeAfter(l, e, 1);
+        size++;
+        modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E unlinkFirst(Node f) {
+        // assert f == first && f != null;
+        final E element = (E) f.item;
+        if (--f.count == 0)
+            unlinkNode(f);
+        size--;
+        modCount++;
+        return element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E unlinkLast(Node l) {
+        // assert l == last && l != null;
+        final E element = (E) l.item;
+        if (--l.count == 0)
+            unlinkNode(l);
+        size--;
+        modCount++;
+        return element;
+    }
+
+    // List and Deque operations
+
+    /**
+     * Returns the first element in this list.
+     *
+     * @return the first element in this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E getFirst() {
+        final Node f = first;
+        if (f == null)
+            throw new NoSuchElementException();
+        return (E) f.item;
+    }
+
+    /**
+     * Returns the last element in this list.
+     *
+     * @return the last element in this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E getLast() {
+        final Node l = last;
+        if (l == null)
+            throw new NoSuchElementException();
+        return (E) l.item;
+    }
+
+    /**
+     * Removes and returns the first element from this list.
+     *
+     * @return the first element from this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public E removeFirst() {
+        final Node f = first;
+        if (f == null)
+            throw new NoSuchElementException();
+        return unlinkFirst(f);
+    }
+
+    /**
+     * Removes and returns the last element from this list.
+     *
+     * @return the last element from this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public E removeLast() {
+        final Node l = last;
+        if (l == null)
+            throw new NoSuchElementException();
+        return unlinkLast(l);
+    }
+
+    /**
+     * Inserts the specified element at the beginning of this list.
+     *
+     * @param e the element to add
+     */
+    public void addFirst(E e) {
+        linkFirst(e);
+    }
+
+    /**
+     * Appends the specified element to the end of this list.
+     *
+     * @param e the element to add
+     */
+    public void addLast(E e) {
+        linkLast(e);
+    }
+
+    /**
+     * Returns {@code true} if this list contains the specified element.
+     *
+     * @param o element whose presence in this list is to be tested
+     * @return {@code true} if this list contains the specified element
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     *
+     * @return the number of elements in this list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends the specified element to the end of this list.
+     *
+     * @param e element to be appended to this list
+     * @return {@code true} (as specified by {@link Collection#add})
+     */
+    public boolean add(E e) {
+        linkLast(e);
+        return true;
+    }
+
+    /**
+     * Removes the first occurrence of the specified element from this list,
+     * if it is present.
+     *
+     * @param o element to be removed from this list, if present
+     * @return {@code true} if this list contained the specified element
+     */
+    public boolean remove(Object o) {
+        for (Node x = first; x != null; x = x.next) {
+            if (Objects.equals(o, x.item)) {
+                final Cursor c = new Cursor();
+                c.set(x);
+                removeAt(c);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes all of the elements from this list.
+     * The list will be empty after this call returns.
+     */
+    public void clear() {
+        for (Node x = first; x != null; ) {
+            Node next = x.next;
+            x.item = null;
+            x.next = null;
+            x.prev = null;
+            x = next;
+        }
+        first = last = null;
+        size = 0;
+        modCount++;
+    }
+
+    // Positional Access Operations
+
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index index of the element to return
+     * @return the element at the specified position in this list
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkElementIndex(index);
+        return (E) cursor(index).node.item;
+    }
+
+    /**
+     * Replaces the element at the specified position in this list with the
+     * specified element.
+     *
+     * @param index   index of the element to replace
+     * @param element element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public E set(int index, E element) {
+        checkElementIndex(index);
+        return replaceAt(cursor(index), element);
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this list.
+     *
+     * @param index   index at which the specified element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public void add(int index, E element) {
+        checkPositionIndex(index);
+        if (index == size)
+            linkLast(element);
+        else if (index == 0)
+            linkFirst(element);
+        else
+            insertAt(cursor(index), element);
+    }
+
+    /**
+     * Removes the element at the specified position in this list.
+     *
+     * @param index the index of the element to be removed
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public E remove(int index) {
+        checkElementIndex(index);
+        return removeAt(cursor(index));
+    }
+
+    private boolean isElementIndex(int index) {
+        return index >= 0 && index < size;
+    }
+
+    private boolean isPositionIndex(int index) {
+        return index >= 0 && index <= size;
+    }
+
+    private String outOfBoundsMsg(int index) {
+        return "Index: " + index + ", Size: " + size;
+    }
+
+    private void checkElementIndex(int index) {
+        if (!isElementIndex(index))
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+
+    private void checkPositionIndex(int index) {
+        if (!isPositionIndex(index))
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+
+    // Search Operations
+
+    /**
+     * Returns the index of the first occurrence of the specified element
+     * in this list, or -1 if this list does not contain the element.
+     *
+     * @param o element to search for
+     * @return the index of the first occurrence of the specified element in
+     * this list, or -1 if this list does not contain the element
+     */
+    public int indexOf(Object o) {
+        int index = 0;
+        for (Node x = first; x != null; x = x.next) {
+            if (Objects.equals(o, x.item))
+                return index;
+            index += x.count;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last occurrence of the specified element
+     * in this list, or -1 if this list does not contain the element.
+     *
+     * @param o element to search for
+     * @return the index of the last occurrence of the specified element in
+     * this list, or -1 if this list does not contain the element
+     */
+    public int lastIndexOf(Object o) {
+        int index = size;
+        for (Node x = last; x != null; x = x.prev) {
+            if (Objects.equals(o, x.item))
+                return index - 1;
+            index -= x.count;
+        }
+        return -1;
+    }
+
+    // Queue operations.
+
+    /**
+     * Retrieves, but does not remove, the head (first element) of this list.
+     *
+     * @return the head of this list, or {@code null} if this list is empty
+     */
+    public E peek() {
+        return peekFirst();
+    }
+
+    /**
+     * Retrieves, but does not remove, the head (first element) of this list.
+     *
+     * @return the head of this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public E element() {
+        return getFirst();
+    }
+
+    /**
+     * Retrieves and removes the head (first element) of this list.
+     *
+     * @return the head of this list, or {@code null} if this list is empty
+     */
+    public E poll() {
+        return pollFirst();
+    }
+
+    /**
+     * Retrieves and removes the head (first element) of this list.
+     *
+     * @return the head of this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public E remove() {
+        return removeFirst();
+    }
+
+    /**
+     * Adds the specified element as the tail (last element) of this list.
+     *
+     * @param e the element to add
+     * @return {@code true} (as specified by {@link java.util.Queue#offer})
+     */
+    public boolean offer(E e) {
+        return add(e);
+    }
+
+    // Deque operations
+
+    /**
+     * Inserts the specified element at the front of this list.
+     *
+     * @param e the element to insert
+     * @return {@code true} (as specified by {@link Deque#offerFirst})
+     */
+    public boolean offerFirst(E e) {
+        addFirst(e);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element at the end of this list.
+     *
+     * @param e the element to insert
+     * @return {@code true} (as specified by {@link Deque#offerLast})
+     */
+    public boolean offerLast(E e) {
+        addLast(e);
+        return true;
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this list,
+     * or returns {@code null} if this list is empty.
+     *
+     * @return the first element of this list, or {@code null}
+     * if this list is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E peekFirst() {
+        final Node f = first;
+        return (f == null) ? null : (E) f.item;
+    }
+
+    /**
+     * Retrieves, but does not remove, the last element of this list,
+     * or returns {@code null} if this list is empty.
+     *
+     * @return the last element of this list, or {@code null}
+     * if this list is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E peekLast() {
+        final Node l = last;
+        return (l == null) ? null : (E) l.item;
+    }
+
+    /**
+     * Retrieves and removes the first element of this list,
+     * or returns {@code null} if this list is empty.
+     *
+     * @return the first element of this list, or {@code null} if
+     * this list is empty
+     */
+    public E pollFirst() {
+        final Node f = first;
+        return (f == null) ? null : unlinkFirst(f);
+    }
+
+    /**
+     * Retrieves and removes the last element of this list,
+     * or returns {@code null} if this list is empty.
+     *
+     * @return the last element of this list, or {@code null} if
+     * this list is empty
+     */
+    public E pollLast() {
+        final Node l = last;
+        return (l == null) ? null : unlinkLast(l);
+    }
+
+    /**
+     * Pushes an element onto the stack represented by this list.
+     *
+     * @param e the element to push
+     */
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    /**
+     * Pops an element from the stack represented by this list.
+     *
+     * @return the element at the front of this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public E pop() {
+        return removeFirst();
+    }
+
+    /**
+     * Removes the first occurrence of the specified element in this
+     * list (when traversing the list from head to tail).
+     *
+     * @param o element to be removed from this list, if present
+     * @return {@code true} if the list contained the specified element
+     */
+    public boolean removeFirstOccurrence(Object o) {
+        return remove(o);
+    }
+
+    /**
+     * Removes the last occurrence of the specified element in this
+     * list (when traversing the list from head to tail).
+     *
+     * @param o element to be removed from this list, if present
+     * @return {@code true} if the list contained the specified element
+     */
+    public boolean removeLastOccurrence(Object o) {
+        for (Node x = last; x != null; x = x.prev) {
+            if (Objects.equals(o, x.item)) {
+                final Cursor c = new Cursor();
+                c.node = x;
+                c.offset = x.count - 1;
+                removeAt(c);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a list-iterator of the elements in this list (in proper
+     * sequence), starting at the specified position in the list.
+     * The list-iterator is <i>fail-fast</i>.
+     *
+     * @param index index of the first element to be returned from the
+     *              list-iterator (by a call to {@code next})
+     * @return a ListIterator of the elements in this list (in proper
+     * sequence), starting at the specified position in the list
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public ListIterator<E> listIterator(int index) {
+        checkPositionIndex(index);
+        return new ListItr(index);
+    }
+
+    /**
+     * Returns an iterator over the elements in this list in reverse order.
+     *
+     * @return an iterator over the elements in this list in reverse order
+     */
+    public Iterator<E> descendingIterator() {
+        return new DescendingIterator();
+    }
+
+    /**
+     * Creates a <em>late-binding</em> and <em>fail-fast</em>
+     * {@link Spliterator} over the elements in this list, reporting
+     * {@link Spliterator#SIZED} and {@link Spliterator#ORDERED}.
+     *
+     * @return a {@code Spliterator} over the elements in this list
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(this, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns an array containing all of the elements in this list
+     * in proper sequence (from first to last element).
+     *
+     * @return an array containing all of the elements in this list
+     * in proper sequence
+     */
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        int i = 0;
+        for (Node x = first; x != null; x = x.next) {
+            Arrays.fill(result, i, i + x.count, x.item);
+            i += x.count;
+        }
+        return result;
+    }
+
+    /**
+     * Returns an array containing all of the elements in this list in
+     * proper sequence; the runtime type of the returned array is that of
+     * the specified array.
+     *
+     * @param a the array into which the elements of the list are to
+     *          be stored, if it is big enough; otherwise, a new array of the
+     *          same runtime type is allocated for this purpose.
+     * @return an array containing the elements of the list
+     * @throws ArrayStoreException  if the runtime type of the specified array
+     *                              is not a supertype of the runtime type of
+     *                              every element in this list
+     * @throws NullPointerException if the specified array is null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        if (a.length < size)
+            a = (T[]) java.lang.reflect.Array.newInstance(
+                    a.getClass().getComponentType(), size);
+        int i = 0;
+        for (Node x = first; x != null; x = x.next) {
+            Arrays.fill(a, i, i + x.count, x.item);
+            i += x.count;
+        }
+        if (a.length > size)
+            a[size] = null;
+        return a;
+    }
+
+    /**
+     * Returns a shallow copy of this {@code RunLengthLinkedList}. (The
+     * elements themselves are not cloned.)
+     *
+     * @return a shallow copy of this {@code RunLengthLinkedList} instance
+     */
+    @SuppressWarnings("unchecked")
+    public Object clone() {
+        final RunLengthLinkedList<E> clone;
+        try {
+            clone = (RunLengthLinkedList<E>) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+        clone.first = clone.last = null;
+        clone.size = 0;
+        clone.modCount = 0;
+        clone.layoutCount = 0;
+        for (Node x = first; x != null; x = x.next)
+            clone.addRun((E) x.item, x.count);
+        return clone;
+    }
+
+    @java.io.Serial
+    private static final long serialVersionUID = 3370541865713926190L;
+
+    /**
+     * Saves the state of this {@code RunLengthLinkedList} instance to a
+     * stream (that is, serializes it).
+     *
+     * @serialData The number of runs is emitted (int), followed by each run
+     * in the proper order: its element (an Object) and its length (int).
+     */
+    @java.io.Serial
+    private void writeObject(java.io.ObjectOutputStream s)
+            throws java.io.IOException {
+        s.defaultWriteObject();
+        s.writeInt(runCount());
+        for (Node x = first; x != null; x = x.next) {
+            s.writeObject(x.item);
+            s.writeInt(x.count);
+        }
+    }
+
+    /**
+     * Reconstitutes this {@code RunLengthLinkedList} instance from a
+     * stream.
+     */
+    @SuppressWarnings("unchecked")
+    @java.io.Serial
+    private void readObject(java.io.ObjectInputStream s)
+            throws java.io.IOException, ClassNotFoundException {
+        s.defaultReadObject();
+        int runs = s.readInt();
+        for (int i = 0; i < runs; i++) {
+            final E e = (E) s.readObject();
+            final int count = s.readInt();
+            if (count <= 0 || size + count < 0)
+                throw new java.io.InvalidObjectException("Illegal run length: " + count);
+            addRun(e, count);
+        }
+    }
+
+    /**
+     * A run of count (at least one) consecutive copies of item.
+     */
+    static final class Node {
+        Object item;
+        int count;
+        Node prev;
+        Node next;
+
+        Node(Node prev, Object item, int count, Node next) {
+            this.item = item;
+            this.count = count;
+            this.prev = prev;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Position of an element: a run and an offset into it.  A null node
+     * denotes the position just past the last element.
+     */
+    static final class Cursor {
+        Node node;
+        int offset;
+
+        void set(Node x) {
+            node = x;
+            offset = 0;
+        }
+    }
+
+    private class ListItr implements ListIterator<E> {
+        private final Cursor next;
+        private int lastReturned = -1;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+        private int expectedLayoutCount = layoutCount;
+
+        ListItr(int index) {
+            // assert isPositionIndex(index);
+            next = cursor(index);
+            nextIndex = index;
+        }
+
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            relocate();
+            final E e = (E) next.node.item;
+            advance(next);
+            lastReturned = nextIndex++;
+            return e;
+        }
+
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E previous() {
+            checkForComodification();
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+
+            relocate();
+            retreat(next);
+            lastReturned = --nextIndex;
+            return (E) next.node.item;
+        }
+
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        public void remove() {
+            checkForComodification();
+            if (lastReturned < 0)
+                throw new IllegalStateException();
+
+            relocate();
+            if (lastReturned < nextIndex) {
+                retreat(next);
+                nextIndex--;
+            }
+            removeAt(next);
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+
+        public void set(E e) {
+            if (lastReturned < 0)
+                throw new IllegalStateException();
+            checkForComodification();
+            relocate();
+            if (lastReturned < nextIndex) {
+                retreat(next);
+                replaceAt(next, e);
+                advance(next);
+            } else {
+                replaceAt(next, e);
+            }
+            expectedLayoutCount = layoutCount;
+        }
+
+        public void add(E e) {
+            checkForComodification();
+            relocate();
+            lastReturned = -1;
+            insertAt(next, e);
+            nextIndex++;
+            expectedModCount = modCount;
+        }
+
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            while (modCount == expectedModCount && nextIndex < size) {
+                relocate();
+                final E e = (E) next.node.item;
+                advance(next);
+                lastReturned = nextIndex++;
+                action.accept(e);
+            }
+            checkForComodification();
+        }
+
+        /**
+         * Finds the cursor position again after a replacement elsewhere
+         * has split or merged runs.
+         */
+        private void relocate() {
+            if (expectedLayoutCount != layoutCount) {
+                final Cursor c = cursor(nextIndex);
+                next.node = c.node;
+                next.offset = c.offset;
+                expectedLayoutCount = layoutCount;
+            }
+        }
+
+        final void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Adapter to provide descending iterators via ListItr.previous
+     */
+    private class DescendingIterator implements Iterator<E> {
+        private final ListItr itr = new ListItr(size());
+
+        public boolean hasNext() {
+            return itr.hasPrevious();
+        }
+
+        public E next() {
+            return itr.previous();
+        }
+
+        public void remove() {
+            itr.remove();
+        }
+    }
+}
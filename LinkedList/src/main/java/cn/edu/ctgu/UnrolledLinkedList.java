@@ -0,0 +1,1172 @@
+package cn.edu.ctgu;
+
+import java.util.AbstractSequentialList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Unrolled (chunked) doubly-linked list implementation of the {@code List}
+ * and {@code Deque} interfaces.  Behaves exactly like {@link LinkedList}
+ * and permits all elements (including {@code null}), but every node holds a
+ * small array of up to {@link #nodeCapacity()} elements instead of a single
+ * one.
+ *
+ * <p>Elements of a node occupy the window {@code items[start, end)} of the
+ * node's array, so elements can be added to and removed from either end of
+ * the list in constant time without shifting.  Inserting into a full node
+ * splits it in half; removing from a node that becomes sparse merges it with
+ * its successor when both fit into half a node.  Positional operations walk
+ * nodes instead of elements, so {@code get}, {@code set}, {@code add(int, E)}
+ * and {@code remove(int)} cost {@code O(n / nodeCapacity)} link hops plus an
+ * in-node shift of at most {@code nodeCapacity} slots, and {@code indexOf}
+ * scans contiguous arrays.
+ *
+ * <p><strong>Memory footprint.</strong>  Estimated retained heap per element
+ * (excluding the elements themselves) on a 64-bit HotSpot VM with compressed
+ * oops, where an object header is 12 bytes and every object is padded to 8
+ * bytes:
+ * <table>
+ * <caption>Per-element overhead</caption>
+ * <tr><th>Layout</th><th>Node</th><th>Array</th><th>Bytes/element</th></tr>
+ * <tr><td>{@code LinkedList}</td><td>24 per element</td><td>-</td>
+ *     <td>24</td></tr>
+ * <tr><td>unrolled, capacity 32, full</td><td>32 per node</td>
+ *     <td>16 + 32 &times; 4 = 144</td><td>5.5</td></tr>
+ * <tr><td>unrolled, capacity 32, half full</td><td>32 per node</td>
+ *     <td>144</td><td>11</td></tr>
+ * <tr><td>unrolled, capacity 64, full</td><td>32 per node</td>
+ *     <td>16 + 64 &times; 4 = 272</td><td>4.75</td></tr>
+ * </table>
+ * A list of ten million elements therefore drops from about 240 MB and ten
+ * million node objects to about 55 MB and roughly 312 thousand nodes when
+ * nodes are full, and the split/merge policy keeps nodes at least half full
+ * after a split, bounding the overhead at about 11 bytes per element for
+ * lists built by positional inserts.  Without compressed oops every figure
+ * roughly doubles, so the ratio stays the same.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * The iterators returned by this class's {@code iterator} and
+ * {@code listIterator} methods are <i>fail-fast</i> in exactly the same way
+ * as those of {@link LinkedList}: any structural modification not made
+ * through the iterator itself causes the next iterator operation to throw a
+ * {@link ConcurrentModificationException} on a best-effort basis.
+ *
+ * @param <E> the type of elements held in this collection
+ * @see LinkedList
+ */
+public class UnrolledLinkedList<E>
+        extends AbstractSequentialList<E>
+        implements List<E>, Deque<E>, Cloneable, java.io.Serializable {
+
+    /**
+     * Node capacity used by the no-argument constructor.
+     */
+    public static final int DEFAULT_NODE_CAPACITY = 32;
+
+    /**
+     * Smallest node capacity that still allows a full node to be split in
+     * two non-empty halves.
+     */
+    private static final int MIN_NODE_CAPACITY = 2;
+
+    private final int nodeCapacity;
+
+    transient int size = 0;
+
+    /**
+     * Pointer to first node.
+     */
+    transient Node first;
+
+    /**
+     * Pointer to last node.
+     */
+    transient Node last;
+
+    /**
+     * Constructs an empty list with the default node capacity.
+     */
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty list whose nodes hold up to {@code nodeCapacity}
+     * elements each.
+     *
+     * @param nodeCapacity the number of elements stored per node
+     * @throws IllegalArgumentException if {@code nodeCapacity} is less than 2
+     */
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < MIN_NODE_CAPACITY)
+            throw new IllegalArgumentException("Illegal node capacity: " + nodeCapacity);
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    /**
+     * Constructs a list containing the elements of the specified
+     * collection, in the order they are returned by the collection's
+     * iterator.
+     *
+     * @param c the collection whose elements are to be placed into this list
+     * @throws NullPointerException if the specified collection is null
+     */
+    public UnrolledLinkedList(Collection<? extends E> c) {
+        this();
+        addAll(c);
+    }
+
+    /**
+     * Returns the maximum number of elements stored in a single node.
+     *
+     * @return the node capacity of this list
+     */
+    public int nodeCapacity() {
+        return nodeCapacity;
+    }
+
+    /**
+     * Returns the number of nodes currently backing this list.  Intended
+     * for footprint diagnostics.
+     *
+     * @return the number of nodes
+     */
+    public int nodeCount() {
+        int n = 0;
+        for (Node x = first; x != null; x = x.next)
+            n++;
+        return n;
+    }
+
+    // Node management
+
+    /**
+     * Links a new empty node after pred (or as first node if pred is null).
+     */
+    private Node linkNodeAfter(Node pred) {
+        final Node succ = (pred == null) ? first : pred.next;
+        final Node newNode = new Node(nodeCapacity, pred, succ);
+        if (pred == null)
+            first = newNode;
+        else
+            pred.next = newNode;
+        if (succ == null)
+            last = newNode;
+        else
+            succ.prev = newNode;
+        return newNode;
+    }
+
+    /**
+     * Unlinks the (empty) node x.
+     */
+    private void unlinkNode(Node x) {
+        final Node next = x.next;
+        final Node prev = x.prev;
+        if (prev == null)
+            first = next;
+        else
+            prev.next = next;
+        if (next == null)
+            last = prev;
+        else
+            next.prev = prev;
+        x.next = x.prev = null;
+    }
+
+    /**
+     * Moves the upper half of full node x into a new node linked after it.
+     */
+    private void split(Node x) {
+        final Node y = linkNodeAfter(x);
+        final int mid = x.start + (x.end - x.start) / 2;
+        final int moved = x.end - mid;
+        System.arraycopy(x.items, mid, y.items, 0, moved);
+        Arrays.fill(x.items, mid, x.end, null);
+        y.start = 0;
+        y.end = moved;
+        x.end = mid;
+    }
+
+    /**
+     * Appends the elements of x.next to x and unlinks x.next if both fit
+     * into half a node.  The caller's cursor is adjusted to keep pointing at
+     * the same element.
+     */
+    private void mergeWithNext(Node x, Cursor c) {
+        final Node y = x.next;
+        if (y == null || x.count() + y.count() > nodeCapacity / 2)
+            return;
+        final int shift = x.start;
+        if (shift > 0) {
+            System.arraycopy(x.items, x.start, x.items, 0, x.count());
+            Arrays.fill(x.items, Math.max(x.count(), x.start), x.end, null);
+            x.end -= shift;
+            x.start = 0;
+        }
+        final int base = x.end;
+        System.arraycopy(y.items, y.start, x.items, base, y.count());
+        x.end += y.count();
+        if (c.node == x) {
+            c.pos -= shift;
+        } else if (c.node == y) {
+            c.node = x;
+            c.pos = base + (c.pos - y.start);
+        }
+        unlinkNode(y);
+    }
+
+    /**
+     * Inserts e before the element under cursor c (or at the end of the
+     * list if c is past the end).  Leaves c on the same element it pointed
+     * at before the call.
+     */
+    private void insertAt(Cursor c, E e) {
+        Node x = c.node;
+        if (x == null) {
+            linkLast(e);
+            return;
+        }
+        if (x.isFull()) {
+            split(x);
+            if (c.pos >= x.end) {
+                final Node y = x.next;
+                c.pos = c.pos - x.end + y.start;
+                x = c.node = y;
+            }
+        }
+        final Object[] items = x.items;
+        final int i = c.pos;
+        if (x.end < items.length) {
+            System.arraycopy(items, i, items, i + 1, x.end - i);
+            items[i] = e;
+            x.end++;
+            c.pos = i + 1;
+        } else {
+            System.arraycopy(items, x.start, items, x.start - 1, i - x.start);
+            items[i - 1] = e;
+            x.start--;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Removes the element under cursor c and moves c to the element that
+     * followed it (or past the end of the list).
+     */
+    @SuppressWarnings("unchecked")
+    private E removeAt(Cursor c) {
+        final Node x = c.node;
+        final Object[] items = x.items;
+        final int i = c.pos;
+        final E element = (E) items[i];
+        if (i - x.start < x.end - 1 - i) {
+            System.arraycopy(items, x.start, items, x.start + 1, i - x.start);
+            items[x.start++] = null;
+            c.pos = i + 1;
+        } else {
+            System.arraycopy(items, i + 1, items, i, x.end - 1 - i);
+            items[--x.end] = null;
+        }
+        size--;
+        modCount++;
+        if (x.start == x.end) {
+            final Node next = x.next;
+            unlinkNode(x);
+            c.set(next);
+        } else {
+            if (c.pos == x.end)
+                c.set(x.next);
+            if (x.count() <= nodeCapacity / 4)
+                mergeWithNext(x, c);
+        }
+        return element;
+    }
+
+    /**
+     * Returns a cursor positioned at the specified element index, or past
+     * the end of the list if index equals size.
+     */
+    Cursor cursor(int index) {
+        // assert isPositionIndex(index);
+        final Cursor c = new Cursor();
+        if (index == size) {
+            return c;
+        }
+        if (index < (size >> 1)) {
+            Node x = first;
+            int remaining = index;
+            while (remaining >= x.count()) {
+                remaining -= x.count();
+                x = x.next;
+            }
+            c.node = x;
+            c.pos = x.start + remaining;
+        } else {
+            Node x = last;
+            int remaining = size - 1 - index;
+            while (remaining >= x.count()) {
+                remaining -= x.count();
+                x = x.prev;
+            }
+            c.node = x;
+            c.pos = x.end - 1 - remaining;
+        }
+        return c;
+    }
+
+    /**
+     * Links e as first element.  A first node whose free slots all lie at
+     * its end is right-aligned only while it is at most half full, so that
+     * alternating deque operations stay amortized constant time.
+     */
+    private void linkFirst(E e) {
+        Node f = first;
+        if (f == null || f.start == 0) {
+            if (f != null && f.count() <= nodeCapacity / 2) {
+                final int n = f.count();
+                System.arraycopy(f.items, 0, f.items, nodeCapacity - n, n);
+                Arrays.fill(f.items, 0, Math.min(n, nodeCapacity - n), null);
+                f.start = nodeCapacity - n;
+                f.end = nodeCapacity;
+            } else {
+                f = linkNodeAfter(null);
+                f.start = f.end = nodeCapacity;
+            }
+        }
+        f.items[--f.start] = e;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Links e as last element, left-aligning a last node that is at most
+     * half full before giving up on it.
+     */
+    void linkLast(E e) {
+        Node l = last;
+        if (l == null || l.end == nodeCapacity) {
+            if (l != null && l.count() <= nodeCapacity / 2) {
+                final int n = l.count();
+                System.arraycopy(l.items, l.start, l.items, 0, n);
+                Arrays.fill(l.items, Math.max(n, l.start), nodeCapacity, null);
+                l.start = 0;
+                l.end = n;
+            } else {
+                l = linkNodeAfter(l);
+            }
+        }
+        l.items[l.end++] = e;
+        size++;
+        modCount++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E unlinkFirst(Node f) {
+        // assert f == first && f != null;
+        final E element = (E) f.items[f.start];
+        f.items[f.start++] = null;
+        if (f.start == f.end)
+            unlinkNode(f);
+        size--;
+        modCount++;
+        return element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E unlinkLast(Node l) {
+        // assert l == last && l != null;
+        final E element = (E) l.items[--l.end];
+        l.items[l.end] = null;
+        if (l.start == l.end)
+            unlinkNode(l);
+        size--;
+        modCount++;
+        return element;
+    }
+
+    // List and Deque operations
+
+    /**
+     * Returns the first element in this list.
+     *
+     * @return the first element in this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E getFirst() {
+        final Node f = first;
+        if (f == null)
+            throw new NoSuchElementException();
+        return (E) f.items[f.start];
+    }
+
+    /**
+     * Returns the last element in this list.
+     *
+     * @return the last element in this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E getLast() {
+        final Node l = last;
+        if (l == null)
+            throw new NoSuchElementException();
+        return (E) l.items[l.end - 1];
+    }
+
+    /**
+     * Removes and returns the first element from this list.
+     *
+     * @return the first element from this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public E removeFirst() {
+        final Node f = first;
+        if (f == null)
+            throw new NoSuchElementException();
+        return unlinkFirst(f);
+    }
+
+    /**
+     * Removes and returns the last element from this list.
+     *
+     * @return the last element from this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public E removeLast() {
+        final Node l = last;
+        if (l == null)
+            throw new NoSuchElementException();
+        return unlinkLast(l);
+    }
+
+    /**
+     * Inserts the specified element at the beginning of this list.
+     *
+     * @param e the element to add
+     */
+    public void addFirst(E e) {
+        linkFirst(e);
+    }
+
+    /**
+     * Appends the specified element to the end of this list.
+     *
+     * @param e the element to add
+     */
+    public void addLast(E e) {
+        linkLast(e);
+    }
+
+    /**
+     * Returns {@code true} if this list contains the specified element.
+     *
+     * @param o element whose presence in this list is to be tested
+     * @return {@code true} if this list contains the specified element
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     *
+     * @return the number of elements in this list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Appends the specified element to the end of this list.
+     *
+     * @param e element to be appended to this list
+     * @return {@code true} (as specified by {@link Collection#add})
+     */
+    public boolean add(E e) {
+        linkLast(e);
+        return true;
+    }
+
+    /**
+     * Removes the first occurrence of the specified element from this list,
+     * if it is present.
+     *
+     * @param o element to be removed from this list, if present
+     * @return {@code true} if this list contained the specified element
+     */
+    public boolean remove(Object o) {
+        final Cursor c = new Cursor();
+        for (Node x = first; x != null; x = x.next) {
+            for (int i = x.start; i < x.end; i++) {
+                if (Objects.equals(o, x.items[i])) {
+                    c.node = x;
+                    c.pos = i;
+                    removeAt(c);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes all of the elements from this list.
+     * The list will be empty after this call returns.
+     */
+    public void clear() {
+        for (Node x = first; x != null; ) {
+            Node next = x.next;
+            x.items = null;
+            x.next = null;
+            x.prev = null;
+            x = next;
+        }
+        first = last = null;
+        size = 0;
+        modCount++;
+    }
+
+    // Positional Access Operations
+
+    /**
+     * Returns the element at the specified position in this list.
+     *
+     * @param index index of the element to return
+     * @return the element at the specified position in this list
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkElementIndex(index);
+        final Cursor c = cursor(index);
+        return (E) c.node.items[c.pos];
+    }
+
+    /**
+     * Replaces the element at the specified position in this list with the
+     * specified element.
+     *
+     * @param index   index of the element to replace
+     * @param element element to be stored at the specified position
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkElementIndex(index);
+        final Cursor c = cursor(index);
+        final E oldVal = (E) c.node.items[c.pos];
+        c.node.items[c.pos] = element;
+        return oldVal;
+    }
+
+    /**
+     * Inserts the specified element at the specified position in this list.
+     *
+     * @param index   index at which the specified element is to be inserted
+     * @param element element to be inserted
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public void add(int index, E element) {
+        checkPositionIndex(index);
+        if (index == size)
+            linkLast(element);
+        else if (index == 0)
+            linkFirst(element);
+        else
+            insertAt(cursor(index), element);
+    }
+
+    /**
+     * Removes the element at the specified position in this list.
+     *
+     * @param index the index of the element to be removed
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public E remove(int index) {
+        checkElementIndex(index);
+        return removeAt(cursor(index));
+    }
+
+    private boolean isElementIndex(int index) {
+        return index >= 0 && index < size;
+    }
+
+    private boolean isPositionIndex(int index) {
+        return index >= 0 && index <= size;
+    }
+
+    private String outOfBoundsMsg(int index) {
+        return "Index: " + index + ", Size: " + size;
+    }
+
+    private void checkElementIndex(int index) {
+        if (!isElementIndex(index))
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+
+    private void checkPositionIndex(int index) {
+        if (!isPositionIndex(index))
+            throw new IndexOutOfBoundsException(outOfBoundsMsg(index));
+    }
+
+    // Search Operations
+
+    /**
+     * Returns the index of the first occurrence of the specified element
+     * in this list, or -1 if this list does not contain the element.
+     *
+     * @param o element to search for
+     * @return the index of the first occurrence of the specified element in
+     * this list, or -1 if this list does not contain the element
+     */
+    public int indexOf(Object o) {
+        int index = 0;
+        for (Node x = first; x != null; x = x.next) {
+            final Object[] items = x.items;
+            for (int i = x.start, end = x.end; i < end; i++) {
+                if (Objects.equals(o, items[i]))
+                    return index + i - x.start;
+            }
+            index += x.count();
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last occurrence of the specified element
+     * in this list, or -1 if this list does not contain the element.
+     *
+     * @param o element to search for
+     * @return the index of the last occurrence of the specified element in
+     * this list, or -1 if this list does not contain the element
+     */
+    public int lastIndexOf(Object o) {
+        int index = size;
+        for (Node x = last; x != null; x = x.prev) {
+            index -= x.count();
+            final Object[] items = x.items;
+            for (int i = x.end - 1; i >= x.start; i--) {
+                if (Objects.equals(o, items[i]))
+                    return index + i - x.start;
+            }
+        }
+        return -1;
+    }
+
+    // Queue operations.
+
+    /**
+     * Retrieves, but does not remove, the head (first element) of this list.
+     *
+     * @return the head of this list, or {@code null} if this list is empty
+     */
+    public E peek() {
+        return peekFirst();
+    }
+
+    /**
+     * Retrieves, but does not remove, the head (first element) of this list.
+     *
+     * @return the head of this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public E element() {
+        return getFirst();
+    }
+
+    /**
+     * Retrieves and removes the head (first element) of this list.
+     *
+     * @return the head of this list, or {@code null} if this list is empty
+     */
+    public E poll() {
+        return pollFirst();
+    }
+
+    /**
+     * Retrieves and removes the head (first element) of this list.
+     *
+     * @return the head of this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public E remove() {
+        return removeFirst();
+    }
+
+    /**
+     * Adds the specified element as the tail (last element) of this list.
+     *
+     * @param e the element to add
+     * @return {@code true} (as specified by {@link java.util.Queue#offer})
+     */
+    public boolean offer(E e) {
+        return add(e);
+    }
+
+    // Deque operations
+
+    /**
+     * Inserts the specified element at the front of this list.
+     *
+     * @param e the element to insert
+     * @return {@code true} (as specified by {@link Deque#offerFirst})
+     */
+    public boolean offerFirst(E e) {
+        addFirst(e);
+        return true;
+    }
+
+    /**
+     * Inserts the specified element at the end of this list.
+     *
+     * @param e the element to insert
+     * @return {@code true} (as specified by {@link Deque#offerLast})
+     */
+    public boolean offerLast(E e) {
+        addLast(e);
+        return true;
+    }
+
+    /**
+     * Retrieves, but does not remove, the first element of this list,
+     * or returns {@code null} if this list is empty.
+     *
+     * @return the first element of this list, or {@code null}
+     * if this list is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E peekFirst() {
+        final Node f = first;
+        return (f == null) ? null : (E) f.items[f.start];
+    }
+
+    /**
+     * Retrieves, but does not remove, the last element of this list,
+     * or returns {@code null} if this list is empty.
+     *
+     * @return the last element of this list, or {@code null}
+     * if this list is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E peekLast() {
+        final Node l = last;
+        return (l == null) ? null : (E) l.items[l.end - 1];
+    }
+
+    /**
+     * Retrieves and removes the first element of this list,
+     * or returns {@code null} if this list is empty.
+     *
+     * @return the first element of this list, or {@code null} if
+     * this list is empty
+     */
+    public E pollFirst() {
+        final Node f = first;
+        return (f == null) ? null : unlinkFirst(f);
+    }
+
+    /**
+     * Retrieves and removes the last element of this list,
+     * or returns {@code null} if this list is empty.
+     *
+     * @return the last element of this list, or {@code null} if
+     * this list is empty
+     */
+    public E pollLast() {
+        final Node l = last;
+        return (l == null) ? null : unlinkLast(l);
+    }
+
+    /**
+     * Pushes an element onto the stack represented by this list.
+     *
+     * @param e the element to push
+     */
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    /**
+     * Pops an element from the stack represented by this list.
+     *
+     * @return the element at the front of this list
+     * @throws NoSuchElementException if this list is empty
+     */
+    public E pop() {
+        return removeFirst();
+    }
+
+    /**
+     * Removes the first occurrence of the specified element in this
+     * list (when traversing the list from head to tail).
+     *
+     * @param o element to be removed from this list, if present
+     * @return {@code true} if the list contained the specified element
+     */
+    public boolean removeFirstOccurrence(Object o) {
+        return remove(o);
+    }
+
+    /**
+     * Removes the last occurrence of the specified element in this
+     * list (when traversing the list from head to tail).
+     *
+     * @param o element to be removed from this list, if present
+     * @return {@code true} if the list contained the specified element
+     */
+    public boolean removeLastOccurrence(Object o) {
+        final Cursor c = new Cursor();
+        for (Node x = last; x != null; x = x.prev) {
+            for (int i = x.end - 1; i >= x.start; i--) {
+                if (Objects.equals(o, x.items[i])) {
+                    c.node = x;
+                    c.pos = i;
+                    removeAt(c);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a list-iterator of the elements in this list (in proper
+     * sequence), starting at the specified position in the list.
+     * The list-iterator is <i>fail-fast</i>.
+     *
+     * @param index index of the first element to be returned from the
+     *              list-iterator (by a call to {@code next})
+     * @return a ListIterator of the elements in this list (in proper
+     * sequence), starting at the specified position in the list
+     * @throws IndexOutOfBoundsException {@inheritDoc}
+     */
+    public ListIterator<E> listIterator(int index) {
+        checkPositionIndex(index);
+        return new ListItr(index);
+    }
+
+    /**
+     * Returns an iterator over the elements in this list in reverse order.
+     *
+     * @return an iterator over the elements in this list in reverse order
+     */
+    public Iterator<E> descendingIterator() {
+        return new DescendingIterator();
+    }
+
+    /**
+     * Creates a <em>late-binding</em> and <em>fail-fast</em>
+     * {@link Spliterator} over the elements in this list, reporting
+     * {@link Spliterator#SIZED} and {@link Spliterator#ORDERED}.
+     *
+     * @return a {@code Spliterator} over the elements in this list
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(this, Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns an array containing all of the elements in this list
+     * in proper sequence (from first to last element).
+     *
+     * @return an array containing all of the elements in this list
+     * in proper sequence
+     */
+    public Object[] toArray() {
+        Object[] result = new Object[size];
+        int i = 0;
+        for (Node x = first; x != null; x = x.next) {
+            System.arraycopy(x.items, x.start, result, i, x.count());
+            i += x.count();
+        }
+        return result;
+    }
+
+    /**
+     * Returns an array containing all of the elements in this list in
+     * proper sequence; the runtime type of the returned array is that of
+     * the specified array.
+     *
+     * @param a the array into which the elements of the list are to
+     *          be stored, if it is big enough; otherwise, a new array of the
+     *          same runtime type is allocated for this purpose.
+     * @return an array containing the elements of the list
+     * @throws ArrayStoreException  if the runtime type of the specified array
+     *                              is not a supertype of the runtime type of
+     *                              every element in this list
+     * @throws NullPointerException if the specified array is null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T[] toArray(T[] a) {
+        if (a.length < size)
+            a = (T[]) java.lang.reflect.Array.newInstance(
+                    a.getClass().getComponentType(), size);
+        int i = 0;
+        for (Node x = first; x != null; x = x.next) {
+            System.arraycopy(x.items, x.start, a, i, x.count());
+            i += x.count();
+        }
+        if (a.length > size)
+            a[size] = null;
+        return a;
+    }
+
+    /**
+     * Returns a shallow copy of this {@code UnrolledLinkedList}. (The
+     * elements themselves are not cloned.)
+     *
+     * @return a shallow copy of this {@code UnrolledLinkedList} instance
+     */
+    @SuppressWarnings("unchecked")
+    public Object clone() {
+        final UnrolledLinkedList<E> clone;
+        try {
+            clone = (UnrolledLinkedList<E>) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+        clone.first = clone.last = null;
+        clone.size = 0;
+        clone.modCount = 0;
+        for (Node x = first; x != null; x = x.next) {
+            final Node y = clone.linkNodeAfter(clone.last);
+            System.arraycopy(x.items, x.start, y.items, x.start, x.count());
+            y.start = x.start;
+            y.end = x.end;
+            clone.size += x.count();
+        }
+        return clone;
+    }
+
+    @java.io.Serial
+    private static final long serialVersionUID = -4526348127367203587L;
+
+    /**
+     * Saves the state of this {@code UnrolledLinkedList} instance to a
+     * stream (that is, serializes it).
+     *
+     * @serialData The node capacity and the size of the list are emitted
+     * (int), followed by all of its elements (each an Object) in the proper
+     * order.
+     */
+    @java.io.Serial
+    private void writeObject(java.io.ObjectOutputStream s)
+            throws java.io.IOException {
+        s.defaultWriteObject();
+        s.writeInt(size);
+        for (Node x = first; x != null; x = x.next)
+            for (int i = x.start; i < x.end; i++)
+                s.writeObject(x.items[i]);
+    }
+
+    /**
+     * Reconstitutes this {@code UnrolledLinkedList} instance from a stream.
+     */
+    @SuppressWarnings("unchecked")
+    @java.io.Serial
+    private void readObject(java.io.ObjectInputStream s)
+            throws java.io.IOException, ClassNotFoundException {
+        s.defaultReadObject();
+        if (nodeCapacity < MIN_NODE_CAPACITY)
+            throw new java.io.InvalidObjectException("Illegal node capacity: " + nodeCapacity);
+        int size = s.readInt();
+        for (int i = 0; i < size; i++)
+            linkLast((E) s.readObject());
+    }
+
+    /**
+     * A chunk of up to nodeCapacity elements stored in items[start, end).
+     */
+    static final class Node {
+        Object[] items;
+        int start;
+        int end;
+        Node prev;
+        Node next;
+
+        Node(int capacity, Node prev, Node next) {
+            this.items = new Object[capacity];
+            this.prev = prev;
+            this.next = next;
+        }
+
+        int count() {
+            return end - start;
+        }
+
+        boolean isFull() {
+            return end - start == items.length;
+        }
+    }
+
+    /**
+     * Position of an element: a node and an absolute slot in its array.
+     * A null node denotes the position just past the last element.
+     */
+    static final class Cursor {
+        Node node;
+        int pos;
+
+        void set(Node x) {
+            node = x;
+            pos = (x == null) ? 0 : x.start;
+        }
+    }
+
+    private class ListItr implements ListIterator<E> {
+        private final Cursor next;
+        private Node lastReturned;
+        private int lastReturnedPos;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        ListItr(int index) {
+            // assert isPositionIndex(index);
+            next = cursor(index);
+            nextIndex = index;
+        }
+
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            checkForComodification();
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            final Node x = next.node;
+            lastReturned = x;
+            lastReturnedPos = next.pos;
+            if (++next.pos == x.end)
+                next.set(x.next);
+            nextIndex++;
+            return (E) x.items[lastReturnedPos];
+        }
+
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E previous() {
+            checkForComodification();
+            if (!hasPrevious())
+                throw new NoSuchElementException();
+
+            final Node x = next.node;
+            if (x == null) {
+                next.node = last;
+                next.pos = last.end - 1;
+            } else if (next.pos == x.start) {
+                next.node = x.prev;
+                next.pos = x.prev.end - 1;
+            } else {
+                next.pos--;
+            }
+            lastReturned = next.node;
+            lastReturnedPos = next.pos;
+            nextIndex--;
+            return (E) lastReturned.items[lastReturnedPos];
+        }
+
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        public void remove() {
+            checkForComodification();
+            if (lastReturned == null)
+                throw new IllegalStateException();
+
+            if (lastReturned == next.node && lastReturnedPos == next.pos) {
+                removeAt(next);
+            } else {
+                final Cursor c = new Cursor();
+                c.node = lastReturned;
+                c.pos = lastReturnedPos;
+                removeAt(c);
+                next.node = c.node;
+                next.pos = c.pos;
+                nextIndex--;
+            }
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        public void set(E e) {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            lastReturned.items[lastReturnedPos] = e;
+        }
+
+        public void add(E e) {
+            checkForComodification();
+            lastReturned = null;
+            insertAt(next, e);
+            nextIndex++;
+            expectedModCount = modCount;
+        }
+
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            while (modCount == expectedModCount && nextIndex < size) {
+                final Node x = next.node;
+                action.accept((E) x.items[next.pos]);
+                lastReturned = x;
+                lastReturnedPos = next.pos;
+                if (++next.pos == x.end)
+                    next.set(x.next);
+                nextIndex++;
+            }
+            checkForComodification();
+        }
+
+        final void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * Adapter to provide descending iterators via ListItr.previous
+     */
+    private class DescendingIterator implements Iterator<E> {
+        private final ListItr itr = new ListItr(size());
+
+        public boolean hasNext() {
+            return itr.hasPrevious();
+        }
+
+        public E next() {
+            return itr.previous();
+        }
+
+        public void remove() {
+            itr.remove();
+        }
+    }
+}
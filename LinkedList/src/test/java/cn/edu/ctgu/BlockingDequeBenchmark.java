@@ -0,0 +1,101 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 阻塞双端队列批量取出的开销对比：逐个 poll 与一次加锁的 drainTo.
+ * 每次调用先放入一批元素再全部取出，分别以 ArrayList 与 LinkedList 作为目标集合，
+ * 并与 java.util.concurrent.LinkedBlockingDeque 对照。
+ * 运行：mvn -Pbenchmark test -Djmh.includes=BlockingDequeBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BlockingDequeBenchmark {
+    private static final Integer ELEMENT = 42;
+
+    @Param({"64", "1024"})
+    int batch;
+
+    private LinkedListBlockingDeque<Integer> deque;
+    private LinkedBlockingDeque<Integer> jdk;
+    private ArrayList<Integer> array;
+    private LinkedList<Integer> linked;
+
+    @Setup
+    public void setUp() {
+        deque = new LinkedListBlockingDeque<>(batch);
+        jdk = new LinkedBlockingDeque<>(batch);
+        array = new ArrayList<>(batch);
+        linked = new LinkedList<>();
+    }
+
+    private void fill() {
+        for (int i = 0; i < batch; i++) {
+            deque.offerLast(ELEMENT);
+        }
+    }
+
+    /**
+     * 逐个 pollFirst，每个元素加锁一次.
+     */
+    @Benchmark
+    public int pollEach() {
+        fill();
+        array.clear();
+        Integer e;
+        while ((e = deque.pollFirst()) != null) {
+            array.add(e);
+        }
+        return array.size();
+    }
+
+    /**
+     * drainTo 到 ArrayList，一次加锁.
+     */
+    @Benchmark
+    public int drainToArrayList() {
+        fill();
+        array.clear();
+        return deque.drainTo(array, batch);
+    }
+
+    /**
+     * drainTo 到 LinkedList，整段节点链拼接.
+     */
+    @Benchmark
+    public int drainToLinkedList() {
+        fill();
+        linked.clear();
+        return deque.drainTo(linked, batch);
+    }
+
+    /**
+     * JDK LinkedBlockingDeque 的 drainTo 作为基线.
+     */
+    @Benchmark
+    public int jdkDrainTo() {
+        for (int i = 0; i < batch; i++) {
+            jdk.offerLast(ELEMENT);
+        }
+        array.clear();
+        return jdk.drainTo(array, batch);
+    }
+}
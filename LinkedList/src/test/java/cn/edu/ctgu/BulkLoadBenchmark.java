@@ -0,0 +1,88 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测量从不同来源批量构造 LinkedList 的耗时与分配量.
+ * 分配量见结果中的 gc.alloc.rate.norm（每次构造分配的字节数）。
+ * 运行：mvn -Pbenchmark test -Djmh.includes=BulkLoadBenchmark -Djmh.prof=gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkLoadBenchmark {
+    @Param({"100000"})
+    private int size;
+
+    private LinkedList<Integer> linkedSource;
+    private ArrayList<Integer> arraySource;
+    private ArrayDeque<Integer> dequeSource;
+
+    /**
+     * 构造三种来源集合.
+     */
+    @Setup
+    public void setUp() {
+        linkedSource = new LinkedList<>();
+        arraySource = new ArrayList<>(size);
+        dequeSource = new ArrayDeque<>(size);
+        for (int i = 0; i < size; i++) {
+            linkedSource.add(i);
+            arraySource.add(i);
+            dequeSource.add(i);
+        }
+    }
+
+    /**
+     * 从本项目的 LinkedList 构造.
+     */
+    @Benchmark
+    public LinkedList<Integer> fromLinkedList() {
+        return new LinkedList<>(linkedSource);
+    }
+
+    /**
+     * 从 ArrayList 构造.
+     */
+    @Benchmark
+    public LinkedList<Integer> fromArrayList() {
+        return new LinkedList<>(arraySource);
+    }
+
+    /**
+     * 从 ArrayDeque 构造.
+     */
+    @Benchmark
+    public LinkedList<Integer> fromArrayDeque() {
+        return new LinkedList<>(dequeSource);
+    }
+
+    /**
+     * 插入到已有列表中部.
+     */
+    @Benchmark
+    public LinkedList<Integer> insertLinkedListInMiddle() {
+        LinkedList<Integer> target = new LinkedList<>();
+        target.add(-1);
+        target.add(-2);
+        target.addAll(1, linkedSource);
+        return target;
+    }
+}
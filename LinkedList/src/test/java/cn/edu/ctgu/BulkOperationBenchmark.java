@@ -0,0 +1,143 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量操作的开销：直接遍历节点的实现与原先继承的 Collection/List 默认实现对比.
+ * default* 方法在另一个相同内容的列表上手工执行默认实现的算法（经迭代器删除、经 ListIterator.set 替换、
+ * 经迭代器遍历、反射创建数组），以排除内存布局差异。
+ * removeIf 每次删除一半元素后补回；replaceAll 每次取反全部元素。
+ * 运行：mvn -Pbenchmark test -Djmh.includes=BulkOperationBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkOperationBenchmark {
+
+    @Param({"1024", "65536"})
+    private int size;
+
+    private LinkedList<Integer> list;
+    private LinkedList<Integer> baseline;
+    private Integer[] buffer;
+
+    @Setup
+    public void setUp() {
+        list = new LinkedList<>();
+        baseline = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+            baseline.add(i);
+        }
+        buffer = new Integer[256];
+    }
+
+    @Benchmark
+    public boolean removeIf() {
+        boolean removed = list.removeIf(e -> (e & 1) == 0);
+        for (int i = 0; i < size; i += 2) {
+            list.add(i);
+        }
+        return removed;
+    }
+
+    @Benchmark
+    public boolean defaultRemoveIf() {
+        boolean removed = false;
+        for (Iterator<Integer> it = baseline.iterator(); it.hasNext(); ) {
+            if ((it.next() & 1) == 0) {
+                it.remove();
+                removed = true;
+            }
+        }
+        for (int i = 0; i < size; i += 2) {
+            baseline.add(i);
+        }
+        return removed;
+    }
+
+    @Benchmark
+    public int replaceAll() {
+        list.replaceAll(e -> ~e);
+        return list.size();
+    }
+
+    @Benchmark
+    public int defaultReplaceAll() {
+        for (ListIterator<Integer> it = baseline.listIterator(); it.hasNext(); ) {
+            it.set(~it.next());
+        }
+        return baseline.size();
+    }
+
+    @Benchmark
+    public void forEach(Blackhole bh) {
+        list.forEach(bh::consume);
+    }
+
+    @Benchmark
+    public void defaultForEach(Blackhole bh) {
+        for (Integer e : baseline) {
+            bh.consume(e);
+        }
+    }
+
+    /**
+     * 按批交付后在数组上求和.
+     */
+    @Benchmark
+    public long forEachBatch() {
+        long[] sum = new long[1];
+        list.forEachBatch(buffer, (batch, n) -> {
+            long s = 0;
+            for (int i = 0; i < n; i++) {
+                s += batch[i];
+            }
+            sum[0] += s;
+        });
+        return sum[0];
+    }
+
+    /**
+     * 逐个元素求和，作为 forEachBatch 的对照.
+     */
+    @Benchmark
+    public long forEachSum() {
+        long[] sum = new long[1];
+        list.forEach(e -> sum[0] += e);
+        return sum[0];
+    }
+
+    @Benchmark
+    public Integer[] toTypedArray() {
+        return list.toArray(new Integer[0]);
+    }
+
+    @Benchmark
+    public Integer[] defaultToTypedArray() {
+        Integer[] a = (Integer[]) java.lang.reflect.Array.newInstance(Integer.class, baseline.size());
+        int i = 0;
+        for (Integer e : baseline) {
+            a[i++] = e;
+        }
+        return a;
+    }
+}
@@ -0,0 +1,104 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 LinkedListCodec 二进制镜像与默认 Java 序列化的写入和读取耗时.
+ * 运行：mvn -Pbenchmark test -Djmh.includes=CodecBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+    private static final int SIZE = 100_000;
+
+    @Param({"Integer", "String"})
+    private String elementType;
+
+    private LinkedList<Object> list;
+    private ElementCodec<Object> codec;
+    private ByteBuffer buffer;
+    private byte[] image;
+    private byte[] javaImage;
+
+    /**
+     * 构造列表并预先生成两种格式的镜像供读取基准使用.
+     */
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() throws IOException {
+        list = new LinkedList<>();
+        for (int i = 0; i < SIZE; i++) {
+            list.add("Integer".equals(elementType) ? (Object) i : "element-" + i);
+        }
+        codec = (ElementCodec<Object>) ("Integer".equals(elementType)
+                ? (ElementCodec<?>) ElementCodec.INTEGER : ElementCodec.STRING);
+        buffer = ByteBuffer.allocateDirect(64 << 20);
+        LinkedListCodec.write(list, codec, buffer);
+        buffer.flip();
+        image = new byte[buffer.remaining()];
+        buffer.get(image);
+        javaImage = javaWrite();
+    }
+
+    /**
+     * 二进制镜像写入直接缓冲区.
+     */
+    @Benchmark
+    public int codecWrite() {
+        buffer.clear();
+        LinkedListCodec.write(list, codec, buffer);
+        return buffer.position();
+    }
+
+    /**
+     * 从堆缓冲区读取二进制镜像.
+     */
+    @Benchmark
+    public LinkedList<Object> codecRead() {
+        return LinkedListCodec.read(codec, ByteBuffer.wrap(image));
+    }
+
+    /**
+     * 默认 Java 序列化写入.
+     */
+    @Benchmark
+    public byte[] javaWrite() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1 << 20);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(list);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * 默认 Java 序列化读取.
+     */
+    @Benchmark
+    public Object javaRead() throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(javaImage))) {
+            return in.readObject();
+        }
+    }
+}
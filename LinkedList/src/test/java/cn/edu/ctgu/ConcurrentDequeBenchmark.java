@@ -0,0 +1,131 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 多线程下 ConcurrentLinkedDeque 与外部 synchronized 包装的 LinkedList 的吞吐量对比.
+ * producerConsumer 组中生产者 offerLast、消费者 pollFirst；pairs 中每个线程交替入队出队。
+ * 每轮迭代前重置队列，避免生产快于消费时无限增长。
+ * 运行：mvn -Pbenchmark test -Djmh.includes=ConcurrentDequeBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentDequeBenchmark {
+    private static final int PREFILL = 1024;
+    private static final Integer ELEMENT = 42;
+
+    /**
+     * 生产者与消费者组共享的队列.
+     */
+    @State(Scope.Group)
+    public static class Queues {
+        ConcurrentLinkedDeque<Integer> concurrent;
+        LinkedList<Integer> locked;
+
+        /**
+         * 每轮迭代前重建并预填充两个队列.
+         */
+        @Setup(Level.Iteration)
+        public void setUp() {
+            concurrent = new ConcurrentLinkedDeque<>();
+            locked = new LinkedList<>();
+            for (int i = 0; i < PREFILL; i++) {
+                concurrent.offerLast(i);
+                locked.offerLast(i);
+            }
+        }
+    }
+
+    /**
+     * 所有线程共享的队列.
+     */
+    @State(Scope.Benchmark)
+    public static class Shared extends Queues {
+    }
+
+    /**
+     * 无锁队列：生产者.
+     */
+    @Benchmark
+    @Group("concurrentProducerConsumer")
+    @GroupThreads(2)
+    public boolean concurrentOffer(Queues queues) {
+        return queues.concurrent.offerLast(ELEMENT);
+    }
+
+    /**
+     * 无锁队列：消费者.
+     */
+    @Benchmark
+    @Group("concurrentProducerConsumer")
+    @GroupThreads(2)
+    public Integer concurrentPoll(Queues queues) {
+        return queues.concurrent.pollFirst();
+    }
+
+    /**
+     * synchronized 包装：生产者.
+     */
+    @Benchmark
+    @Group("synchronizedProducerConsumer")
+    @GroupThreads(2)
+    public boolean synchronizedOffer(Queues queues) {
+        synchronized (queues.locked) {
+            return queues.locked.offerLast(ELEMENT);
+        }
+    }
+
+    /**
+     * synchronized 包装：消费者.
+     */
+    @Benchmark
+    @Group("synchronizedProducerConsumer")
+    @GroupThreads(2)
+    public Integer synchronizedPoll(Queues queues) {
+        synchronized (queues.locked) {
+            return queues.locked.pollFirst();
+        }
+    }
+
+    /**
+     * 无锁队列：4 个线程各自入队后出队.
+     */
+    @Benchmark
+    @Threads(4)
+    public Integer concurrentPairs(Shared shared) {
+        shared.concurrent.offerLast(ELEMENT);
+        return shared.concurrent.pollFirst();
+    }
+
+    /**
+     * synchronized 包装：4 个线程各自入队后出队.
+     */
+    @Benchmark
+    @Threads(4)
+    public Integer synchronizedPairs(Shared shared) {
+        synchronized (shared.locked) {
+            shared.locked.offerLast(ELEMENT);
+        }
+        synchronized (shared.locked) {
+            return shared.locked.pollFirst();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package cn.edu.ctgu;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentLinkedDequeTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentLinkedDequeTest.class);
+    private static final int OPERATIONS = 20_000;
+    private static final int THREADS = 4;
+    private static final int PER_THREAD = 50_000;
+    private ConcurrentLinkedDeque<Integer> deque;
+
+    @BeforeEach
+    void setUp() {
+        deque = new ConcurrentLinkedDeque<>();
+    }
+
+    /* 单线程下与 ArrayDeque 对照执行随机操作序列 */
+    @Test
+    @DisplayName("单线程随机操作结果与ArrayDeque一致")
+    void shouldMatchReferenceDequeUnderRandomOperations() {
+        ArrayDeque<Integer> expected = new ArrayDeque<>();
+        Random random = new Random(42);
+        for (int i = 0; i < OPERATIONS; i++) {
+            int op = random.nextInt(8);
+            int value = random.nextInt(50);
+            if (op == 0) {
+                deque.offerFirst(value);
+                expected.offerFirst(value);
+            } else if (op == 1 || op == 2) {
+                deque.offerLast(value);
+                expected.offerLast(value);
+            } else if (op == 3) {
+                assertEquals(expected.pollFirst(), deque.pollFirst());
+            } else if (op == 4) {
+                assertEquals(expected.pollLast(), deque.pollLast());
+            } else if (op == 5) {
+                assertEquals(expected.removeFirstOccurrence(value), deque.removeFirstOccurrence(value));
+            } else if (op == 6) {
+                assertEquals(expected.removeLastOccurrence(value), deque.removeLastOccurrence(value));
+            } else {
+                assertEquals(expected.peekFirst(), deque.peekFirst());
+                assertEquals(expected.peekLast(), deque.peekLast());
+                assertEquals(expected.contains(value), deque.contains(value));
+            }
+        }
+        LOGGER.debug(" size: {}", deque.size());
+        assertEquals(expected.size(), deque.size());
+        assertArrayEquals(expected.toArray(), deque.toArray(), "最终内容应一致");
+    }
+
+    /* 多个生产者与消费者并发访问时每个元素恰好被取出一次 */
+    @Test
+    @DisplayName("并发生产消费不丢失也不重复元素")
+    void shouldDeliverEveryElementExactlyOnceUnderContention() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS * 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean producing = new AtomicBoolean(true);
+        try {
+            List<Future<?>> producers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int base = t * PER_THREAD;
+                final boolean front = (t & 1) == 0;
+                producers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        if (front) {
+                            deque.offerFirst(base + i);
+                        } else {
+                            deque.offerLast(base + i);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            List<Future<List<Integer>>> consumers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final boolean front = (t & 1) == 0;
+                consumers.add(pool.submit(() -> {
+                    List<Integer> taken = new ArrayList<>();
+                    start.await();
+                    for (;;) {
+                        Integer e = front ? deque.pollFirst() : deque.pollLast();
+                        if (e != null) {
+                            taken.add(e);
+                        } else if (!producing.get() && deque.isEmpty()) {
+                            return taken;
+                        }
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : producers) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+            producing.set(false);
+
+            boolean[] seen = new boolean[THREADS * PER_THREAD];
+            int total = 0;
+            for (Future<List<Integer>> f : consumers) {
+                for (int e : f.get(30, TimeUnit.SECONDS)) {
+                    assertFalse(seen[e], "元素不应被重复取出: " + e);
+                    seen[e] = true;
+                    total++;
+                }
+            }
+            LOGGER.debug(" consumed: {}", total);
+            assertEquals(THREADS * PER_THREAD, total, "所有元素都应被取出");
+            assertTrue(deque.isEmpty());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /* 并发修改时迭代器弱一致且不抛出异常 */
+    @Test
+    @DisplayName("并发修改时迭代器弱一致")
+    void shouldIterateWeaklyConsistentlyDuringModification() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            deque.offerLast(i);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread churn = new Thread(() -> {
+            int i = 1000;
+            while (running.get()) {
+                deque.offerLast(i++);
+                deque.pollFirst();
+            }
+        });
+        churn.start();
+        try {
+            for (int round = 0; round < 200; round++) {
+                int previous = -1;
+                for (Integer e : deque) {
+                    assertNotNull(e);
+                    assertTrue(e > previous, "迭代顺序应保持递增");
+                    previous = e;
+                }
+            }
+        } finally {
+            running.set(false);
+            churn.join();
+        }
+        assertEquals(1000, deque.size());
+    }
+
+    /* 迭代器删除与逆序迭代 */
+    @Test
+    @DisplayName("迭代器删除与逆序迭代")
+    void shouldRemoveThroughIteratorAndIterateDescending() {
+        for (int i = 0; i < 10; i++) {
+            deque.add(i);
+        }
+        for (Iterator<Integer> it = deque.iterator(); it.hasNext(); ) {
+            if (it.next() % 2 == 0) {
+                it.remove();
+            }
+        }
+        Iterator<Integer> itr = deque.descendingIterator();
+        for (int i = 9; i > 0; i -= 2) {
+            assertEquals(i, itr.next());
+        }
+        assertFalse(itr.hasNext());
+        assertThrows(IllegalStateException.class, deque.iterator()::remove);
+    }
+
+    /* 不允许null元素 */
+    @Test
+    @DisplayName("插入null元素时抛出异常")
+    void shouldRejectNullElements() {
+        assertThrows(NullPointerException.class, () -> deque.offerFirst(null));
+        assertThrows(NullPointerException.class, () -> deque.offerLast(null));
+        assertThrows(NullPointerException.class, () -> deque.removeFirstOccurrence(null));
+        assertFalse(deque.contains(null));
+        assertNull(deque.pollFirst());
+        assertThrows(java.util.NoSuchElementException.class, deque::removeLast);
+    }
+
+    /* 序列化 */
+    @Test
+    @DisplayName("序列化保持内容")
+    @SuppressWarnings("unchecked")
+    void shouldSerialize() throws Exception {
+        for (int i = 0; i < 37; i++) {
+            deque.add(i);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(deque);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            ConcurrentLinkedDeque<Integer> copy = (ConcurrentLinkedDeque<Integer>) in.readObject();
+            assertArrayEquals(deque.toArray(), copy.toArray());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比通过节点句柄与通过下标或按值查找访问 LinkedList 任意位置的耗时.
+ * 模拟 LRU：随机命中一个元素并将其移到表头。
+ * 运行：mvn -Pbenchmark test -Djmh.includes=HandleBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandleBenchmark {
+    @Param({"64", "4096"})
+    private int size;
+
+    private LinkedList<Integer> list;
+    private LinkedList.Handle<Integer>[] handles;
+    private int[] hits;
+    private int cursor;
+
+    /**
+     * 构造列表、每个元素的句柄以及随机命中序列.
+     */
+    @Setup
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void setUp() {
+        list = new LinkedList<>();
+        handles = new LinkedList.Handle[size];
+        for (int i = 0; i < size; i++) {
+            handles[i] = list.insertLast(i);
+        }
+        Random random = new Random(42);
+        hits = new int[1024];
+        for (int i = 0; i < hits.length; i++) {
+            hits[i] = random.nextInt(size);
+        }
+    }
+
+    private int nextHit() {
+        cursor = (cursor + 1) & (hits.length - 1);
+        return hits[cursor];
+    }
+
+    /**
+     * 通过句柄移到表头.
+     */
+    @Benchmark
+    public LinkedList.Handle<Integer> moveToFirstByHandle() {
+        int hit = nextHit();
+        return handles[hit] = list.moveToFirst(handles[hit]);
+    }
+
+    /**
+     * 按值删除后重新插入表头.
+     */
+    @Benchmark
+    public Integer moveToFirstByValue() {
+        Integer hit = nextHit();
+        list.remove(hit);
+        list.addFirst(hit);
+        return hit;
+    }
+
+    /**
+     * 从句柄处开始迭代并读取一个元素.
+     */
+    @Benchmark
+    public Integer iterateFromHandle() {
+        Iterator<Integer> itr = list.iteratorFrom(handles[nextHit()]);
+        return itr.next();
+    }
+
+    /**
+     * 从下标处开始迭代并读取一个元素.
+     */
+    @Benchmark
+    public Integer iterateFromIndex() {
+        ListIterator<Integer> itr = list.listIterator(nextHit());
+        return itr.next();
+    }
+}
@@ -0,0 +1,162 @@
+package cn.edu.ctgu;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntLinkedListTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IntLinkedListTest.class);
+    private static final int OPERATIONS = 20_000;
+    private static final int NO_ENTRY = Integer.MIN_VALUE;
+    private IntLinkedList list;
+
+    @BeforeEach
+    void setUp() {
+        list = new IntLinkedList(4, NO_ENTRY);
+    }
+
+    /* 与 java.util.LinkedList 对照执行随机操作序列 */
+    @Test
+    @DisplayName("随机操作结果与java.util.LinkedList一致")
+    void shouldMatchReferenceListUnderRandomOperations() {
+        java.util.LinkedList<Integer> expected = new java.util.LinkedList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < OPERATIONS; i++) {
+            int op = random.nextInt(8);
+            int value = random.nextInt(50);
+            if (op == 0) {
+                list.addFirst(value);
+                expected.addFirst(value);
+            } else if (op == 1 || op == 2) {
+                list.addLast(value);
+                expected.addLast(value);
+            } else if (op == 3) {
+                Integer e = expected.pollFirst();
+                assertEquals(e == null ? NO_ENTRY : e, list.pollFirst());
+            } else if (op == 4) {
+                Integer e = expected.pollLast();
+                assertEquals(e == null ? NO_ENTRY : e, list.pollLast());
+            } else if (op == 5) {
+                assertEquals(expected.removeFirstOccurrence(value), list.removeFirstOccurrence(value));
+            } else if (op == 6 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), list.get(index));
+            } else {
+                assertEquals(expected.indexOf(value), list.indexOf(value));
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        LOGGER.debug(" size: {}", list.size());
+        assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), list.toArray());
+        assertEquals(expected.hashCode(), list.hashCode());
+        assertEquals(expected.toString(), list.toString());
+    }
+
+    /* 空列表返回哨兵值或抛出异常 */
+    @Test
+    @DisplayName("空列表返回哨兵值")
+    void shouldReturnNoEntryValueWhenEmpty() {
+        assertEquals(NO_ENTRY, list.pollFirst());
+        assertEquals(NO_ENTRY, list.peekLast());
+        assertEquals(0, new IntLinkedList().pollLast());
+        assertThrows(NoSuchElementException.class, list::removeFirst);
+        assertThrows(NoSuchElementException.class, list::getLast);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+
+    /* 原始类型迭代器、逆序迭代与删除 */
+    @Test
+    @DisplayName("迭代器遍历与删除")
+    void shouldIterateAndRemove() {
+        for (int i = 0; i < 10; i++) {
+            list.addLast(i);
+        }
+        for (PrimitiveIterator.OfInt it = list.iterator(); it.hasNext(); ) {
+            if (it.nextInt() % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertArrayEquals(new int[]{1, 3, 5, 7, 9}, list.toArray());
+        PrimitiveIterator.OfInt desc = list.descendingIterator();
+        for (int i = 9; i > 0; i -= 2) {
+            assertEquals(i, desc.nextInt());
+        }
+        assertFalse(desc.hasNext());
+        assertEquals(25, list.stream().sum());
+
+        StringBuilder visited = new StringBuilder();
+        list.forEach(visited::append);
+        assertEquals("13579", visited.toString());
+    }
+
+    /* 迭代器快速失败 */
+    @Test
+    @DisplayName("结构修改后迭代器快速失败")
+    void shouldFailFastOnConcurrentModification() {
+        list.addLast(1);
+        list.addLast(2);
+        PrimitiveIterator.OfInt itr = list.iterator();
+        itr.nextInt();
+        list.addFirst(0);
+        assertThrows(ConcurrentModificationException.class, itr::nextInt);
+        assertThrows(ConcurrentModificationException.class, () -> list.forEach(v -> list.addLast(v)));
+    }
+
+    /* 空闲槽位复用与整理 */
+    @Test
+    @DisplayName("复用空闲槽位且整理后顺序不变")
+    void shouldReuseSlotsAndTrim() {
+        for (int i = 0; i < 1000; i++) {
+            list.addLast(i);
+            if (i >= 3) {
+                assertEquals(i - 3, list.pollFirst());
+            }
+        }
+        assertArrayEquals(new int[]{997, 998, 999}, list.toArray());
+        list.addFirst(-1);
+        list.trimToSize();
+        assertArrayEquals(new int[]{-1, 997, 998, 999}, list.toArray());
+        list.addLast(1000);
+        assertEquals(1000, list.getLast());
+        list.clear();
+        assertTrue(list.isEmpty());
+        list.addLast(5);
+        assertEquals(5, list.getFirst());
+    }
+
+    /* 克隆与序列化 */
+    @Test
+    @DisplayName("克隆与序列化保持内容")
+    void shouldCloneAndSerialize() throws Exception {
+        for (int i = 0; i < 37; i++) {
+            list.addFirst(i);
+        }
+        IntLinkedList clone = list.clone();
+        clone.addLast(100);
+        assertEquals(37, list.size(), "克隆不应影响原列表");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(list);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            IntLinkedList copy = (IntLinkedList) in.readObject();
+            assertEquals(list, copy);
+            assertEquals(NO_ENTRY, copy.getNoEntryValue());
+        }
+    }
+}
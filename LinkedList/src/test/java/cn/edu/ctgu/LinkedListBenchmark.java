@@ -0,0 +1,173 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LinkedList 双端队列、迭代器与查找热点路径的基准测试.
+ * 以 java.util.LinkedList 与 UnrolledLinkedList 作为对照，便于比较不同构建之间的回归。
+ * 运行：mvn -Pbenchmark test -Djmh.includes=LinkedListBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkedListBenchmark {
+
+    @Param({"1024", "65536"})
+    private int size;
+
+    @Param({"LinkedList", "UnrolledLinkedList", "java.util.LinkedList"})
+    private String implementation;
+
+    private Deque<Integer> deque;
+    private List<Integer> list;
+    private Integer missing;
+    private int counter;
+
+    /**
+     * 按实现名称构造并填充列表.
+     */
+    @Setup
+    public void setUp() {
+        if ("LinkedList".equals(implementation)) {
+            LinkedList<Integer> l = new LinkedList<>();
+            deque = l;
+            list = l;
+        } else if ("UnrolledLinkedList".equals(implementation)) {
+            UnrolledLinkedList<Integer> l = new UnrolledLinkedList<>();
+            deque = l;
+            list = l;
+        } else {
+            java.util.LinkedList<Integer> l = new java.util.LinkedList<>();
+            deque = l;
+            list = l;
+        }
+        for (int i = 0; i < size; i++) {
+            deque.addLast(i);
+        }
+        missing = -1;
+    }
+
+    /**
+     * 队尾入队、队头出队（FIFO）.
+     */
+    @Benchmark
+    public Integer offerLastPollFirst() {
+        deque.offerLast(counter++);
+        return deque.pollFirst();
+    }
+
+    /**
+     * 队头入栈、队头出栈（LIFO）.
+     */
+    @Benchmark
+    public Integer pushPop() {
+        deque.push(counter++);
+        return deque.pop();
+    }
+
+    /**
+     * 队头插入、队尾删除.
+     */
+    @Benchmark
+    public Integer offerFirstPollLast() {
+        deque.offerFirst(counter++);
+        return deque.pollLast();
+    }
+
+    /**
+     * 通过 Iterator 顺序遍历全部元素.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void iterate(Blackhole bh) {
+        for (Iterator<Integer> it = list.iterator(); it.hasNext(); ) {
+            bh.consume(it.next());
+        }
+    }
+
+    /**
+     * 通过 forEachRemaining 遍历全部元素.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void forEachRemaining(Blackhole bh) {
+        list.iterator().forEachRemaining(bh::consume);
+    }
+
+    /**
+     * 通过 ListIterator 从尾到头逆序遍历.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void iterateBackwards(Blackhole bh) {
+        for (ListIterator<Integer> it = list.listIterator(size); it.hasPrevious(); ) {
+            bh.consume(it.previous());
+        }
+    }
+
+    /**
+     * 通过 descendingIterator 逆序遍历.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void descendingIterator(Blackhole bh) {
+        for (Iterator<Integer> it = deque.descendingIterator(); it.hasNext(); ) {
+            bh.consume(it.next());
+        }
+    }
+
+    /**
+     * 查找不存在的元素（完整线性扫描）.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean containsMissing() {
+        return list.contains(missing);
+    }
+
+    /**
+     * 列表中点的位置读取.
+     */
+    @Benchmark
+    public Integer getMiddle() {
+        return list.get(size >> 1);
+    }
+
+    /**
+     * 顺序流求和.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long streamSum() {
+        return list.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    /**
+     * 并行流求和，衡量 trySplit 的分割质量.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long parallelStreamSum() {
+        return list.parallelStream().mapToLong(Integer::longValue).sum();
+    }
+}
@@ -0,0 +1,200 @@
+package cn.edu.ctgu;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinkedListBlockingDequeTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LinkedListBlockingDequeTest.class);
+    private static final int CAPACITY = 8;
+    private static final int ELEMENTS = 20_000;
+    private LinkedListBlockingDeque<Integer> deque;
+
+    @BeforeEach
+    void setUp() {
+        deque = new LinkedListBlockingDeque<>(CAPACITY);
+    }
+
+    /* 达到容量后非阻塞插入失败，限时操作超时返回 */
+    @Test
+    @DisplayName("容量受限时插入失败且限时操作超时")
+    void shouldRespectCapacityAndTimeouts() throws InterruptedException {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertTrue(deque.offerLast(i));
+        }
+        assertEquals(0, deque.remainingCapacity());
+        assertFalse(deque.offerFirst(-1));
+        assertThrows(IllegalStateException.class, () -> deque.add(-1));
+        assertFalse(deque.offerLast(-1, 10, TimeUnit.MILLISECONDS));
+        assertEquals(0, deque.takeFirst());
+        assertEquals(CAPACITY - 1, deque.takeLast());
+        deque.clear();
+        assertNull(deque.pollFirst(10, TimeUnit.MILLISECONDS));
+        assertThrows(NullPointerException.class, () -> deque.offerLast(null));
+        assertThrows(IllegalArgumentException.class, () -> new LinkedListBlockingDeque<>(0));
+    }
+
+    /* 生产者阻塞于满队列、消费者阻塞于空队列时，所有元素按序交付 */
+    @Test
+    @DisplayName("阻塞生产消费按序交付全部元素")
+    void shouldDeliverInOrderWhenBlocking() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> producer = pool.submit(() -> {
+                for (int i = 0; i < ELEMENTS; i++) {
+                    deque.putLast(i);
+                }
+                return null;
+            });
+            Future<Integer> consumer = pool.submit(() -> {
+                int expected = 0;
+                while (expected < ELEMENTS) {
+                    assertEquals(expected++, deque.takeFirst());
+                }
+                return expected;
+            });
+            producer.get(30, TimeUnit.SECONDS);
+            LOGGER.debug(" consumed: {}", consumer.get(30, TimeUnit.SECONDS));
+            assertTrue(deque.isEmpty());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /* 批量转移到 LinkedList 与普通集合结果一致 */
+    @Test
+    @DisplayName("drainTo按上限批量转移元素")
+    void shouldDrainBatches() {
+        for (int i = 0; i < CAPACITY; i++) {
+            deque.add(i);
+        }
+        LinkedList<Integer> linked = new LinkedList<>(List.of(-1));
+        assertEquals(3, deque.drainTo(linked, 3));
+        assertEquals(List.of(-1, 0, 1, 2), new ArrayList<>(linked));
+        List<Integer> plain = new ArrayList<>();
+        assertEquals(2, deque.drainTo(plain, 2));
+        assertEquals(List.of(3, 4), plain);
+        assertEquals(3, deque.drainTo(linked));
+        assertEquals(List.of(-1, 0, 1, 2, 5, 6, 7), new ArrayList<>(linked));
+        assertTrue(deque.isEmpty());
+        assertEquals(CAPACITY, deque.remainingCapacity());
+        assertEquals(0, deque.drainTo(linked, 5));
+        assertThrows(IllegalArgumentException.class, () -> deque.drainTo(deque));
+
+        deque.add(9);
+        assertEquals(1, deque.drainTo(linked, 5));
+        deque.add(10);
+        LOGGER.debug(" remaining: {}", deque);
+        assertEquals(List.of(10), new ArrayList<>(deque));
+    }
+
+    /* drainTo 释放空间后唤醒等待中的生产者 */
+    @Test
+    @DisplayName("drainTo唤醒阻塞的生产者")
+    void shouldWakeProducersAfterDrain() throws Exception {
+        for (int i = 0; i < CAPACITY; i++) {
+            deque.add(i);
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> producers = new ArrayList<>();
+            for (int t = 0; t < 2; t++) {
+                final int value = 100 + t;
+                producers.add(pool.submit(() -> {
+                    deque.putLast(value);
+                    return null;
+                }));
+            }
+            List<Integer> batch = new ArrayList<>();
+            assertEquals(CAPACITY, deque.drainTo(batch));
+            for (Future<?> f : producers) {
+                f.get(30, TimeUnit.SECONDS);
+            }
+            assertEquals(2, deque.size());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /* 迭代器遍历快照，删除作用于原队列 */
+    @Test
+    @DisplayName("快照迭代器删除与逆序迭代")
+    void shouldIterateSnapshot() {
+        for (int i = 0; i < CAPACITY; i++) {
+            deque.add(i);
+        }
+        for (Iterator<Integer> it = deque.iterator(); it.hasNext(); ) {
+            int e = it.next();
+            if (e == 0) {
+                deque.pollLast();
+            }
+            if (e % 2 == 0) {
+                it.remove();
+            }
+        }
+        assertEquals(List.of(1, 3, 5), new ArrayList<>(deque));
+        Iterator<Integer> itr = deque.descendingIterator();
+        assertEquals(5, itr.next());
+        assertEquals(3, itr.next());
+        assertEquals(1, itr.next());
+        assertFalse(itr.hasNext());
+        assertThrows(IllegalStateException.class, deque.iterator()::remove);
+    }
+
+    /* 同一引用多次出现时，迭代器删除的是返回的那一个 */
+    @Test
+    @DisplayName("快照迭代器删除重复元素")
+    void shouldRemoveReturnedDuplicate() {
+        LinkedListBlockingDeque<String> strings = new LinkedListBlockingDeque<>();
+        String x = "x";
+        strings.add(x);
+        strings.add("y");
+        strings.add(x);
+        Iterator<String> desc = strings.descendingIterator();
+        assertEquals(x, desc.next());
+        desc.remove();
+        assertEquals(List.of("x", "y"), new ArrayList<>(strings));
+
+        Integer one = 1;
+        Integer two = 2;
+        for (Integer e : List.of(one, two, one, one, two)) {
+            deque.add(e);
+        }
+        ArrayDeque<Integer> expected = new ArrayDeque<>(deque);
+        Iterator<Integer> it = deque.iterator();
+        Iterator<Integer> ref = expected.iterator();
+        while (it.hasNext()) {
+            Integer e = it.next();
+            assertEquals(ref.next(), e);
+            if (e.equals(one)) {
+                it.remove();
+                ref.remove();
+            }
+            assertEquals(new ArrayList<>(expected), new ArrayList<>(deque));
+        }
+        assertEquals(List.of(two, two), new ArrayList<>(deque));
+
+        deque.clear();
+        for (Integer e : List.of(one, two, one, two, one)) {
+            deque.add(e);
+        }
+        Iterator<Integer> back = deque.descendingIterator();
+        back.next();
+        back.next();
+        back.remove();
+        assertEquals(List.of(one, two, one, one), new ArrayList<>(deque));
+    }
+}
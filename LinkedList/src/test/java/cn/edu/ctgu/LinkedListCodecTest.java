@@ -0,0 +1,123 @@
+package cn.edu.ctgu;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.ObjectOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LinkedListCodecTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LinkedListCodecTest.class);
+
+    @TempDir
+    Path tempDir;
+
+    /* 整数列表经 ByteBuffer 往返 */
+    @Test
+    @DisplayName("整数列表经ByteBuffer往返且比Java序列化更紧凑")
+    void shouldRoundTripIntegersThroughByteBuffer() throws Exception {
+        LinkedList<Integer> list = new LinkedList<>();
+        for (int i = -500; i < 500; i++) {
+            list.add(i);
+        }
+        ByteBuffer buf = ByteBuffer.allocate(9 + 4 * list.size());
+        LinkedListCodec.write(list, ElementCodec.INTEGER, buf);
+        assertFalse(buf.hasRemaining(), "每个整数应只占4字节");
+
+        ByteArrayOutputStream javaBytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(javaBytes)) {
+            out.writeObject(list);
+        }
+        LOGGER.debug(" codec: {} bytes, java serialization: {} bytes", buf.position(), javaBytes.size());
+        assertTrue(buf.position() < javaBytes.size());
+
+        buf.flip();
+        LinkedList<Integer> copy = LinkedListCodec.read(ElementCodec.INTEGER, buf);
+        assertEquals(list, copy);
+        assertEquals(499, copy.getLast());
+        copy.addFirst(-501);
+        assertEquals(-501, copy.getFirst());
+        assertThrows(BufferOverflowException.class,
+                () -> LinkedListCodec.write(list, ElementCodec.INTEGER, ByteBuffer.allocate(16)));
+    }
+
+    /* 字符串列表（含null、多字节字符与超过缓冲区的元素）经 FileChannel 往返 */
+    @Test
+    @DisplayName("字符串列表经FileChannel往返")
+    void shouldRoundTripStringsThroughFileChannel() throws Exception {
+        char[] big = new char[100_000];
+        Arrays.fill(big, '测');
+        LinkedList<String> list = new LinkedList<>();
+        for (int i = 0; i < 20_000; i++) {
+            list.add(i % 100 == 0 ? null : "元素-" + i);
+        }
+        list.add(3, new String(big));
+
+        Path file = tempDir.resolve("list.bin");
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long written = LinkedListCodec.write(list, ElementCodec.STRING, ch);
+            assertEquals(ch.size(), written);
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            LinkedList<String> copy = LinkedListCodec.read(ElementCodec.STRING, ch);
+            assertEquals(list, copy);
+        }
+    }
+
+    /* 同一通道中先后写入的两个映像可依次读回 */
+    @Test
+    @DisplayName("连续写入的两个映像经FileChannel依次读回")
+    void shouldReadConsecutiveImagesFromFileChannel() throws Exception {
+        LinkedList<Integer> first = new LinkedList<>(Arrays.asList(1, 2));
+        LinkedList<Integer> second = new LinkedList<>(Arrays.asList(3, 4, 5));
+        Path file = tempDir.resolve("two.bin");
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            LinkedListCodec.write(first, ElementCodec.INTEGER, ch);
+            LinkedListCodec.write(second, ElementCodec.INTEGER, ch);
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertEquals(first, LinkedListCodec.read(ElementCodec.INTEGER, ch));
+            assertEquals(9 + 4 * first.size(), ch.position());
+            assertEquals(second, LinkedListCodec.read(ElementCodec.INTEGER, ch));
+            assertEquals(ch.size(), ch.position());
+        }
+    }
+
+    /* 空列表、编解码器不匹配与截断 */
+    @Test
+    @DisplayName("编解码器不匹配或数据截断时报错")
+    void shouldRejectMismatchedOrTruncatedImages() throws Exception {
+        ByteBuffer buf = ByteBuffer.allocate(64);
+        LinkedListCodec.write(new LinkedList<Long>(), ElementCodec.LONG, buf);
+        buf.flip();
+        assertTrue(LinkedListCodec.read(ElementCodec.LONG, buf).isEmpty());
+        buf.rewind();
+        assertThrows(IllegalArgumentException.class, () -> LinkedListCodec.read(ElementCodec.DOUBLE, buf));
+
+        LinkedList<Double> doubles = new LinkedList<>(Arrays.asList(1.5, 2.5));
+        Path file = tempDir.resolve("truncated.bin");
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            LinkedListCodec.write(doubles, ElementCodec.DOUBLE, ch);
+            ch.truncate(ch.size() - 1);
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThrows(EOFException.class, () -> LinkedListCodec.read(ElementCodec.DOUBLE, ch));
+        }
+
+        LinkedList<Integer> withNull = new LinkedList<>(Arrays.asList(1, null));
+        assertThrows(NullPointerException.class,
+                () -> LinkedListCodec.write(withNull, ElementCodec.INTEGER, ByteBuffer.allocate(64)));
+    }
+}
@@ -2,10 +2,23 @@ package cn.edu.ctgu;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class LinkedListTest {
@@ -98,4 +111,888 @@ public class LinkedListTest {
         assertFalse(list.remove("any"), "空列表移除非null应失败");
         LOGGER.debug(" List: {} ,list size : {}", list, list.size());
     }
-}
\ No newline at end of file
+
+    /**
+     * 测试跳表位置索引在各种结构修改后保持正确.
+     */
+    @Nested
+    @DisplayName("位置索引")
+    class PositionalIndexTests {
+        private static final int OPERATIONS = 20_000;
+        private final LinkedList<Integer> indexed = new LinkedList<>();
+        private final java.util.LinkedList<Integer> expected = new java.util.LinkedList<>();
+
+        @BeforeEach
+        void enableIndex() {
+            indexed.setPositionalIndexEnabled(true);
+        }
+
+        /* 随机的位置访问、双端操作与批量操作 */
+        @Test
+        @DisplayName("随机操作下位置访问与java.util.LinkedList一致")
+        void shouldMatchReferenceListUnderRandomOperations() {
+            Random random = new Random(1);
+            for (int i = 0; i < OPERATIONS; i++) {
+                int op = random.nextInt(12);
+                if (op == 0) {
+                    indexed.addFirst(i);
+                    expected.addFirst(i);
+                } else if (op <= 2) {
+                    indexed.addLast(i);
+                    expected.addLast(i);
+                } else if (op == 3) {
+                    assertEquals(expected.pollFirst(), indexed.pollFirst());
+                } else if (op == 4) {
+                    assertEquals(expected.pollLast(), indexed.pollLast());
+                } else if (op == 5) {
+                    int index = random.nextInt(expected.size() + 1);
+                    indexed.add(index, i);
+                    expected.add(index, i);
+                } else if (op == 6 && !expected.isEmpty()) {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(expected.remove(index), indexed.remove(index));
+                } else if (op == 7 && !expected.isEmpty()) {
+                    Integer value = expected.get(random.nextInt(expected.size()));
+                    assertEquals(expected.remove(value), indexed.remove(value));
+                } else if (op == 8 && !expected.isEmpty()) {
+                    Integer value = expected.get(random.nextInt(expected.size()));
+                    assertEquals(expected.removeLastOccurrence(value),
+                            indexed.removeLastOccurrence(value));
+                } else if (op == 9 && random.nextInt(50) == 0) {
+                    int index = random.nextInt(expected.size() + 1);
+                    indexed.addAll(index, Arrays.asList(-1, -2, -3));
+                    expected.addAll(index, Arrays.asList(-1, -2, -3));
+                } else if (!expected.isEmpty()) {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(expected.get(index), indexed.get(index));
+                }
+            }
+            LOGGER.debug(" size: {}", indexed.size());
+            assertEquals(expected, indexed, "最终内容应一致");
+        }
+
+        /* 通过ListIterator修改后索引仍然正确 */
+        @Test
+        @DisplayName("ListIterator增删后位置访问正确")
+        void shouldStayConsistentAfterListIteratorModifications() {
+            for (int i = 0; i < 1000; i++) {
+                indexed.add(i);
+                expected.add(i);
+            }
+            ListIterator<Integer> actualItr = indexed.listIterator(500);
+            ListIterator<Integer> expectedItr = expected.listIterator(500);
+            Random random = new Random(2);
+            for (int i = 0; i < OPERATIONS; i++) {
+                int op = random.nextInt(4);
+                if (op == 0 && expectedItr.hasNext()) {
+                    assertEquals(expectedItr.next(), actualItr.next());
+                    expectedItr.remove();
+                    actualItr.remove();
+                } else if (op == 1 && expectedItr.hasPrevious()) {
+                    assertEquals(expectedItr.previous(), actualItr.previous());
+                    expectedItr.remove();
+                    actualItr.remove();
+                } else if (op == 2) {
+                    expectedItr.add(i);
+                    actualItr.add(i);
+                } else if (!expected.isEmpty()) {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(expected.get(index), indexed.get(index));
+                }
+            }
+            assertEquals(expected, indexed, "最终内容应一致");
+        }
+
+        /* 清空、克隆与关闭索引 */
+        @Test
+        @DisplayName("清空、克隆与关闭索引后访问正确")
+        @SuppressWarnings("unchecked")
+        void shouldHandleClearCloneAndDisable() {
+            for (int i = 0; i < 100; i++) {
+                indexed.add(i);
+            }
+            assertEquals(42, indexed.get(42));
+            LinkedList<Integer> clone = (LinkedList<Integer>) indexed.clone();
+            assertTrue(clone.isPositionalIndexEnabled(), "克隆应保留索引设置");
+            clone.add(0, -1);
+            assertEquals(41, clone.get(42));
+            assertEquals(42, indexed.get(42), "克隆不应影响原列表");
+
+            indexed.clear();
+            indexed.add(7);
+            assertEquals(7, indexed.get(0));
+
+            indexed.setPositionalIndexEnabled(false);
+            assertFalse(indexed.isPositionalIndexEnabled());
+            assertEquals(7, indexed.get(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("可分割迭代器")
+    class SpliteratorTests {
+        private static final int SIZE = 100_000;
+        private final LinkedList<Integer> numbers = new LinkedList<>();
+
+        @BeforeEach
+        void fill() {
+            for (int i = 0; i < SIZE; i++) {
+                numbers.add(i);
+            }
+        }
+
+        /* 从中点分割，两半大小均衡且顺序连续 */
+        @Test
+        @DisplayName("从中点分割出均衡且连续的两半")
+        void shouldSplitAtMidpoint() {
+            Spliterator<Integer> suffix = numbers.spliterator();
+            Spliterator<Integer> prefix = suffix.trySplit();
+
+            assertEquals(SIZE / 2, prefix.estimateSize());
+            assertEquals(SIZE - SIZE / 2, suffix.estimateSize());
+            assertTrue(prefix.hasCharacteristics(Spliterator.SUBSIZED));
+            List<Integer> seen = new ArrayList<>();
+            prefix.forEachRemaining(seen::add);
+            suffix.forEachRemaining(seen::add);
+            assertEquals(numbers, seen, "两半拼接后应与原列表一致");
+        }
+
+        /* 递归分割到单个元素 */
+        @Test
+        @DisplayName("递归分割后覆盖全部元素且不重叠")
+        void shouldSplitRecursivelyIntoSingletons() {
+            numbers.setPositionalIndexEnabled(true);
+            List<Integer> seen = new ArrayList<>();
+            Deque<Spliterator<Integer>> pending = new ArrayDeque<>();
+            pending.push(numbers.spliterator());
+            while (!pending.isEmpty()) {
+                Spliterator<Integer> s = pending.pop();
+                Spliterator<Integer> prefix = s.trySplit();
+                if (prefix == null) {
+                    assertTrue(s.estimateSize() <= 1);
+                    s.tryAdvance(seen::add);
+                } else {
+                    pending.push(s);
+                    pending.push(prefix);
+                }
+            }
+            assertEquals(numbers, seen, "分割遍历结果应与原列表一致");
+        }
+
+        /* 并行流结果与顺序一致 */
+        @Test
+        @DisplayName("并行流求和与有序收集结果正确")
+        void shouldSupportParallelStreams() {
+            long expectedSum = (long) SIZE * (SIZE - 1) / 2;
+            assertEquals(expectedSum, numbers.parallelStream().mapToLong(Integer::longValue).sum());
+            numbers.setPositionalIndexEnabled(true);
+            assertEquals(numbers, numbers.parallelStream().collect(Collectors.toList()));
+        }
+
+        /* 分割后遍历前结构修改 */
+        @Test
+        @DisplayName("分割后结构修改时遍历快速失败")
+        void shouldFailFastAfterSplit() {
+            Spliterator<Integer> suffix = numbers.spliterator();
+            Spliterator<Integer> prefix = suffix.trySplit();
+            numbers.addFirst(-1);
+            assertThrows(ConcurrentModificationException.class, () -> prefix.forEachRemaining(e -> { }));
+        }
+    }
+
+    @Nested
+    @DisplayName("节点池")
+    class NodePoolTests {
+        private static final int POOL_CAPACITY = 8;
+        private final LinkedList<Integer> pooled = new LinkedList<>();
+
+        @BeforeEach
+        void enablePool() {
+            pooled.setNodePoolCapacity(POOL_CAPACITY);
+        }
+
+        /* 启用节点池后随机操作结果不变 */
+        @Test
+        @DisplayName("随机操作结果与java.util.LinkedList一致")
+        void shouldMatchReferenceListUnderRandomOperations() {
+            java.util.LinkedList<Integer> expected = new java.util.LinkedList<>();
+            Random random = new Random(3);
+            for (int i = 0; i < 20_000; i++) {
+                int op = random.nextInt(6);
+                if (op == 0 || op == 1) {
+                    pooled.addLast(i);
+                    expected.addLast(i);
+                } else if (op == 2) {
+                    assertEquals(expected.pollFirst(), pooled.pollFirst());
+                } else if (op == 3) {
+                    assertEquals(expected.pollLast(), pooled.pollLast());
+                } else if (op == 4) {
+                    int index = random.nextInt(expected.size() + 1);
+                    pooled.add(index, i);
+                    expected.add(index, i);
+                } else if (!expected.isEmpty()) {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(expected.remove(index), pooled.remove(index));
+                }
+                assertTrue(pooled.freeCount <= POOL_CAPACITY, "节点池不应超过容量");
+            }
+            assertEquals(expected, pooled);
+        }
+
+        /* 节点被回收复用后迭代器仍快速失败 */
+        @Test
+        @DisplayName("节点复用后迭代器快速失败")
+        void shouldFailFastAfterNodeReuse() {
+            pooled.add(1);
+            pooled.add(2);
+            ListIterator<Integer> itr = pooled.listIterator();
+            assertEquals(1, itr.next());
+            pooled.pollFirst();
+            pooled.addLast(3);  // 复用刚释放的节点
+            assertThrows(ConcurrentModificationException.class, itr::next);
+            assertThrows(ConcurrentModificationException.class, itr::remove);
+            assertEquals(Arrays.asList(2, 3), pooled);
+        }
+
+        /* 调整容量与克隆 */
+        @Test
+        @DisplayName("缩小容量释放节点且克隆不共享节点池")
+        void shouldShrinkPoolAndNotShareItWithClones() {
+            for (int i = 0; i < 20; i++) {
+                pooled.add(i);
+            }
+            pooled.clear();
+            assertEquals(POOL_CAPACITY, pooled.freeCount);
+
+            @SuppressWarnings("unchecked")
+            LinkedList<Integer> clone = (LinkedList<Integer>) pooled.clone();
+            assertEquals(0, clone.freeCount);
+            assertEquals(POOL_CAPACITY, clone.getNodePoolCapacity());
+
+            pooled.setNodePoolCapacity(2);
+            assertEquals(2, pooled.freeCount);
+            pooled.setNodePoolCapacity(0);
+            assertNull(pooled.freeNodes);
+            assertThrows(IllegalArgumentException.class, () -> pooled.setNodePoolCapacity(-1));
+        }
+    }
+
+    @Nested
+    @DisplayName("拼接与分割")
+    class SpliceTests {
+        private final LinkedList<Integer> left = new LinkedList<>(Arrays.asList(1, 2, 3));
+        private final LinkedList<Integer> right = new LinkedList<>(Arrays.asList(4, 5));
+
+        /* 拼接到末尾后源列表为空 */
+        @Test
+        @DisplayName("spliceLast移动全部节点并清空源列表")
+        void shouldSpliceLast() {
+            left.setPositionalIndexEnabled(true);
+            left.spliceLast(right);
+
+            assertEquals(Arrays.asList(1, 2, 3, 4, 5), left);
+            assertEquals(5, left.getLast());
+            assertEquals(4, left.get(3));
+            assertTrue(right.isEmpty());
+            assertNull(right.peekLast());
+            right.add(6);
+            assertEquals(Arrays.asList(6), right);
+            assertEquals(Arrays.asList(1, 2, 3, 4, 5), left, "源列表后续修改不应影响目标列表");
+        }
+
+        /* 拼接到开头，以及空列表的情况 */
+        @Test
+        @DisplayName("spliceFirst移动全部节点且支持空列表")
+        void shouldSpliceFirst() {
+            left.spliceFirst(right);
+            assertEquals(Arrays.asList(4, 5, 1, 2, 3), left);
+            assertEquals(Arrays.asList(3, 2, 1, 5, 4), toList(left.descendingIterator()));
+
+            LinkedList<Integer> empty = new LinkedList<>();
+            empty.spliceFirst(left);
+            assertEquals(Arrays.asList(4, 5, 1, 2, 3), empty);
+            empty.spliceLast(new LinkedList<>());
+            assertEquals(5, empty.size());
+            assertThrows(IllegalArgumentException.class, () -> empty.spliceLast(empty));
+        }
+
+        /* 拼接使两个列表上的迭代器失效 */
+        @Test
+        @DisplayName("拼接后两个列表的迭代器快速失败")
+        void shouldInvalidateIteratorsOfBothLists() {
+            ListIterator<Integer> leftItr = left.listIterator();
+            ListIterator<Integer> rightItr = right.listIterator();
+            left.spliceLast(right);
+            assertThrows(ConcurrentModificationException.class, leftItr::next);
+            assertThrows(ConcurrentModificationException.class, rightItr::next);
+        }
+
+        /* 在迭代器游标处分割 */
+        @Test
+        @DisplayName("splitAt在游标处分割且迭代器仍可用")
+        void shouldSplitAtCursor() {
+            left.spliceLast(right);
+            ListIterator<Integer> itr = left.listIterator();
+            itr.next();
+            itr.next();
+            LinkedList<Integer> suffix = left.splitAt(itr);
+
+            assertEquals(Arrays.asList(1, 2), left);
+            assertEquals(Arrays.asList(3, 4, 5), suffix);
+            assertEquals(2, left.getLast());
+            assertEquals(3, suffix.getFirst());
+            assertFalse(itr.hasNext());
+            itr.add(9);
+            assertEquals(Arrays.asList(1, 2, 9), left);
+
+            assertTrue(left.splitAt(left.listIterator(left.size())).isEmpty());
+            assertEquals(Arrays.asList(1, 2, 9), left.splitAt(left.listIterator()));
+            assertTrue(left.isEmpty());
+            assertThrows(IllegalArgumentException.class, () -> left.splitAt(suffix.listIterator()));
+        }
+    }
+
+    @Nested
+    @DisplayName("成员哈希索引")
+    class MembershipIndexTests {
+        private final LinkedList<Integer> indexed = new LinkedList<>();
+        private final java.util.LinkedList<Integer> expected = new java.util.LinkedList<>();
+
+        @BeforeEach
+        void enableIndex() {
+            indexed.setMembershipIndexEnabled(true);
+        }
+
+        /* 含重复元素的随机增删改查，同时启用位置索引与节点池 */
+        @Test
+        @DisplayName("随机操作下按值查找与删除与java.util.LinkedList一致")
+        void shouldMatchReferenceListUnderRandomOperations() {
+            indexed.setPositionalIndexEnabled(true);
+            indexed.setNodePoolCapacity(16);
+            Random random = new Random(9);
+            for (int i = 0; i < 20_000; i++) {
+                int op = random.nextInt(12);
+                Integer value = random.nextInt(10) == 0 ? null : random.nextInt(40);
+                if (op == 0) {
+                    indexed.addFirst(value);
+                    expected.addFirst(value);
+                } else if (op == 1 || op == 2) {
+                    indexed.addLast(value);
+                    expected.addLast(value);
+                } else if (op == 3) {
+                    int index = random.nextInt(expected.size() + 1);
+                    indexed.add(index, value);
+                    expected.add(index, value);
+                } else if (op == 4) {
+                    assertEquals(expected.remove(value), indexed.remove(value));
+                } else if (op == 5) {
+                    assertEquals(expected.removeLastOccurrence(value), indexed.removeLastOccurrence(value));
+                } else if (op == 6 && !expected.isEmpty()) {
+                    int index = random.nextInt(expected.size());
+                    assertEquals(expected.set(index, value), indexed.set(index, value));
+                } else if (op == 7) {
+                    assertEquals(expected.pollFirst(), indexed.pollFirst());
+                } else if (op == 8) {
+                    int index = random.nextInt(expected.size() + 1);
+                    List<Integer> batch = Arrays.asList(value, i % 40);
+                    indexed.addAll(index, batch);
+                    expected.addAll(index, batch);
+                } else if (op == 9 && !expected.isEmpty()) {
+                    assertEquals(expected.get(expected.size() / 2), indexed.get(indexed.size() / 2));
+                } else {
+                    assertEquals(expected.contains(value), indexed.contains(value));
+                    assertEquals(expected.indexOf(value), indexed.indexOf(value));
+                    assertEquals(expected.lastIndexOf(value), indexed.lastIndexOf(value));
+                }
+            }
+            assertEquals(expected, indexed);
+        }
+
+        /* 通过ListIterator增删改时索引保持同步 */
+        @Test
+        @DisplayName("ListIterator增删改后索引保持同步")
+        void shouldStayInSyncThroughListIterator() {
+            for (int i = 0; i < 10; i++) {
+                indexed.add(i);
+            }
+            assertTrue(indexed.contains(5));
+            ListIterator<Integer> itr = indexed.listIterator();
+            while (itr.hasNext()) {
+                int e = itr.next();
+                if (e == 5) {
+                    itr.remove();
+                } else if (e == 6) {
+                    itr.set(60);
+                } else if (e == 7) {
+                    itr.add(70);
+                }
+            }
+            assertFalse(indexed.contains(5));
+            assertFalse(indexed.contains(6));
+            assertTrue(indexed.contains(60));
+            assertTrue(indexed.remove(Integer.valueOf(70)));
+            assertEquals(Arrays.asList(0, 1, 2, 3, 4, 60, 7, 8, 9), indexed);
+        }
+
+        /* 清空、拼接与克隆后重新建立索引 */
+        @Test
+        @DisplayName("批量操作后索引惰性重建")
+        void shouldRebuildAfterBulkOperations() {
+            indexed.addAll(Arrays.asList(1, 2, 3));
+            assertTrue(indexed.contains(2));
+            indexed.clear();
+            assertFalse(indexed.contains(2));
+
+            LinkedList<Integer> other = new LinkedList<>(Arrays.asList(4, 5));
+            indexed.spliceLast(other);
+            assertTrue(indexed.contains(5));
+            assertFalse(other.contains(5));
+
+            @SuppressWarnings("unchecked")
+            LinkedList<Integer> clone = (LinkedList<Integer>) indexed.clone();
+            assertTrue(clone.isMembershipIndexEnabled());
+            clone.remove(Integer.valueOf(4));
+            assertTrue(indexed.contains(4), "克隆的修改不应影响原列表的索引");
+            assertFalse(clone.contains(4));
+        }
+    }
+
+    @Nested
+    @DisplayName("不可变快照")
+    class SnapshotTests {
+        private final LinkedList<Integer> list = new LinkedList<>(Arrays.asList(1, 2, 3, 4, 5));
+
+        /* 快照不受后续任何修改影响 */
+        @Test
+        @DisplayName("快照内容不随列表修改而变化")
+        void shouldKeepContentsAfterModification() {
+            List<Integer> snapshot = list.snapshot();
+            list.addLast(6);
+            list.addFirst(0);
+            assertEquals(Arrays.asList(1, 2, 3, 4, 5), snapshot, "两端追加不应影响快照");
+
+            List<Integer> second = list.snapshot();
+            list.set(3, 30);
+            list.remove(Integer.valueOf(4));
+            list.pollFirst();
+            list.add(2, 99);
+            assertEquals(Arrays.asList(1, 2, 3, 4, 5), snapshot);
+            assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6), second);
+            assertEquals(Arrays.asList(1, 2, 99, 30, 5, 6), list);
+            assertEquals(Arrays.asList(5, 4, 3, 2, 1), toList(reverse(snapshot)));
+            assertEquals(4, snapshot.get(3));
+            assertEquals(15, snapshot.stream().mapToInt(Integer::intValue).sum());
+
+            list.clear();
+            assertEquals(7, second.size());
+            assertThrows(UnsupportedOperationException.class, () -> snapshot.add(1));
+            assertThrows(UnsupportedOperationException.class, () -> snapshot.listIterator().set(1));
+            assertTrue(list.snapshot().isEmpty());
+        }
+
+        /* 快照后通过迭代器修改，迭代器迁移到新节点链 */
+        @Test
+        @DisplayName("快照后ListIterator修改结果正确")
+        void shouldModifyThroughIteratorAfterSnapshot() {
+            list.setPositionalIndexEnabled(true);
+            list.setMembershipIndexEnabled(true);
+            list.setNodePoolCapacity(8);
+            ListIterator<Integer> itr = list.listIterator();
+            itr.next();
+            itr.next();
+            List<Integer> snapshot = list.snapshot();
+            itr.remove();
+            itr.next();
+            itr.set(30);
+            List<Integer> second = list.snapshot();
+            itr.previous();
+            itr.add(25);
+            itr.next();
+            assertEquals(Arrays.asList(1, 25, 30, 4, 5), list);
+            assertEquals(Arrays.asList(1, 2, 3, 4, 5), snapshot);
+            assertEquals(Arrays.asList(1, 30, 4, 5), second);
+            assertTrue(list.contains(25));
+            assertFalse(list.contains(2));
+            assertEquals(30, list.get(2));
+
+            ListIterator<Integer> cursor = list.listIterator(3);
+            List<Integer> third = list.snapshot();
+            LinkedList<Integer> suffix = list.splitAt(cursor);
+            assertEquals(Arrays.asList(1, 25, 30), list);
+            assertEquals(Arrays.asList(4, 5), suffix);
+            assertEquals(Arrays.asList(1, 25, 30, 4, 5), third);
+        }
+
+        /* 写线程持续修改时读线程遍历快照 */
+        @Test
+        @DisplayName("并发写入时快照遍历结果一致")
+        void shouldStayConsistentWhileWriterContinues() throws Exception {
+            List<List<Integer>> snapshots = new ArrayList<>();
+            Random random = new Random(12);
+            java.util.LinkedList<java.util.LinkedList<Integer>> expected = new java.util.LinkedList<>();
+            java.util.LinkedList<Integer> reference = new java.util.LinkedList<>(list);
+            for (int i = 0; i < 2_000; i++) {
+                if (i % 50 == 0) {
+                    snapshots.add(list.snapshot());
+                    expected.add(new java.util.LinkedList<>(reference));
+                }
+                int op = random.nextInt(4);
+                if (op == 0) {
+                    list.addFirst(i);
+                    reference.addFirst(i);
+                } else if (op == 1) {
+                    list.addLast(i);
+                    reference.addLast(i);
+                } else if (op == 2 && !reference.isEmpty()) {
+                    assertEquals(reference.pollFirst(), list.pollFirst());
+                } else if (!reference.isEmpty()) {
+                    int index = random.nextInt(reference.size());
+                    assertEquals(reference.set(index, -i), list.set(index, -i));
+                }
+            }
+            java.util.concurrent.CompletableFuture<Void> reader = java.util.concurrent.CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < snapshots.size(); i++) {
+                    assertEquals(expected.get(i), snapshots.get(i));
+                }
+            });
+            for (int i = 0; i < 1_000; i++) {
+                list.addLast(i);
+                list.pollFirst();
+            }
+            reader.get();
+            LOGGER.debug(" snapshots: {}", snapshots.size());
+            for (int i = 0; i < snapshots.size(); i++) {
+                assertEquals(expected.get(i), snapshots.get(i));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("批量操作")
+    class BulkOperationTests {
+        private final LinkedList<Integer> numbers = new LinkedList<>();
+
+        @BeforeEach
+        void fill() {
+            for (int i = 0; i < 100; i++) {
+                numbers.add(i);
+            }
+        }
+
+        /* removeIf 与 replaceAll 结果正确，且各只计一次修改 */
+        @Test
+        @DisplayName("removeIf与replaceAll结果正确且索引同步")
+        void shouldRemoveAndReplaceInOnePass() {
+            numbers.setPositionalIndexEnabled(true);
+            numbers.setMembershipIndexEnabled(true);
+            numbers.setNodePoolCapacity(16);
+            List<Integer> snapshot = numbers.snapshot();
+            ListIterator<Integer> itr = numbers.listIterator();
+
+            assertTrue(numbers.removeIf(e -> e % 3 != 0));
+            assertThrows(ConcurrentModificationException.class, itr::next);
+            assertFalse(numbers.removeIf(e -> e < 0));
+            assertEquals(34, numbers.size());
+            assertEquals(33, numbers.get(11));
+            assertFalse(numbers.contains(4));
+
+            numbers.replaceAll(e -> e * 2);
+            assertEquals(66, numbers.get(11));
+            assertTrue(numbers.contains(198));
+            assertFalse(numbers.contains(99));
+            assertEquals(0, numbers.getFirst());
+            assertEquals(198, numbers.getLast());
+            assertEquals(100, snapshot.size(), "快照不应受批量操作影响");
+            assertEquals(99, snapshot.get(99));
+
+            assertTrue(numbers.removeIf(e -> true));
+            assertTrue(numbers.isEmpty());
+            assertNull(numbers.peekLast());
+            numbers.add(7);
+            assertEquals(Arrays.asList(7), numbers);
+        }
+
+        /* 谓词或动作中修改列表时快速失败 */
+        @Test
+        @DisplayName("批量操作中结构修改时抛出ConcurrentModificationException")
+        void shouldFailFastOnModificationDuringBulkOperation() {
+            assertThrows(ConcurrentModificationException.class, () -> numbers.removeIf(e -> numbers.add(e)));
+            assertThrows(ConcurrentModificationException.class,
+                    () -> numbers.replaceAll(e -> e == 5 ? numbers.removeFirst() : e));
+            assertThrows(ConcurrentModificationException.class, () -> numbers.forEach(e -> numbers.addFirst(e)));
+            assertThrows(ConcurrentModificationException.class,
+                    () -> numbers.forEachBatch(new Integer[8], (batch, n) -> numbers.pollLast()));
+        }
+
+        /* addAll 逐个读取来源，来源抛出异常时列表保持不变 */
+        @Test
+        @DisplayName("addAll从链表、迭代器与自身批量插入")
+        void shouldAddAllWithoutIntermediateArray() {
+            numbers.setMembershipIndexEnabled(true);
+            LinkedList<Integer> source = new LinkedList<>(Arrays.asList(-1, -2, -3));
+            assertTrue(numbers.addAll(1, source));
+            assertEquals(Arrays.asList(0, -1, -2, -3, 1), numbers.subList(0, 5));
+            assertEquals(103, numbers.size());
+            assertTrue(numbers.contains(-2));
+            assertFalse(numbers.addAll(50, new LinkedList<>()));
+
+            LinkedList<Integer> twice = new LinkedList<>(Arrays.asList(1, 2, 3));
+            assertTrue(twice.addAll(1, twice));
+            assertEquals(Arrays.asList(1, 1, 2, 3, 2, 3), twice);
+
+            List<Integer> failing = new java.util.AbstractList<Integer>() {
+                public Integer get(int index) {
+                    if (index == 2)
+                        throw new IllegalStateException("来源损坏");
+                    return index;
+                }
+
+                public int size() {
+                    return 5;
+                }
+            };
+            List<Integer> before = new ArrayList<>(numbers);
+            assertThrows(IllegalStateException.class, () -> numbers.addAll(10, failing));
+            assertEquals(before, numbers, "来源异常时列表不应改变");
+            assertEquals(0, numbers.getFirst());
+        }
+
+        /* forEach、forEachBatch 与 toArray 按顺序交付全部元素 */
+        @Test
+        @DisplayName("forEachBatch按批交付全部元素")
+        void shouldTraverseInBatches() {
+            List<Integer> seen = new ArrayList<>();
+            List<Integer> lengths = new ArrayList<>();
+            Integer[] buffer = new Integer[32];
+            numbers.forEachBatch(buffer, (batch, n) -> {
+                assertSame(buffer, batch);
+                lengths.add(n);
+                seen.addAll(Arrays.asList(batch).subList(0, n));
+            });
+            assertEquals(Arrays.asList(32, 32, 32, 4), lengths);
+            assertEquals(numbers, seen);
+            assertThrows(IllegalArgumentException.class, () -> numbers.forEachBatch(new Integer[0], (b, n) -> { }));
+
+            List<Integer> each = new ArrayList<>();
+            numbers.forEach(each::add);
+            assertEquals(numbers, each);
+
+            Integer[] array = numbers.toArray(new Integer[0]);
+            assertEquals(100, array.length);
+            assertEquals(99, array[99]);
+            Integer[] roomy = new Integer[102];
+            assertSame(roomy, numbers.toArray(roomy));
+            assertNull(roomy[100]);
+        }
+    }
+
+    @Nested
+    @DisplayName("操作统计")
+    class MetricsTests {
+        private final LinkedList<Integer> numbers = new LinkedList<>();
+
+        @BeforeEach
+        void fill() {
+            for (int i = 0; i < 100; i++) {
+                numbers.add(i);
+            }
+        }
+
+        /* 统计各类操作次数与遍历长度直方图 */
+        @Test
+        @DisplayName("按操作计数并记录遍历长度")
+        void shouldCountOperationsAndWalks() {
+            assertNull(numbers.getMetrics());
+            numbers.setMetricsEnabled(true);
+            LinkedListMetrics metrics = numbers.getMetrics();
+            assertTrue(numbers.isMetricsEnabled());
+
+            numbers.get(10);
+            numbers.get(90);
+            numbers.set(0, 0);
+            numbers.addFirst(-1);
+            numbers.pollLast();
+            numbers.remove(5);
+            assertEquals(1, metrics.count(LinkedListMetrics.Op.ADD_FIRST));
+            assertEquals(1, metrics.count(LinkedListMetrics.Op.REMOVE_LAST));
+            assertEquals(2, metrics.count(LinkedListMetrics.Op.GET));
+            assertEquals(10 + 9 + 0 + 5, metrics.positionalLinks());
+            long[] positional = metrics.positionalWalkHistogram();
+            assertEquals(1, positional[0], "长度0");
+            assertEquals(1, positional[3], "长度5");
+            assertEquals(2, positional[4], "长度9与10");
+            assertEquals(3, metrics.modifications());
+
+            assertEquals(3, numbers.indexOf(2));
+            assertEquals(-1, numbers.indexOf(1000));
+            assertTrue(numbers.contains(50));
+            assertTrue(numbers.removeLastOccurrence(97));
+            assertEquals(3, metrics.count(LinkedListMetrics.Op.INDEX_OF));
+            assertEquals(3 + 99 + 50 + 1, metrics.searchLinks());
+
+            numbers.setMembershipIndexEnabled(true);
+            assertFalse(numbers.remove((Object) 1000));
+            assertEquals(1, metrics.searchWalkHistogram()[0]);
+            assertEquals(1, metrics.count(LinkedListMetrics.Op.REMOVE_OBJECT));
+
+            metrics.reset();
+            assertTrue(metrics.counts().isEmpty());
+            assertEquals(0, metrics.modifications());
+            numbers.setMetricsEnabled(false);
+            numbers.get(3);
+            assertEquals(0, metrics.count(LinkedListMetrics.Op.GET));
+            assertNull(numbers.getMetrics());
+        }
+
+        /* 经由按位置、按值与批量方法在两端增删的元素同样计入 */
+        @Test
+        @DisplayName("两端增删不论经由哪个方法都计数")
+        void shouldCountEndOperationsByPosition() {
+            numbers.setMetricsEnabled(true);
+            LinkedListMetrics metrics = numbers.getMetrics();
+
+            numbers.add(0, -1);
+            numbers.add(numbers.size(), 100);
+            numbers.addAll(0, List.of(-3, -2));
+            numbers.addAll(List.of(101, 102, 103));
+            numbers.addAll(10, List.of(7, 7));
+            assertEquals(3, metrics.count(LinkedListMetrics.Op.ADD_FIRST));
+            assertEquals(4, metrics.count(LinkedListMetrics.Op.ADD_LAST));
+
+            numbers.remove(0);
+            numbers.remove(numbers.size() - 1);
+            numbers.remove((Object) (-2));
+            numbers.remove((Object) 102);
+            numbers.remove(10);
+            Iterator<Integer> it = numbers.iterator();
+            it.next();
+            it.remove();
+            assertEquals(3, metrics.count(LinkedListMetrics.Op.REMOVE_FIRST));
+            assertEquals(2, metrics.count(LinkedListMetrics.Op.REMOVE_LAST));
+        }
+
+        /* 克隆与拆分出的列表获得独立的统计 */
+        @Test
+        @DisplayName("克隆与拆分出的列表统计相互独立")
+        void shouldGiveClonesAndSuffixesFreshMetrics() {
+            numbers.setMetricsEnabled(true);
+            LinkedListMetrics metrics = numbers.getMetrics();
+            numbers.addLast(100);
+
+            @SuppressWarnings("unchecked")
+            LinkedList<Integer> copy = (LinkedList<Integer>) numbers.clone();
+            assertNotSame(metrics, copy.getMetrics());
+            assertTrue(copy.getMetrics().counts().isEmpty());
+            assertEquals(1, metrics.count(LinkedListMetrics.Op.ADD_LAST), "克隆不应计入原列表");
+
+            LinkedList<Integer> suffix = numbers.splitAt(numbers.listIterator(50));
+            suffix.removeFirst();
+            assertEquals(1, suffix.getMetrics().count(LinkedListMetrics.Op.REMOVE_FIRST));
+            assertEquals(0, metrics.count(LinkedListMetrics.Op.REMOVE_FIRST));
+            assertEquals(1, metrics.count(LinkedListMetrics.Op.LIST_ITERATOR));
+        }
+    }
+
+    @Nested
+    @DisplayName("节点句柄")
+    class HandleTests {
+        private final LinkedList<String> list = new LinkedList<>();
+
+        /* 通过句柄在常数时间内插入、删除、移动与迭代 */
+        @Test
+        @DisplayName("句柄插入、删除、移动与迭代")
+        void shouldOperateThroughHandles() {
+            list.setPositionalIndexEnabled(true);
+            list.setMembershipIndexEnabled(true);
+            LinkedList.Handle<String> b = list.insertLast("b");
+            LinkedList.Handle<String> a = list.insertBefore(b, "a");
+            LinkedList.Handle<String> d = list.insertAfter(b, "d");
+            LinkedList.Handle<String> c = list.insertAfter(b, "c");
+            list.insertFirst("start");
+            assertEquals(Arrays.asList("start", "a", "b", "c", "d"), list);
+            assertSame(list, c.list());
+
+            ListIterator<String> stale = list.listIterator();
+            assertEquals("c", list.removeAt(c));
+            assertFalse(c.isValid());
+            assertThrows(IllegalStateException.class, c::get);
+            assertThrows(IllegalStateException.class, () -> list.removeAt(c));
+            assertThrows(ConcurrentModificationException.class, stale::next);
+
+            assertSame(d, list.moveToFirst(d));
+            assertSame(a, list.moveToLast(a));
+            assertEquals(Arrays.asList("d", "start", "b", "a"), list);
+            assertEquals(2, list.indexOf("b"));
+            assertEquals("a", list.get(3));
+            assertEquals("a", list.lastHandle().get());
+
+            java.util.Iterator<String> itr = list.iteratorFrom(b);
+            assertEquals("b", itr.next());
+            itr.remove();
+            assertEquals("a", itr.next());
+            assertFalse(itr.hasNext());
+            assertFalse(b.isValid());
+            assertEquals(Arrays.asList("d", "start", "a"), list);
+            assertFalse(list.contains("b"));
+            assertEquals("d", list.removeAt(list.firstHandle()));
+            assertEquals("a", list.removeAt(a));
+            assertEquals(Arrays.asList("start"), list);
+
+            LinkedList<String> other = new LinkedList<>(Arrays.asList("x"));
+            assertThrows(IllegalArgumentException.class, () -> list.removeAt(other.firstHandle()));
+        }
+
+        /* 拆分、拼接、清空与快照复制使句柄失效，句柄存在时不回收节点 */
+        @Test
+        @DisplayName("结构性转移使句柄失效")
+        void shouldInvalidateHandlesOnTransfer() {
+            list.setNodePoolCapacity(8);
+            LinkedList.Handle<String> x = list.insertLast("x");
+            LinkedList.Handle<String> y = list.insertLast("y");
+            list.removeAt(x);
+            list.addLast("z");
+            assertFalse(x.isValid(), "被删除的节点不应被复用");
+
+            List<String> snapshot = list.snapshot();
+            list.addLast("w");
+            assertTrue(y.isValid(), "末尾追加不复制节点");
+            LinkedList.Handle<String> w = list.lastHandle();
+            LinkedList.Handle<String> moved = list.moveToFirst(w);
+            assertNotSame(w, moved);
+            assertFalse(y.isValid());
+            assertEquals("w", moved.get());
+            assertEquals(Arrays.asList("y", "z"), snapshot);
+            assertEquals(Arrays.asList("w", "y", "z"), list);
+
+            LinkedList.Handle<String> first = list.firstHandle();
+            LinkedList<String> suffix = list.splitAt(list.listIterator(1));
+            assertFalse(first.isValid());
+            LinkedList.Handle<String> tail = suffix.lastHandle();
+            list.spliceLast(suffix);
+            assertFalse(tail.isValid());
+            LinkedList.Handle<String> head = list.firstHandle();
+            list.clear();
+            assertFalse(head.isValid());
+            assertNull(list.firstHandle());
+        }
+    }
+
+    private static <T> java.util.Iterator<T> reverse(List<T> list) {
+        ListIterator<T> itr = list.listIterator(list.size());
+        return new java.util.Iterator<T>() {
+            public boolean hasNext() {
+                return itr.hasPrevious();
+            }
+
+            public T next() {
+                return itr.previous();
+            }
+        };
+    }
+
+    private static <T> List<T> toList(java.util.Iterator<T> itr) {
+        List<T> result = new ArrayList<>();
+        itr.forEachRemaining(result::add);
+        return result;
+    }
+}
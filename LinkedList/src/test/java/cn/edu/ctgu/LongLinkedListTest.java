@@ -0,0 +1,58 @@
+package cn.edu.ctgu;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongLinkedListTest {
+    private static final long NO_ENTRY = -1L;
+
+    /* 与 java.util.ArrayDeque 对照执行随机双端操作 */
+    @Test
+    @DisplayName("随机双端操作结果与ArrayDeque一致")
+    void shouldMatchReferenceDequeUnderRandomOperations() {
+        LongLinkedList list = new LongLinkedList(0, NO_ENTRY);
+        java.util.ArrayDeque<Long> expected = new java.util.ArrayDeque<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 20_000; i++) {
+            long value = random.nextLong() >>> 1;
+            int op = random.nextInt(4);
+            if (op == 0) {
+                list.addFirst(value);
+                expected.addFirst(value);
+            } else if (op == 1) {
+                list.addLast(value);
+                expected.addLast(value);
+            } else if (op == 2) {
+                Long e = expected.pollFirst();
+                assertEquals(e == null ? NO_ENTRY : e, list.pollFirst());
+            } else {
+                Long e = expected.pollLast();
+                assertEquals(e == null ? NO_ENTRY : e, list.pollLast());
+            }
+        }
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).toArray(), list.toArray());
+        PrimitiveIterator.OfLong itr = list.iterator();
+        for (long e : expected) {
+            assertEquals(e, itr.nextLong());
+        }
+        assertFalse(itr.hasNext());
+    }
+
+    /* 超出int范围的值 */
+    @Test
+    @DisplayName("保存超出int范围的值")
+    void shouldHoldValuesBeyondIntRange() {
+        LongLinkedList list = new LongLinkedList();
+        list.addLast(Long.MAX_VALUE);
+        list.addFirst(Long.MIN_VALUE);
+        assertTrue(list.contains(Long.MAX_VALUE));
+        assertEquals(1, list.indexOf(Long.MAX_VALUE));
+        assertEquals(Long.MIN_VALUE, list.removeFirst());
+        assertEquals("[" + Long.MAX_VALUE + "]", list.toString());
+    }
+}
@@ -0,0 +1,76 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 内存映射文件双端队列与堆上 LinkedList 的队列操作开销对比.
+ * 队列预填充 size 个 Long，每次调用 addLast 后 pollFirst。
+ * 运行：mvn -Pbenchmark test -Djmh.includes=MappedDequeBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappedDequeBenchmark {
+
+    @Param({"1000000"})
+    private int size;
+
+    private Path file;
+    private MappedDeque<Long> mapped;
+    private LinkedList<Long> heap;
+    private long next;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("mapped", ".deque");
+        mapped = MappedDeque.open(file, ElementCodec.LONG, 8);
+        heap = new LinkedList<>();
+        for (next = 0; next < size; next++) {
+            mapped.addLast(next);
+            heap.addLast(next);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        mapped.close();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * 映射文件队列：入队后出队.
+     */
+    @Benchmark
+    public Long mappedQueue() {
+        mapped.addLast(next++);
+        return mapped.pollFirst();
+    }
+
+    /**
+     * 堆上 LinkedList：入队后出队.
+     */
+    @Benchmark
+    public Long heapQueue() {
+        heap.addLast(next++);
+        return heap.pollFirst();
+    }
+}
@@ -0,0 +1,128 @@
+package cn.edu.ctgu;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MappedDequeTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MappedDequeTest.class);
+    private static final int OPERATIONS = 50_000;
+
+    @TempDir
+    Path tempDir;
+
+    /* 与 ArrayDeque 对照执行随机操作，元素数跨越多个映射区域 */
+    @Test
+    @DisplayName("随机操作结果与ArrayDeque一致")
+    void shouldMatchReferenceDequeUnderRandomOperations() throws Exception {
+        ArrayDeque<Long> expected = new ArrayDeque<>();
+        Random random = new Random(13);
+        try (MappedDeque<Long> deque = MappedDeque.open(tempDir.resolve("random.deque"), ElementCodec.LONG, 8)) {
+            for (int i = 0; i < OPERATIONS; i++) {
+                int op = random.nextInt(10);
+                long value = random.nextInt(100);
+                if (op <= 1) {
+                    deque.offerFirst(value);
+                    expected.offerFirst(value);
+                } else if (op <= 4) {
+                    deque.offerLast((long) i);
+                    expected.offerLast((long) i);
+                } else if (op == 5) {
+                    assertEquals(expected.pollFirst(), deque.pollFirst());
+                } else if (op == 6) {
+                    assertEquals(expected.pollLast(), deque.pollLast());
+                } else if (op == 7) {
+                    assertEquals(expected.removeFirstOccurrence(value), deque.removeFirstOccurrence(value));
+                } else if (op == 8) {
+                    assertEquals(expected.removeLastOccurrence(value), deque.removeLastOccurrence(value));
+                } else {
+                    assertEquals(expected.peekFirst(), deque.peekFirst());
+                    assertEquals(expected.peekLast(), deque.peekLast());
+                }
+            }
+            LOGGER.debug(" size: {}", deque.size());
+            assertEquals(expected.size(), deque.size());
+            assertArrayEquals(expected.toArray(), deque.toArray(), "最终内容应一致");
+            List<Long> descending = new ArrayList<>();
+            deque.descendingIterator().forEachRemaining(descending::add);
+            List<Long> reversed = new ArrayList<>();
+            expected.descendingIterator().forEachRemaining(reversed::add);
+            assertEquals(reversed, descending);
+        }
+    }
+
+    /* 关闭后重新打开，内容与空闲槽位保持不变 */
+    @Test
+    @DisplayName("重新打开文件后内容保持不变")
+    void shouldSurviveReopen() throws Exception {
+        Path file = tempDir.resolve("persistent.deque");
+        try (MappedDeque<String> deque = MappedDeque.open(file, ElementCodec.STRING, 32)) {
+            for (int i = 0; i < 5_000; i++) {
+                deque.addLast("元素" + i);
+            }
+            for (Iterator<String> it = deque.iterator(); it.hasNext(); ) {
+                if (it.next().endsWith("0")) {
+                    it.remove();
+                }
+            }
+        }
+        long length = Files.size(file);
+        try (MappedDeque<String> deque = MappedDeque.open(file, ElementCodec.STRING, 32)) {
+            assertEquals(4_500, deque.size());
+            assertEquals("元素1", deque.getFirst());
+            assertEquals("元素4999", deque.getLast());
+            for (int i = 0; i < 500; i++) {
+                deque.addFirst("新" + i);
+            }
+            assertEquals("新499", deque.peek());
+            assertEquals(length, Files.size(file), "删除释放的槽位应被重用");
+        }
+    }
+
+    /* 超出记录大小的元素、null、文件不匹配与关闭后的使用 */
+    @Test
+    @DisplayName("拒绝非法元素与不匹配的文件")
+    void shouldRejectInvalidUse() throws Exception {
+        Path file = tempDir.resolve("small.deque");
+        MappedDeque<String> deque = MappedDeque.open(file, ElementCodec.STRING, 8);
+        deque.add("abcd");
+        assertThrows(IllegalArgumentException.class, () -> deque.add("too long for eight bytes"));
+        assertThrows(NullPointerException.class, () -> deque.add(null));
+        assertEquals(Arrays.asList("abcd"), new ArrayList<>(deque));
+        deque.add("efgh");
+        assertEquals(2, deque.size(), "写入失败的槽位应回到空闲链表");
+
+        Iterator<String> itr = deque.iterator();
+        deque.pollLast();
+        assertThrows(ConcurrentModificationException.class, itr::next);
+        deque.clear();
+        assertThrows(NoSuchElementException.class, deque::removeFirst);
+        assertNull(deque.pollLast());
+        deque.push("x");
+        deque.close();
+        assertThrows(IllegalStateException.class, () -> deque.add("y"));
+
+        assertThrows(IllegalArgumentException.class, () -> MappedDeque.open(file, ElementCodec.STRING, 16));
+        assertThrows(IllegalArgumentException.class, () -> MappedDeque.open(file, ElementCodec.INTEGER, 8));
+        assertThrows(IllegalArgumentException.class, () -> MappedDeque.open(file, ElementCodec.STRING, 0));
+        try (MappedDeque<String> reopened = MappedDeque.open(file, ElementCodec.STRING, 8)) {
+            assertEquals("x", reopened.pop());
+            assertTrue(reopened.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比启用与未启用成员哈希索引时，去重队列的按值查找与删除开销.
+ * 运行：mvn -Pbenchmark test -Djmh.includes=MembershipBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MembershipBenchmark {
+
+    @Param({"64", "1024", "65536"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    private LinkedList<Integer> queue;
+    private int next;
+
+    /**
+     * 构造已包含 size 个不同元素的去重队列.
+     */
+    @Setup
+    public void setUp() {
+        queue = new LinkedList<>();
+        queue.setMembershipIndexEnabled(indexed);
+        for (next = 0; next < size; next++) {
+            queue.addLast(next);
+        }
+        queue.contains(0);
+    }
+
+    /**
+     * 去重入队：先判断是否存在再入队，随后出队保持长度不变.
+     */
+    @Benchmark
+    public Integer dedupOffer() {
+        Integer e = next++;
+        if (!queue.contains(e)) {
+            queue.addLast(e);
+        }
+        return queue.pollFirst();
+    }
+
+    /**
+     * 按值删除队列中部的元素后重新入队.
+     */
+    @Benchmark
+    public boolean removeByValue() {
+        Integer e = next - (size >> 1);
+        boolean removed = queue.remove(e);
+        queue.addLast(next++);
+        queue.pollFirst();
+        return removed;
+    }
+}
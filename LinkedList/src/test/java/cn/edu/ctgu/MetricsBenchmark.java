@@ -0,0 +1,74 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比启用与未启用操作统计时 LinkedList 常用操作的耗时.
+ * 运行：mvn -Pbenchmark test -Djmh.includes=MetricsBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+    private static final int SIZE = 1024;
+    private static final Integer ELEMENT = 42;
+
+    @Param({"false", "true"})
+    private boolean metricsEnabled;
+
+    private LinkedList<Integer> list;
+    private int index;
+
+    /**
+     * 构造预填充的列表并设置是否统计.
+     */
+    @Setup
+    public void setUp() {
+        list = new LinkedList<>();
+        list.setMetricsEnabled(metricsEnabled);
+        for (int i = 0; i < SIZE; i++) {
+            list.addLast(i);
+        }
+    }
+
+    /**
+     * 队尾入队、队头出队.
+     */
+    @Benchmark
+    public Integer addLastPollFirst() {
+        list.addLast(ELEMENT);
+        return list.pollFirst();
+    }
+
+    /**
+     * 按位置轮流读取靠近两端的元素.
+     */
+    @Benchmark
+    public Integer getNearEnds() {
+        index = (index + 7) & 63;
+        return list.get((index & 1) == 0 ? index : SIZE - 1 - index);
+    }
+
+    /**
+     * 按值查找中间的元素.
+     */
+    @Benchmark
+    public int indexOfMiddle() {
+        return list.indexOf(SIZE / 2);
+    }
+}
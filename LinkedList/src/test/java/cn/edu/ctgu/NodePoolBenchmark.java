@@ -0,0 +1,82 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比启用与未启用节点池时 LinkedList 队列式增删的耗时与分配率.
+ * 分配率见结果中的 gc.alloc.rate.norm（每次操作分配的字节数）。
+ * 运行：mvn -Pbenchmark test -Djmh.includes=NodePoolBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodePoolBenchmark {
+    private static final int SIZE = 1024;
+    private static final Integer ELEMENT = 42;
+
+    @Param({"0", "64"})
+    private int poolCapacity;
+
+    private LinkedList<Integer> list;
+
+    /**
+     * 构造预填充的列表并设置节点池容量.
+     */
+    @Setup
+    public void setUp() {
+        list = new LinkedList<>();
+        list.setNodePoolCapacity(poolCapacity);
+        for (int i = 0; i < SIZE; i++) {
+            list.addLast(i);
+        }
+    }
+
+    /**
+     * 队尾入队、队头出队.
+     */
+    @Benchmark
+    public Integer addLastPollFirst() {
+        list.addLast(ELEMENT);
+        return list.pollFirst();
+    }
+
+    /**
+     * 队头入栈、队头出栈.
+     */
+    @Benchmark
+    public Integer pushPop() {
+        list.push(ELEMENT);
+        return list.pop();
+    }
+
+    /**
+     * 成批入队后成批出队.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Integer burst() {
+        for (int i = 0; i < 32; i++) {
+            list.addLast(ELEMENT);
+        }
+        Integer e = null;
+        for (int i = 0; i < 32; i++) {
+            e = list.pollFirst();
+        }
+        return e;
+    }
+}
@@ -0,0 +1,97 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比启用与未启用跳表位置索引时 LinkedList 的位置访问开销.
+ * 按 size 参数比较两组结果即可得到索引开始占优的列表长度（交叉点）。
+ * 运行：mvn -Pbenchmark test -Djmh.includes=PositionalAccessBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PositionalAccessBenchmark {
+    private static final int INDEX_COUNT = 1 << 10;
+    private static final int INDEX_MASK = INDEX_COUNT - 1;
+
+    @Param({"16", "64", "256", "1024", "16384", "262144"})
+    private int size;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    private LinkedList<Integer> list;
+    private int[] indices;
+    private int cursor;
+
+    /**
+     * 构造指定长度的列表并预先生成随机下标.
+     */
+    @Setup
+    public void setUp() {
+        list = new LinkedList<>();
+        list.setPositionalIndexEnabled(indexed);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        Random random = new Random(size);
+        indices = new int[INDEX_COUNT];
+        for (int i = 0; i < INDEX_COUNT; i++) {
+            indices[i] = random.nextInt(size);
+        }
+        // 预热索引，避免把首次重建计入测量
+        list.get(0);
+    }
+
+    /**
+     * 随机下标读取.
+     */
+    @Benchmark
+    public Integer get() {
+        return list.get(indices[cursor++ & INDEX_MASK]);
+    }
+
+    /**
+     * 随机下标写入.
+     */
+    @Benchmark
+    public Integer set() {
+        int index = indices[cursor++ & INDEX_MASK];
+        return list.set(index, index);
+    }
+
+    /**
+     * 随机位置插入后再删除，列表长度保持不变.
+     */
+    @Benchmark
+    public Integer addThenRemove() {
+        int index = indices[cursor++ & INDEX_MASK];
+        list.add(index, index);
+        return list.remove(index);
+    }
+
+    /**
+     * 队尾追加、队头弹出，衡量索引对纯双端操作的维护开销.
+     */
+    @Benchmark
+    public Integer offerLastPollFirst() {
+        list.offerLast(cursor++);
+        return list.pollFirst();
+    }
+}
@@ -0,0 +1,93 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.PrimitiveIterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比装箱的 LinkedList&lt;Integer&gt; 与数组实现的 IntLinkedList.
+ * 运行：mvn -Pbenchmark test -Djmh.includes=PrimitiveLinkedListBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveLinkedListBenchmark {
+
+    @Param({"1024", "1048576"})
+    private int size;
+
+    private LinkedList<Integer> boxed;
+    private IntLinkedList primitive;
+    private int counter;
+
+    /**
+     * 构造两个内容相同的列表.
+     */
+    @Setup
+    public void setUp() {
+        boxed = new LinkedList<>();
+        primitive = new IntLinkedList(size, -1);
+        for (int i = 0; i < size; i++) {
+            boxed.addLast(i);
+            primitive.addLast(i);
+        }
+    }
+
+    /**
+     * 装箱列表：队尾入队、队头出队.
+     */
+    @Benchmark
+    public int boxedAddLastPollFirst() {
+        boxed.addLast(counter++);
+        return boxed.pollFirst();
+    }
+
+    /**
+     * 原始类型列表：队尾入队、队头出队.
+     */
+    @Benchmark
+    public int primitiveAddLastPollFirst() {
+        primitive.addLast(counter++);
+        return primitive.pollFirst();
+    }
+
+    /**
+     * 装箱列表：迭代求和.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long boxedSum() {
+        long sum = 0;
+        for (Integer e : boxed) {
+            sum += e;
+        }
+        return sum;
+    }
+
+    /**
+     * 原始类型列表：迭代求和.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long primitiveSum() {
+        long sum = 0;
+        for (PrimitiveIterator.OfInt it = primitive.iterator(); it.hasNext(); ) {
+            sum += it.nextInt();
+        }
+        return sum;
+    }
+}
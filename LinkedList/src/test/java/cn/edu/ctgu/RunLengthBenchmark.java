@@ -0,0 +1,86 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 RunLengthLinkedList 与 LinkedList 在由长段重复元素构成的列表上的
+ * 随机读取与按值查找耗时.
+ * 运行：mvn -Pbenchmark test -Djmh.includes=RunLengthBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RunLengthBenchmark {
+    private static final int SIZE = 100_000;
+
+    @Param({"RunLengthLinkedList", "LinkedList"})
+    private String implementation;
+
+    @Param({"1000"})
+    private int runLength;
+
+    private List<Integer> list;
+    private int[] indexes;
+    private int cursor;
+
+    /**
+     * 构造由 SIZE / runLength 段组成的列表以及随机下标序列.
+     */
+    @Setup
+    public void setUp() {
+        list = "LinkedList".equals(implementation) ? new LinkedList<>() : new RunLengthLinkedList<>();
+        for (int i = 0; i < SIZE; i++) {
+            list.add(i / runLength);
+        }
+        Random random = new Random(42);
+        indexes = new int[1024];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = random.nextInt(SIZE);
+        }
+    }
+
+    /**
+     * 随机位置读取.
+     */
+    @Benchmark
+    public Integer randomGet() {
+        cursor = (cursor + 1) & (indexes.length - 1);
+        return list.get(indexes[cursor]);
+    }
+
+    /**
+     * 查找最后一段的值.
+     */
+    @Benchmark
+    public int indexOfLastRun() {
+        return list.indexOf((SIZE - 1) / runLength);
+    }
+
+    /**
+     * 在随机位置插入并删除一个不同的元素.
+     */
+    @Benchmark
+    public Integer insertAndRemove() {
+        cursor = (cursor + 1) & (indexes.length - 1);
+        int index = indexes[cursor];
+        list.add(index, -1);
+        return list.remove(index);
+    }
+}
@@ -0,0 +1,207 @@
+package cn.edu.ctgu;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Objects;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RunLengthLinkedListTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RunLengthLinkedListTest.class);
+    private static final int OPERATIONS = 20_000;
+    private RunLengthLinkedList<Integer> list;
+
+    @BeforeEach
+    void setUp() {
+        list = new RunLengthLinkedList<>();
+    }
+
+    /* 相邻的相等元素总是合并为一段 */
+    private static int expectedRuns(List<Integer> expected) {
+        int runs = 0;
+        Integer previous = null;
+        for (ListIterator<Integer> itr = expected.listIterator(); itr.hasNext(); ) {
+            Integer e = itr.next();
+            if (runs == 0 || !Objects.equals(previous, e)) {
+                runs++;
+            }
+            previous = e;
+        }
+        return runs;
+    }
+
+    /* 与 java.util.LinkedList 对照执行随机操作序列，取值范围小以形成长段 */
+    @Test
+    @DisplayName("随机操作结果与java.util.LinkedList一致且段数最少")
+    void shouldMatchReferenceListUnderRandomOperations() {
+        java.util.LinkedList<Integer> expected = new java.util.LinkedList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < OPERATIONS; i++) {
+            int op = random.nextInt(10);
+            Integer value = random.nextInt(4) == 0 ? null : random.nextInt(3);
+            if (op == 0) {
+                list.addFirst(value);
+                expected.addFirst(value);
+            } else if (op == 1 || op == 2) {
+                list.addLast(value);
+                expected.addLast(value);
+            } else if (op == 3) {
+                assertEquals(expected.pollFirst(), list.pollFirst());
+            } else if (op == 4) {
+                assertEquals(expected.pollLast(), list.pollLast());
+            } else if (op == 5) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, value);
+                expected.add(index, value);
+            } else if (op == 6 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (op == 7 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, value), list.set(index, value));
+            } else if (op == 8) {
+                if (random.nextBoolean()) {
+                    assertEquals(expected.remove(value), list.remove(value));
+                } else {
+                    assertEquals(expected.removeLastOccurrence(value), list.removeLastOccurrence(value));
+                }
+            } else {
+                assertEquals(expected.indexOf(value), list.indexOf(value));
+                assertEquals(expected.lastIndexOf(value), list.lastIndexOf(value));
+            }
+            assertEquals(expected.size(), list.size());
+            if (i % 100 == 0) {
+                assertEquals(expectedRuns(expected), list.runCount(), "相邻相等元素应合并");
+            }
+        }
+        LOGGER.debug(" size: {}, runs: {}", list.size(), list.runCount());
+        assertEquals(expected, list, "最终内容应一致");
+        assertArrayEquals(expected.toArray(), list.toArray());
+        assertEquals(expectedRuns(expected), list.runCount());
+    }
+
+    /* 通过ListIterator进行双向遍历与增删改，另一迭代器在set后仍定位正确 */
+    @Test
+    @DisplayName("ListIterator的增删改与java.util.LinkedList一致")
+    void shouldMatchReferenceListThroughListIterator() {
+        java.util.LinkedList<Integer> expected = new java.util.LinkedList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i / 10);
+            expected.add(i / 10);
+        }
+        Random random = new Random(7);
+        ListIterator<Integer> actualItr = list.listIterator(50);
+        ListIterator<Integer> expectedItr = expected.listIterator(50);
+        for (int i = 0; i < OPERATIONS; i++) {
+            int op = random.nextInt(5);
+            int value = random.nextInt(3);
+            if (op == 0 && expectedItr.hasNext()) {
+                assertEquals(expectedItr.next(), actualItr.next());
+                if (random.nextBoolean()) {
+                    expectedItr.set(value);
+                    actualItr.set(value);
+                } else if (random.nextBoolean()) {
+                    expectedItr.remove();
+                    actualItr.remove();
+                }
+            } else if (op == 1 && expectedItr.hasPrevious()) {
+                assertEquals(expectedItr.previous(), actualItr.previous());
+                if (random.nextBoolean()) {
+                    expectedItr.set(value);
+                    actualItr.set(value);
+                } else if (random.nextBoolean()) {
+                    expectedItr.remove();
+                    actualItr.remove();
+                }
+            } else if (op == 2) {
+                expectedItr.add(value);
+                actualItr.add(value);
+            } else if (op == 3 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                expected.set(index, value);
+                list.set(index, value);
+            }
+            assertEquals(expectedItr.nextIndex(), actualItr.nextIndex());
+        }
+        assertEquals(expected, list, "迭代器修改后内容应一致");
+        assertEquals(expectedRuns(expected), list.runCount());
+    }
+
+    /* 长段只占一个节点，按段定位 */
+    @Test
+    @DisplayName("整段追加与段内插入拆分")
+    void shouldStoreRunsCompactly() {
+        list.addRun(0, 1_000_000);
+        list.addRun(0, 500);
+        list.addRun(1, 1_000_000);
+        list.addRun(2, 0);
+        assertEquals(2_000_500, list.size());
+        assertEquals(2, list.runCount());
+        assertEquals(1, list.get(1_000_500));
+        assertEquals(1_000_499, list.lastIndexOf(0));
+        assertEquals(1_000_500, list.indexOf(1));
+
+        list.add(10, 7);
+        assertEquals(4, list.runCount(), "段内插入不同元素应拆分为三段");
+        assertEquals(7, list.get(10));
+        assertEquals(Integer.valueOf(7), list.remove(10));
+        assertEquals(2, list.runCount(), "删除后相邻相等段应合并");
+        assertEquals(0, list.set(2_000, 0));
+        assertEquals(2, list.runCount());
+        assertThrows(IllegalArgumentException.class, () -> list.addRun(1, -1));
+    }
+
+    /* 迭代器快速失败 */
+    @Test
+    @DisplayName("结构修改后迭代器快速失败")
+    void shouldFailFastOnConcurrentModification() {
+        list.add(1);
+        list.add(1);
+        Iterator<Integer> itr = list.iterator();
+        itr.next();
+        list.addFirst(1);
+        assertThrows(ConcurrentModificationException.class, itr::next);
+
+        Iterator<Integer> descending = list.descendingIterator();
+        assertEquals(1, descending.next());
+        descending.remove();
+        assertEquals(2, list.size());
+    }
+
+    /* 克隆与序列化 */
+    @Test
+    @DisplayName("克隆与序列化保持内容")
+    @SuppressWarnings("unchecked")
+    void shouldCloneAndSerialize() throws Exception {
+        for (int i = 0; i < 37; i++) {
+            list.add(i % 5 == 0 ? null : i / 4);
+        }
+        RunLengthLinkedList<Integer> clone = (RunLengthLinkedList<Integer>) list.clone();
+        clone.add(100);
+        assertEquals(37, list.size(), "克隆不应影响原列表");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(list);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            RunLengthLinkedList<Integer> copy = (RunLengthLinkedList<Integer>) in.readObject();
+            assertEquals(list, copy);
+            assertEquals(list.runCount(), copy.runCount());
+        }
+    }
+}
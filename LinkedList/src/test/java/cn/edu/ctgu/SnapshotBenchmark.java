@@ -0,0 +1,101 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 读者需要稳定视图时，clone 与 snapshot 的开销对比.
+ * 每次调用先取 reads 次视图并各遍历求和一次，再做一次写入；
+ * queueWrite 为 addLast 加 pollFirst（出队会触发一次节点链复制），appendWrite 只在两端追加（不复制）。
+ * 运行：mvn -Pbenchmark test -Djmh.includes=SnapshotBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @Param({"1024"})
+    private int size;
+
+    @Param({"1", "16"})
+    private int reads;
+
+    private LinkedList<Integer> list;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        list = new LinkedList<>();
+        for (next = 0; next < size; next++) {
+            list.addLast(next);
+        }
+    }
+
+    private static long sum(List<Integer> view) {
+        long sum = 0;
+        for (Integer e : view) {
+            sum += e;
+        }
+        return sum;
+    }
+
+    /**
+     * 每次读取都 clone 整个列表，写入为队列操作.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public long cloneQueueWrite() {
+        long sum = 0;
+        for (int i = 0; i < reads; i++) {
+            sum += sum((LinkedList<Integer>) list.clone());
+        }
+        list.addLast(next++);
+        list.pollFirst();
+        return sum;
+    }
+
+    /**
+     * 每次读取取快照，写入为队列操作.
+     */
+    @Benchmark
+    public long snapshotQueueWrite() {
+        long sum = 0;
+        for (int i = 0; i < reads; i++) {
+            sum += sum(list.snapshot());
+        }
+        list.addLast(next++);
+        list.pollFirst();
+        return sum;
+    }
+
+    /**
+     * 每次读取取快照，写入只在两端追加；列表定期截断以保持大小.
+     */
+    @Benchmark
+    public long snapshotAppendWrite() {
+        long sum = 0;
+        for (int i = 0; i < reads; i++) {
+            sum += sum(list.snapshot());
+        }
+        list.addLast(next++);
+        if (list.size() > 2 * size) {
+            list.splitAt(list.listIterator(size));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,71 @@
+package cn.edu.ctgu;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比 addAll 复制与 spliceLast 指针拼接合并两个队列的开销.
+ * 运行：mvn -Pbenchmark test -Djmh.includes=SpliceBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpliceBenchmark {
+
+    @Param({"1024", "65536"})
+    private int size;
+
+    private LinkedList<Integer> target;
+    private LinkedList<Integer> source;
+
+    /**
+     * 构造目标队列与待合并的队列.
+     */
+    @Setup
+    public void setUp() {
+        target = new LinkedList<>();
+        source = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            target.addLast(i);
+            source.addLast(i);
+        }
+    }
+
+    /**
+     * 通过 addAll 合并后移除合并进来的元素.
+     */
+    @Benchmark
+    public int addAll() {
+        target.addAll(source);
+        for (int i = 0; i < size; i++) {
+            target.pollLast();
+        }
+        return target.size();
+    }
+
+    /**
+     * 通过 spliceLast 把一个队列整体移入另一个，再交换两者的角色.
+     */
+    @Benchmark
+    public int spliceLast() {
+        target.spliceLast(source);
+        LinkedList<Integer> emptied = source;
+        source = target;
+        target = emptied;
+        return source.size();
+    }
+}
@@ -0,0 +1,196 @@
+package cn.edu.ctgu;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnrolledLinkedListTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(UnrolledLinkedListTest.class);
+    private static final int NODE_CAPACITY = 4;
+    private static final int OPERATIONS = 20_000;
+    private UnrolledLinkedList<Integer> list;
+
+    @BeforeEach
+    void setUp() {
+        list = new UnrolledLinkedList<>(NODE_CAPACITY);
+    }
+
+    /* 与 java.util.LinkedList 对照执行随机操作序列 */
+    @Test
+    @DisplayName("随机操作结果与java.util.LinkedList一致")
+    void shouldMatchReferenceListUnderRandomOperations() {
+        java.util.LinkedList<Integer> expected = new java.util.LinkedList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < OPERATIONS; i++) {
+            int op = random.nextInt(10);
+            int value = random.nextInt(50);
+            if (op == 0) {
+                list.addFirst(value);
+                expected.addFirst(value);
+            } else if (op == 1 || op == 2) {
+                list.addLast(value);
+                expected.addLast(value);
+            } else if (op == 3) {
+                assertEquals(expected.pollFirst(), list.pollFirst());
+            } else if (op == 4) {
+                assertEquals(expected.pollLast(), list.pollLast());
+            } else if (op == 5) {
+                int index = random.nextInt(expected.size() + 1);
+                list.add(index, value);
+                expected.add(index, value);
+            } else if (op == 6 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), list.remove(index));
+            } else if (op == 7 && !expected.isEmpty()) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.set(index, value), list.set(index, value));
+            } else if (op == 8) {
+                assertEquals(expected.remove((Integer) value), list.remove((Integer) value));
+            } else {
+                assertEquals(expected.indexOf(value), list.indexOf(value));
+                assertEquals(expected.lastIndexOf(value), list.lastIndexOf(value));
+            }
+            assertEquals(expected.size(), list.size());
+        }
+        LOGGER.debug(" size: {}, nodes: {}", list.size(), list.nodeCount());
+        assertEquals(expected, list, "最终内容应一致");
+        assertArrayEquals(expected.toArray(), list.toArray());
+    }
+
+    /* 通过ListIterator进行双向遍历与增删改 */
+    @Test
+    @DisplayName("ListIterator的增删改与java.util.LinkedList一致")
+    void shouldMatchReferenceListThroughListIterator() {
+        java.util.LinkedList<Integer> expected = new java.util.LinkedList<>();
+        for (int i = 0; i < 100; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        Random random = new Random(7);
+        ListIterator<Integer> actualItr = list.listIterator(50);
+        ListIterator<Integer> expectedItr = expected.listIterator(50);
+        for (int i = 0; i < OPERATIONS; i++) {
+            int op = random.nextInt(5);
+            if (op == 0 && expectedItr.hasNext()) {
+                assertEquals(expectedItr.next(), actualItr.next());
+                if (random.nextBoolean()) {
+                    expectedItr.remove();
+                    actualItr.remove();
+                }
+            } else if (op == 1 && expectedItr.hasPrevious()) {
+                assertEquals(expectedItr.previous(), actualItr.previous());
+                if (random.nextBoolean()) {
+                    expectedItr.set(-i);
+                    actualItr.set(-i);
+                } else if (random.nextBoolean()) {
+                    expectedItr.remove();
+                    actualItr.remove();
+                }
+            } else if (op == 2) {
+                expectedItr.add(i);
+                actualItr.add(i);
+            }
+            assertEquals(expectedItr.nextIndex(), actualItr.nextIndex());
+        }
+        assertEquals(expected, list, "迭代器修改后内容应一致");
+    }
+
+    /* 用作队列时节点数量保持有界 */
+    @Test
+    @DisplayName("队列式增删后节点数量有界")
+    void shouldKeepNodeCountBoundedWhenUsedAsQueue() {
+        for (int i = 0; i < OPERATIONS; i++) {
+            list.addLast(i);
+            if (i >= 10) {
+                assertEquals(i - 10, list.pollFirst());
+            }
+        }
+        LOGGER.debug(" size: {}, nodes: {}", list.size(), list.nodeCount());
+        assertTrue(list.nodeCount() <= list.size() / 2 + 2, "节点数量应与元素数量成比例");
+    }
+
+    /* 覆盖null元素 */
+    @Test
+    @DisplayName("支持null元素")
+    void shouldSupportNullElements() {
+        list.add(1);
+        list.add(null);
+        list.add(2);
+
+        assertTrue(list.contains(null));
+        assertEquals(1, list.indexOf(null));
+        assertTrue(list.remove(null));
+        assertFalse(list.contains(null));
+        assertEquals(2, list.size());
+    }
+
+    /* 迭代器快速失败 */
+    @Test
+    @DisplayName("结构修改后迭代器快速失败")
+    void shouldFailFastOnConcurrentModification() {
+        list.add(1);
+        list.add(2);
+        Iterator<Integer> itr = list.iterator();
+        itr.next();
+        list.addFirst(0);
+        assertThrows(ConcurrentModificationException.class, itr::next);
+    }
+
+    /* 逆序迭代 */
+    @Test
+    @DisplayName("逆序迭代返回相反顺序")
+    void shouldIterateInDescendingOrder() {
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        Iterator<Integer> itr = list.descendingIterator();
+        for (int i = 9; i >= 0; i--) {
+            assertEquals(i, itr.next());
+        }
+        assertFalse(itr.hasNext());
+    }
+
+    /* 克隆与序列化 */
+    @Test
+    @DisplayName("克隆与序列化保持内容")
+    @SuppressWarnings("unchecked")
+    void shouldCloneAndSerialize() throws Exception {
+        for (int i = 0; i < 37; i++) {
+            list.add(i);
+        }
+        UnrolledLinkedList<Integer> clone = (UnrolledLinkedList<Integer>) list.clone();
+        clone.add(100);
+        assertEquals(37, list.size(), "克隆不应影响原列表");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(list);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            UnrolledLinkedList<Integer> copy = (UnrolledLinkedList<Integer>) in.readObject();
+            assertEquals(list, copy);
+            assertEquals(NODE_CAPACITY, copy.nodeCapacity());
+        }
+    }
+
+    /* 非法节点容量 */
+    @Test
+    @DisplayName("节点容量小于2时抛出异常")
+    void shouldRejectIllegalNodeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new UnrolledLinkedList<>(1));
+    }
+}
@@ -0,0 +1,71 @@
+package com.ctgu.api;
+
+import com.ctgu.api.testcases.TriangleChecker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TriangleChecker 参数解析、三角形判定与类型判定的基准测试.
+ * 运行：mvn -Pbenchmark test -Djmh.includes=TriangleCheckerBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriangleCheckerBenchmark {
+
+    // 等边、等腰、一般三角形与非三角形
+    @Param({"50,50,50", "50,50,30", "30,40,50", "1,2,100"})
+    private String input;
+
+    private String[] args;
+    private int a;
+    private int b;
+    private int c;
+
+    @Setup
+    public void setUp() {
+        args = input.split(",");
+        a = Integer.parseInt(args[0]);
+        b = Integer.parseInt(args[1]);
+        c = Integer.parseInt(args[2]);
+    }
+
+    @Benchmark
+    public int[] parseAndValidate() {
+        return TriangleChecker.parseAndValidate(args);
+    }
+
+    @Benchmark
+    public boolean isTriangle() {
+        return TriangleChecker.isTriangle(a, b, c);
+    }
+
+    @Benchmark
+    public String determineTriangleType() {
+        return TriangleChecker.determineTriangleType(a, b, c);
+    }
+
+    // 完整流程：解析、判定并分类
+    @Benchmark
+    public String classify() {
+        int[] sides = TriangleChecker.parseAndValidate(args);
+        if (!TriangleChecker.isTriangle(sides[0], sides[1], sides[2])) {
+            return null;
+        }
+        return TriangleChecker.determineTriangleType(sides[0], sides[1], sides[2]);
+    }
+}
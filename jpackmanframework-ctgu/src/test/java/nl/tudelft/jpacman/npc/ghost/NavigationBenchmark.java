@@ -0,0 +1,120 @@
+package nl.tudelft.jpacman.npc.ghost;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import nl.tudelft.jpacman.Launcher;
+import nl.tudelft.jpacman.board.Board;
+import nl.tudelft.jpacman.board.BoardFactory;
+import nl.tudelft.jpacman.board.Direction;
+import nl.tudelft.jpacman.board.Square;
+import nl.tudelft.jpacman.board.Unit;
+import nl.tudelft.jpacman.level.LevelFactory;
+import nl.tudelft.jpacman.level.MapParser;
+import nl.tudelft.jpacman.level.Pellet;
+import nl.tudelft.jpacman.sprite.PacManSprites;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the breadth-first searches of {@link Navigation} on the
+ * default board. The ghosts are left out of the map, because loading their
+ * animated sprites needs a display, and a pellet serves as the traveller;
+ * walls block any unit, so the searched paths are the same. Run with
+ * <code>mvn -Pbenchmark test -Djmh.includes=NavigationBenchmark</code>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NavigationBenchmark {
+
+    /**
+     * Top-left corridor square of the default board.
+     */
+    private static final int FROM_X = 1;
+    private static final int FROM_Y = 1;
+
+    /**
+     * Bottom-right corridor square of the default board.
+     */
+    private static final int TO_X = 21;
+    private static final int TO_Y = 19;
+
+    private Square from;
+    private Square to;
+    private Unit traveller;
+
+    /**
+     * Parses the default board and picks two far-apart corridor squares.
+     *
+     * @throws IOException if the default board cannot be read.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        PacManSprites sprites = new PacManSprites();
+        MapParser parser = new MapParser(new LevelFactory(sprites, new GhostFactory(sprites)),
+            new BoardFactory(sprites));
+        Board board = parser.parseMap(readDefaultMapWithoutGhosts()).getBoard();
+        from = board.squareAt(FROM_X, FROM_Y);
+        to = board.squareAt(TO_X, TO_Y);
+        traveller = Navigation.findUnitInBoard(Pellet.class, board);
+    }
+
+    private List<String> readDefaultMapWithoutGhosts() throws IOException {
+        try (InputStream source = Launcher.class.getResourceAsStream(Launcher.DEFAULT_MAP);
+             BufferedReader reader = new BufferedReader(
+                 new InputStreamReader(source, StandardCharsets.UTF_8))) {
+            return reader.lines()
+                .map(row -> row.replace('G', ' '))
+                .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Shortest path across the board for a unit, respecting walls.
+     *
+     * @return the path found.
+     */
+    @Benchmark
+    public List<Direction> shortestPathRespectingWalls() {
+        return Navigation.shortestPath(from, to, traveller);
+    }
+
+    /**
+     * Shortest path across the board ignoring terrain.
+     *
+     * @return the path found.
+     */
+    @Benchmark
+    public List<Direction> shortestPathIgnoringTerrain() {
+        return Navigation.shortestPath(from, to, null);
+    }
+
+    /**
+     * Nearest pellet from the top-left corner.
+     *
+     * @return the pellet found.
+     */
+    @Benchmark
+    public Unit findNearestPellet() {
+        return Navigation.findNearest(Pellet.class, from);
+    }
+}
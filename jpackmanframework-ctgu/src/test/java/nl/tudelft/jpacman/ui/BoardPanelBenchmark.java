@@ -0,0 +1,72 @@
+package nl.tudelft.jpacman.ui;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import nl.tudelft.jpacman.Launcher;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks rendering a full frame of the default board through
+ * {@link BoardPanel#paint} into an off-screen image. Like the UI tests, it
+ * needs a display, because the animated sprites are created for the default
+ * screen device. Run with
+ * <code>mvn -Pbenchmark test -Djmh.includes=BoardPanelBenchmark</code>.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardPanelBenchmark {
+
+    private BoardPanel panel;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    /**
+     * Creates a panel for a fresh game at its preferred size and an
+     * off-screen image of the same size to draw on.
+     */
+    @Setup
+    public void setUp() {
+        panel = new BoardPanel(new Launcher().makeGame());
+        Dimension size = panel.getPreferredSize();
+        panel.setSize(size);
+        image = new BufferedImage(size.width, size.height, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+    }
+
+    /**
+     * Releases the graphics context.
+     */
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    /**
+     * Renders one frame of the board.
+     *
+     * @return the image drawn on.
+     */
+    @Benchmark
+    public BufferedImage paintBoard() {
+        panel.paint(graphics);
+        return image;
+    }
+}